@@ -0,0 +1,161 @@
+package bricker.audio;
+
+import danogl.gui.Sound;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Limits the sounds played by the game, so a burst of collisions cannot flood the audio device.
+ * Sounds are requested through {@link SoundEffect}s and started once per frame:
+ * <ul>
+ *     <li>Identical requests within a frame are merged into a single play.</li>
+ *     <li>An effect is not played again until a minimal interval has passed since its last play.</li>
+ *     <li>At most a fixed number of voices play at once; a voice is held for a fixed duration.</li>
+ * </ul>
+ * Requests that are not played are dropped, and both merged and dropped plays are counted.
+ */
+public class AudioManager {
+	private final float[] voiceFreeAt;
+	private final float voiceDuration;
+	private final float minInterval;
+	private final Map<Sound, SoundEffect> effects = new IdentityHashMap<>();
+	private final ArrayList<SoundEffect> requests = new ArrayList<>();
+	private SoundEffect silentEffect;
+	private float time = 0;
+	private long requestedPlays = 0;
+	private long playedSounds = 0;
+	private long mergedPlays = 0;
+	private long droppedPlays = 0;
+
+	/**
+	 * Constructs an audio manager.
+	 *
+	 * @param voices        Maximal number of sounds playing at once.
+	 * @param voiceDuration Time (in seconds) a voice is held by a sound it started.
+	 * @param minInterval   Minimal time (in seconds) between two plays of the same effect.
+	 */
+	public AudioManager(int voices, float voiceDuration, float minInterval) {
+		this.voiceFreeAt = new float[voices];
+		this.voiceDuration = voiceDuration;
+		this.minInterval = minInterval;
+	}
+
+	/**
+	 * Returns the effect playing a sound. Every caller of the same sound shares one effect,
+	 * so their requests within a frame are merged.
+	 *
+	 * @param sound The sound, or null for an effect that is only counted, such as in a headless game.
+	 * @return The sound's effect.
+	 */
+	public SoundEffect effect(Sound sound) {
+		if (sound == null) {
+			if (silentEffect == null) {
+				silentEffect = new SoundEffect(this, null);
+			}
+			return silentEffect;
+		}
+		return effects.computeIfAbsent(sound, key -> new SoundEffect(this, key));
+	}
+
+	/**
+	 * Forgets the effects handed out so far and the requests not played yet, as when a new game
+	 * starts and reloads its sounds. Voices still playing keep their time, and counts are kept.
+	 */
+	public void clearEffects() {
+		requests.clear();
+		effects.clear();
+		silentEffect = null;
+	}
+
+	/**
+	 * Queues an effect requested for the first time in the current frame.
+	 *
+	 * @param effect The requested effect.
+	 */
+	void request(SoundEffect effect) {
+		requestedPlays++;
+		requests.add(effect);
+	}
+
+	/**
+	 * Counts a request merged into an earlier request of the same frame.
+	 */
+	void countMerged() {
+		requestedPlays++;
+		mergedPlays++;
+	}
+
+	/**
+	 * Plays the effects requested during the frame that ended, as far as the limits allow,
+	 * and advances the manager's clock.
+	 *
+	 * @param delta Duration of the frame.
+	 */
+	public void endFrame(float delta) {
+		for (int i = 0; i < requests.size(); i++) {
+			SoundEffect effect = requests.get(i);
+			effect.clearRequest();
+			int voice = freeVoice();
+			if (time - effect.getLastPlayed() < minInterval || voice < 0) {
+				droppedPlays++;
+				continue;
+			}
+			voiceFreeAt[voice] = time + voiceDuration;
+			effect.start(time);
+			playedSounds++;
+		}
+		requests.clear();
+		time += delta;
+	}
+
+	/**
+	 * @return Index of a voice that is not playing, or -1 if all are.
+	 */
+	private int freeVoice() {
+		for (int voice = 0; voice < voiceFreeAt.length; voice++) {
+			if (voiceFreeAt[voice] <= time) {
+				return voice;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return Number of plays requested so far.
+	 */
+	public long getRequestedPlays() {
+		return requestedPlays;
+	}
+
+	/**
+	 * @return Number of sounds actually started so far.
+	 */
+	public long getPlayedSounds() {
+		return playedSounds;
+	}
+
+	/**
+	 * @return Number of requests merged into another request of the same frame so far.
+	 */
+	public long getMergedPlays() {
+		return mergedPlays;
+	}
+
+	/**
+	 * @return Number of requests dropped so far, by the rate limit or for lack of a free voice.
+	 */
+	public long getDroppedPlays() {
+		return droppedPlays;
+	}
+
+	/**
+	 * @return A summary of the requested, played, merged and dropped plays.
+	 */
+	@Override
+	public String toString() {
+		return String.format("requested=%d played=%d merged=%d dropped=%d",
+				requestedPlays, playedSounds, mergedPlays, droppedPlays);
+	}
+}
@@ -0,0 +1,65 @@
+package bricker.audio;
+
+import danogl.gui.Sound;
+
+/**
+ * A sound played through an {@link AudioManager}.
+ * Playing an effect only requests it; the manager starts the sound when the frame ends,
+ * once however many times it was requested during the frame, and only if the effect was
+ * not played too recently and a voice is free.
+ */
+public class SoundEffect {
+	private final AudioManager audioManager;
+	private final Sound sound;
+	private boolean requested = false;
+	private float lastPlayed = Float.NEGATIVE_INFINITY;
+
+	/**
+	 * Constructs a sound effect.
+	 *
+	 * @param audioManager Manager playing the effect.
+	 * @param sound        The played sound, or null for an effect that is only counted.
+	 */
+	SoundEffect(AudioManager audioManager, Sound sound) {
+		this.audioManager = audioManager;
+		this.sound = sound;
+	}
+
+	/**
+	 * Requests the effect to be played at the end of the current frame.
+	 */
+	public void play() {
+		if (requested) {
+			audioManager.countMerged();
+			return;
+		}
+		requested = true;
+		audioManager.request(this);
+	}
+
+	/**
+	 * Starts the sound itself, once the manager granted it a voice.
+	 *
+	 * @param time Time of the manager's clock.
+	 */
+	void start(float time) {
+		lastPlayed = time;
+		if (sound != null) {
+			sound.play();
+		}
+	}
+
+	/**
+	 * Clears the request of the frame that ended.
+	 */
+	void clearRequest() {
+		requested = false;
+	}
+
+	/**
+	 * @return Time of the manager's clock at which the effect was last played.
+	 */
+	float getLastPlayed() {
+		return lastPlayed;
+	}
+}
@@ -0,0 +1,195 @@
+package bricker.batch;
+
+import bricker.collisions.Categories;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.DialogPolicy;
+import bricker.main.InputSource;
+import danogl.GameObject;
+import danogl.collisions.Layer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many independent headless games in parallel, each under the paddle autopilot.
+ * Every game has its own seed, wall size and gameplay parameters, and is played until
+ * it is won, lost, or reaches a frame limit. Games share no state, so they are spread over
+ * the cores of a fork-join pool, and their results are aggregated into {@link BatchStatistics}.
+ */
+public class BatchSimulator {
+	private final int parallelism;
+	private final float timeStep;
+	private final long maxFrames;
+
+	/**
+	 * Constructs a batch simulator.
+	 *
+	 * @param parallelism Number of games played at once.
+	 * @param timeStep    Fixed time step (in seconds) of every frame.
+	 * @param maxFrames   Frames after which an unfinished game is stopped.
+	 */
+	public BatchSimulator(int parallelism, float timeStep, long maxFrames) {
+		this.parallelism = parallelism;
+		this.timeStep = timeStep;
+		this.maxFrames = maxFrames;
+	}
+
+	/**
+	 * Plays the given games.
+	 *
+	 * @param specs The games to play.
+	 * @return The games' results, in the order of the given games.
+	 */
+	public List<GameResult> run(List<GameSpec> specs) {
+		List<Callable<GameResult>> tasks = new ArrayList<>(specs.size());
+		for (GameSpec spec : specs) {
+			tasks.add(() -> play(spec));
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<GameResult> results = new ArrayList<>(specs.size());
+			for (Future<GameResult> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Batch simulation interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Batch game failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays a single game until it ends or reaches the frame limit.
+	 *
+	 * @param spec The game to play.
+	 * @return The game's result.
+	 */
+	public GameResult play(GameSpec spec) {
+		BrickerGameManager game = new BrickerGameManager(
+				Constants.GAME_TITLE,
+				Constants.windowDimensions,
+				spec.getRowBricksNum(),
+				spec.getColBricksNum(),
+				new Random(spec.getSeed()));
+		game.setParameters(spec.getParameters());
+		game.setAutopilot(true);
+		game.setRewind(false);  // nobody rewinds a scripted game
+		OutcomePolicy outcomePolicy = new OutcomePolicy();
+		game.initializeHeadless(InputSource.IDLE, outcomePolicy);
+		long frames = 0;
+		int peakObjects = 0;
+		while (!game.isClosed() && frames < maxFrames) {
+			game.update(timeStep);
+			frames++;
+			peakObjects = Math.max(peakObjects, countMovingObjects(game));
+		}
+		return new GameResult(spec, outcomePolicy.outcome, frames,
+				game.getLivesLost(), peakObjects, game.getBrickGrid());
+	}
+
+	/**
+	 * Counts the live moving objects of a game: its main ball, pucks and falling hearts.
+	 * Paddles are left out, and so are lost main balls, which stay in the game below the window.
+	 *
+	 * @param game The game.
+	 * @return Number of live moving objects in the game.
+	 */
+	private static int countMovingObjects(BrickerGameManager game) {
+		int count = 1;  // the main ball in play
+		for (GameObject object : game.getGameObjects().objectsInLayer(Layer.DEFAULT)) {
+			if ((Categories.of(object) & Categories.FALLING_HEART) != 0) {
+				count++;
+			}
+		}
+		for (GameObject object : game.getGameObjects().objectsInLayer(Constants.PUCK_LAYER)) {
+			if ((Categories.of(object) & Categories.PUCK) != 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Creates games with random seeds and wall sizes.
+	 *
+	 * @param games        Number of games.
+	 * @param seed         Seed choosing the games.
+	 * @param minRows      Minimal number of brick rows.
+	 * @param maxRows      Maximal number of brick rows.
+	 * @param minCols      Minimal number of brick columns.
+	 * @param maxCols      Maximal number of brick columns.
+	 * @return The games.
+	 */
+	public static List<GameSpec> randomSpecs(int games, long seed, int minRows, int maxRows,
+											 int minCols, int maxCols) {
+		Random random = new Random(seed);
+		List<GameSpec> specs = new ArrayList<>(games);
+		for (int i = 0; i < games; i++) {
+			specs.add(new GameSpec(random.nextLong(),
+					minRows + random.nextInt(maxRows - minRows + 1),
+					minCols + random.nextInt(maxCols - minCols + 1)));
+		}
+		return specs;
+	}
+
+	/**
+	 * Ends the game at its first dialog, and remembers whether it was won or lost.
+	 */
+	private static class OutcomePolicy implements DialogPolicy {
+		private GameResult.Outcome outcome = GameResult.Outcome.TIMED_OUT;
+
+		/**
+		 * @param message The dialog's message.
+		 * @return false, closing the game.
+		 */
+		@Override
+		public boolean answer(String message) {
+			outcome = message.equals(Constants.WIN_MESSAGE)
+					? GameResult.Outcome.WON : GameResult.Outcome.LOST;
+			return false;
+		}
+	}
+
+	/**
+	 * Entry point. Plays a batch of games and prints their aggregate statistics.
+	 *
+	 * @param args Optional number of games, seed, minimal and maximal brick columns,
+	 *             minimal and maximal brick rows, and number of threads.
+	 */
+	public static void main(String[] args) {
+		int games = args.length >= 1 ? Integer.parseInt(args[0]) : Constants.BATCH_DEFAULT_GAMES;
+		long seed = args.length >= 2 ? Long.parseLong(args[1]) : new Random().nextLong();
+		int minCols = Constants.COL_BRICKS_NUM;
+		int maxCols = Constants.COL_BRICKS_NUM;
+		int minRows = Constants.ROW_BRICKS_NUM;
+		int maxRows = Constants.ROW_BRICKS_NUM;
+		if (args.length >= 6) {
+			minCols = Integer.parseInt(args[2]);
+			maxCols = Integer.parseInt(args[3]);
+			minRows = Integer.parseInt(args[4]);
+			maxRows = Integer.parseInt(args[5]);
+		}
+		int threads = args.length >= 7
+				? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+		BatchSimulator simulator = new BatchSimulator(
+				threads, Constants.HEADLESS_TIME_STEP, Constants.BATCH_MAX_FRAMES);
+		long start = System.nanoTime();
+		List<GameResult> results = simulator.run(
+				randomSpecs(games, seed, minRows, maxRows, minCols, maxCols));
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(new BatchStatistics(results));
+		System.out.printf("seed=%d threads=%d time=%.1fs (%.1f games/s)%n",
+				seed, threads, seconds, games / seconds);
+	}
+}
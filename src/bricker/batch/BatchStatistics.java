@@ -0,0 +1,132 @@
+package bricker.batch;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregate statistics over the games of a batch simulation:
+ * outcomes, frames needed to clear the wall, balls lost, peak object counts and strategy
+ * triggers per type.
+ */
+public class BatchStatistics {
+	private final int games;
+	private final int[] outcomes = new int[GameResult.Outcome.values().length];
+	private final long[] framesToClear;
+	private final long livesLost;
+	private final long peakObjects;
+	private final int maxPeakObjects;
+	private final long[] triggers = new long[GameResult.STRATEGY_TYPES.length];
+
+	/**
+	 * Aggregates the results of a batch.
+	 *
+	 * @param results The results of the batch's games.
+	 */
+	public BatchStatistics(List<GameResult> results) {
+		games = results.size();
+		long[] cleared = new long[games];
+		int wins = 0;
+		long lives = 0;
+		long peaks = 0;
+		int maxPeak = 0;
+		for (GameResult result : results) {
+			outcomes[result.getOutcome().ordinal()]++;
+			if (result.getOutcome() == GameResult.Outcome.WON) {
+				cleared[wins++] = result.getFrames();
+			}
+			lives += result.getLivesLost();
+			peaks += result.getPeakObjects();
+			maxPeak = Math.max(maxPeak, result.getPeakObjects());
+			for (int type = 0; type < triggers.length; type++) {
+				triggers[type] += result.getTriggers(type);
+			}
+		}
+		framesToClear = Arrays.copyOf(cleared, wins);
+		Arrays.sort(framesToClear);
+		livesLost = lives;
+		peakObjects = peaks;
+		maxPeakObjects = maxPeak;
+	}
+
+	/**
+	 * @param outcome A game outcome.
+	 * @return Number of games that ended with this outcome.
+	 */
+	public int count(GameResult.Outcome outcome) {
+		return outcomes[outcome.ordinal()];
+	}
+
+	/**
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return Frames needed to clear the wall at this percentile of the won games, or 0 if none was won.
+	 */
+	public long framesToClear(double percentile) {
+		if (framesToClear.length == 0) return 0;
+		int index = (int) Math.ceil(framesToClear.length * percentile / 100) - 1;
+		return framesToClear[Math.max(0, Math.min(index, framesToClear.length - 1))];
+	}
+
+	/**
+	 * @return Mean number of balls lost per game.
+	 */
+	public double meanLivesLost() {
+		return games == 0 ? 0 : (double) livesLost / games;
+	}
+
+	/**
+	 * @return Number of games aggregated.
+	 */
+	public int getGames() {
+		return games;
+	}
+
+	/**
+	 * @return Fraction of the games that were lost.
+	 */
+	public double lossRate() {
+		return games == 0 ? 0 : (double) count(GameResult.Outcome.LOST) / games;
+	}
+
+	/**
+	 * @return Mean over the games of their peak number of moving objects.
+	 */
+	public double meanPeakObjects() {
+		return games == 0 ? 0 : (double) peakObjects / games;
+	}
+
+	/**
+	 * @return Largest peak number of moving objects of any game.
+	 */
+	public int maxPeakObjects() {
+		return maxPeakObjects;
+	}
+
+	/**
+	 * @param type Index of a strategy type in {@link GameResult#STRATEGY_TYPES}.
+	 * @return Total number of times strategies of this type were triggered.
+	 */
+	public long getTriggers(int type) {
+		return triggers[type];
+	}
+
+	/**
+	 * @return A multi-line report of the statistics.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("games=%d won=%d lost=%d timed out=%d%n", games,
+				count(GameResult.Outcome.WON), count(GameResult.Outcome.LOST),
+				count(GameResult.Outcome.TIMED_OUT)));
+		report.append(String.format("frames to clear: p10=%d p50=%d p90=%d%n",
+				framesToClear(10), framesToClear(50), framesToClear(90)));
+		report.append(String.format("lives lost per game: %.2f%n", meanLivesLost()));
+		report.append(String.format("peak moving objects: mean=%.1f max=%d%n", meanPeakObjects(), maxPeakObjects));
+		report.append("strategy triggers (total, per game):");
+		for (int type = 0; type < triggers.length; type++) {
+			report.append(String.format("%n  %-17s %10d %8.2f", GameResult.STRATEGY_TYPES[type],
+					triggers[type], games == 0 ? 0 : (double) triggers[type] / games));
+		}
+		return report.toString();
+	}
+}
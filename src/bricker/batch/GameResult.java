@@ -0,0 +1,133 @@
+package bricker.batch;
+
+import bricker.brick_strategies.StrategyCodes;
+import bricker.collisions.BrickGrid;
+
+/**
+ * The outcome of a single game played by the batch simulator.
+ */
+public class GameResult {
+	/** How a batch game ended. */
+	public enum Outcome {
+		/** Every brick was cleared. */
+		WON,
+		/** Every life was lost. */
+		LOST,
+		/** The frame limit was reached first. */
+		TIMED_OUT
+	}
+
+	/** Names of the strategy types counted in {@link #getTriggers(int)}, by type index. */
+	public static final String[] STRATEGY_TYPES = {
+			"Basic", "ExtraBalls", "PaddleDuplicator", "TurboMode", "LifeRestoration", "Double"};
+	private static final int DOUBLE_TYPE = STRATEGY_TYPES.length - 1;
+
+	private final long seed;
+	private final int rowBricksNum;
+	private final int colBricksNum;
+	private final Outcome outcome;
+	private final long frames;
+	private final int livesLost;
+	private final int peakObjects;
+	private final long[] triggers = new long[STRATEGY_TYPES.length];
+
+	/**
+	 * Constructs the result of a finished game.
+	 *
+	 * @param spec        The played game.
+	 * @param outcome     How the game ended.
+	 * @param frames      Number of frames played.
+	 * @param livesLost   Number of balls lost.
+	 * @param peakObjects Largest number of moving objects (balls, pucks, hearts and paddles) at once.
+	 * @param brickGrid   The game's brick grid, whose hits are counted per strategy type.
+	 */
+	GameResult(GameSpec spec, Outcome outcome, long frames, int livesLost, int peakObjects,
+			   BrickGrid brickGrid) {
+		this.seed = spec.getSeed();
+		this.rowBricksNum = spec.getRowBricksNum();
+		this.colBricksNum = spec.getColBricksNum();
+		this.outcome = outcome;
+		this.frames = frames;
+		this.livesLost = livesLost;
+		this.peakObjects = peakObjects;
+		for (int code = 0; code < StrategyCodes.CODE_COUNT; code++) {
+			long hits = brickGrid.getHitCount((byte) code);
+			if (hits > 0) countTriggers((byte) code, hits);
+		}
+	}
+
+	/**
+	 * Adds the hits of a strategy code to the types it triggers.
+	 * A double strategy triggers itself and each of its sub-strategies.
+	 *
+	 * @param code The strategy code.
+	 * @param hits Number of hits of bricks with this code.
+	 */
+	private void countTriggers(byte code, long hits) {
+		if (!StrategyCodes.isDouble(code)) {
+			triggers[code] += hits;
+			return;
+		}
+		triggers[DOUBLE_TYPE] += hits;
+		for (int which = 0; which < StrategyCodes.subStrategyCount(code); which++) {
+			triggers[StrategyCodes.single(StrategyCodes.subStrategy(code, which))] += hits;
+		}
+	}
+
+	/**
+	 * @return Seed of the game.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return Number of brick rows of the game.
+	 */
+	public int getRowBricksNum() {
+		return rowBricksNum;
+	}
+
+	/**
+	 * @return Number of brick columns of the game.
+	 */
+	public int getColBricksNum() {
+		return colBricksNum;
+	}
+
+	/**
+	 * @return How the game ended.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * @return Number of frames played.
+	 */
+	public long getFrames() {
+		return frames;
+	}
+
+	/**
+	 * @return Number of balls lost.
+	 */
+	public int getLivesLost() {
+		return livesLost;
+	}
+
+	/**
+	 * @return Largest number of moving objects (balls, pucks, hearts and paddles) at once.
+	 */
+	public int getPeakObjects() {
+		return peakObjects;
+	}
+
+	/**
+	 * @param type Index of a strategy type in {@link #STRATEGY_TYPES}.
+	 * @return Number of times strategies of this type were triggered.
+	 */
+	public long getTriggers(int type) {
+		return triggers[type];
+	}
+}
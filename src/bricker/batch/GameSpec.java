@@ -0,0 +1,67 @@
+package bricker.batch;
+
+import bricker.main.GameParameters;
+
+/**
+ * The configuration of a single game played by the batch simulator.
+ */
+public class GameSpec {
+	private final long seed;
+	private final int rowBricksNum;
+	private final int colBricksNum;
+	private final GameParameters parameters;
+
+	/**
+	 * Constructs a game configuration with the default gameplay parameters.
+	 *
+	 * @param seed         Seed of the game's session.
+	 * @param rowBricksNum Number of brick rows.
+	 * @param colBricksNum Number of brick columns.
+	 */
+	public GameSpec(long seed, int rowBricksNum, int colBricksNum) {
+		this(seed, rowBricksNum, colBricksNum, GameParameters.DEFAULTS);
+	}
+
+	/**
+	 * Constructs a game configuration.
+	 *
+	 * @param seed         Seed of the game's session.
+	 * @param rowBricksNum Number of brick rows.
+	 * @param colBricksNum Number of brick columns.
+	 * @param parameters   Gameplay parameters of the game.
+	 */
+	public GameSpec(long seed, int rowBricksNum, int colBricksNum, GameParameters parameters) {
+		this.seed = seed;
+		this.rowBricksNum = rowBricksNum;
+		this.colBricksNum = colBricksNum;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * @return Seed of the game's session.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return Number of brick rows.
+	 */
+	public int getRowBricksNum() {
+		return rowBricksNum;
+	}
+
+	/**
+	 * @return Number of brick columns.
+	 */
+	public int getColBricksNum() {
+		return colBricksNum;
+	}
+
+	/**
+	 * @return Gameplay parameters of the game.
+	 */
+	public GameParameters getParameters() {
+		return parameters;
+	}
+}
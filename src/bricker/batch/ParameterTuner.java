@@ -0,0 +1,259 @@
+package bricker.batch;
+
+import bricker.main.Constants;
+import bricker.main.GameParameters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Monte Carlo tuning of the gameplay parameters.
+ * Draws random parameter sets within the ranges of {@link Constants}, plays the same games
+ * under every set with the batch simulator, and reports how each parameter affects the time
+ * to clear the wall, the loss rate, the balls lost and the peak number of moving objects.
+ * <p>Every set plays the same seeds and wall size, so the differences between sets come from
+ * their parameters and not from the games they happened to draw. The defaults always come
+ * first, as a baseline.</p>
+ */
+public class ParameterTuner {
+	private final BatchSimulator simulator;
+	private final int gamesPerConfiguration;
+
+	/**
+	 * Constructs a tuner.
+	 *
+	 * @param simulator             Simulator playing the games of every parameter set.
+	 * @param gamesPerConfiguration Number of games played under each parameter set.
+	 */
+	public ParameterTuner(BatchSimulator simulator, int gamesPerConfiguration) {
+		this.simulator = simulator;
+		this.gamesPerConfiguration = gamesPerConfiguration;
+	}
+
+	/**
+	 * Plays the same games under every given parameter set, all in one parallel batch.
+	 *
+	 * @param configurations The parameter sets.
+	 * @param seed           Seed choosing the games.
+	 * @param rowBricksNum   Number of brick rows of every game.
+	 * @param colBricksNum   Number of brick columns of every game.
+	 * @return The statistics of each parameter set, in the order of the given sets.
+	 */
+	public List<Configuration> run(List<GameParameters> configurations, long seed,
+								   int rowBricksNum, int colBricksNum) {
+		Random random = new Random(seed);
+		long[] seeds = new long[gamesPerConfiguration];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = random.nextLong();
+		}
+		List<GameSpec> specs = new ArrayList<>(configurations.size() * seeds.length);
+		for (GameParameters parameters : configurations) {
+			for (long gameSeed : seeds) {
+				specs.add(new GameSpec(gameSeed, rowBricksNum, colBricksNum, parameters));
+			}
+		}
+		List<GameResult> results = simulator.run(specs);
+		List<Configuration> tuned = new ArrayList<>(configurations.size());
+		for (int i = 0; i < configurations.size(); i++) {
+			tuned.add(new Configuration(configurations.get(i), new BatchStatistics(
+					results.subList(i * seeds.length, (i + 1) * seeds.length))));
+		}
+		return tuned;
+	}
+
+	/**
+	 * Draws parameter sets uniformly within the tuning ranges of {@link Constants}.
+	 *
+	 * @param count  Number of parameter sets, the defaults included.
+	 * @param random Source of the drawn values.
+	 * @return The defaults, followed by count - 1 random parameter sets.
+	 */
+	public static List<GameParameters> sampleConfigurations(int count, Random random) {
+		List<GameParameters> configurations = new ArrayList<>(count);
+		configurations.add(GameParameters.DEFAULTS);
+		for (int i = 1; i < count; i++) {
+			configurations.add(new GameParameters(
+					uniform(random, Constants.TUNING_MIN_STRATEGY_ROLL_BOUND,
+							Constants.TUNING_MAX_STRATEGY_ROLL_BOUND),
+					uniform(random, Constants.TUNING_MIN_TURBO_FACTOR, Constants.TUNING_MAX_TURBO_FACTOR),
+					uniform(random, Constants.TUNING_MIN_TURBO_COLLISION_LIMIT,
+							Constants.TUNING_MAX_TURBO_COLLISION_LIMIT),
+					uniform(random, Constants.TUNING_MIN_HITS_PADDLE_DUPLICATOR,
+							Constants.TUNING_MAX_HITS_PADDLE_DUPLICATOR),
+					uniform(random, Constants.TUNING_MIN_PUCK_SPEED, Constants.TUNING_MAX_PUCK_SPEED)));
+		}
+		return configurations;
+	}
+
+	/**
+	 * @param random Source of the drawn value.
+	 * @param min    Smallest value.
+	 * @param max    Largest value.
+	 * @return A uniformly drawn integer between min and max, both included.
+	 */
+	private static int uniform(Random random, int min, int max) {
+		return min + random.nextInt(max - min + 1);
+	}
+
+	/**
+	 * @param random Source of the drawn value.
+	 * @param min    Smallest value.
+	 * @param max    Bound of the values.
+	 * @return A uniformly drawn value between min and max.
+	 */
+	private static float uniform(Random random, float min, float max) {
+		return min + random.nextFloat() * (max - min);
+	}
+
+	/**
+	 * Measures how strongly each parameter goes along with a metric, over the tuned sets.
+	 * Sets for which the metric is undefined (NaN) are left out.
+	 *
+	 * @param tuned  The tuned parameter sets.
+	 * @param metric Index of the metric, as read by {@link Configuration#metric(int)}.
+	 * @return Pearson correlation of each parameter of {@link GameParameters#NAMES} with the
+	 * metric, or NaN where a parameter or the metric does not vary.
+	 */
+	public static double[] correlations(List<Configuration> tuned, int metric) {
+		double[] correlations = new double[GameParameters.NAMES.length];
+		for (int parameter = 0; parameter < correlations.length; parameter++) {
+			double sumX = 0, sumY = 0, sumXX = 0, sumYY = 0, sumXY = 0;
+			int n = 0;
+			for (Configuration configuration : tuned) {
+				double y = configuration.metric(metric);
+				if (Double.isNaN(y)) continue;
+				double x = configuration.getParameters().get(parameter);
+				sumX += x;
+				sumY += y;
+				sumXX += x * x;
+				sumYY += y * y;
+				sumXY += x * y;
+				n++;
+			}
+			double covariance = n * sumXY - sumX * sumY;
+			double variance = (n * sumXX - sumX * sumX) * (n * sumYY - sumY * sumY);
+			correlations[parameter] = variance > 0 ? covariance / Math.sqrt(variance) : Double.NaN;
+		}
+		return correlations;
+	}
+
+	/**
+	 * A parameter set with the statistics of the games played under it.
+	 */
+	public static class Configuration {
+		/** Names of the metrics read by {@link #metric(int)}, by index. */
+		public static final String[] METRICS = {
+				"p50 frames to clear", "loss rate", "lives lost per game", "mean peak objects"};
+
+		private final GameParameters parameters;
+		private final BatchStatistics statistics;
+
+		/**
+		 * Constructs a tuned parameter set.
+		 *
+		 * @param parameters The parameter set.
+		 * @param statistics Statistics of the games played under it.
+		 */
+		Configuration(GameParameters parameters, BatchStatistics statistics) {
+			this.parameters = parameters;
+			this.statistics = statistics;
+		}
+
+		/**
+		 * @return The parameter set.
+		 */
+		public GameParameters getParameters() {
+			return parameters;
+		}
+
+		/**
+		 * @return Statistics of the games played under the parameter set.
+		 */
+		public BatchStatistics getStatistics() {
+			return statistics;
+		}
+
+		/**
+		 * @param index Index of a metric in {@link #METRICS}.
+		 * @return The metric's value, or NaN for the clear time when no game was won.
+		 */
+		public double metric(int index) {
+			switch (index) {
+				case 0:
+					return statistics.count(GameResult.Outcome.WON) == 0 ? Double.NaN : statistics.framesToClear(50);
+				case 1:
+					return statistics.lossRate();
+				case 2:
+					return statistics.meanLivesLost();
+				case 3:
+					return statistics.meanPeakObjects();
+				default:
+					throw new IndexOutOfBoundsException("No tuning metric " + index);
+			}
+		}
+	}
+
+	/**
+	 * Entry point. Tunes random parameter sets and prints each set's results, followed by the
+	 * correlation of every parameter with every metric.
+	 *
+	 * @param args Optional number of parameter sets, games per set, seed, brick columns and
+	 *             rows, and number of threads.
+	 */
+	public static void main(String[] args) {
+		int count = args.length >= 1 ? Integer.parseInt(args[0]) : Constants.TUNING_DEFAULT_CONFIGURATIONS;
+		int gamesPerConfiguration = args.length >= 2
+				? Integer.parseInt(args[1]) : Constants.TUNING_DEFAULT_GAMES_PER_CONFIGURATION;
+		long seed = args.length >= 3 ? Long.parseLong(args[2]) : new Random().nextLong();
+		int cols = Constants.COL_BRICKS_NUM;
+		int rows = Constants.ROW_BRICKS_NUM;
+		if (args.length >= 5) {
+			cols = Integer.parseInt(args[3]);
+			rows = Integer.parseInt(args[4]);
+		}
+		int threads = args.length >= 6
+				? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+
+		ParameterTuner tuner = new ParameterTuner(new BatchSimulator(
+				threads, Constants.HEADLESS_TIME_STEP, Constants.TUNING_MAX_FRAMES), gamesPerConfiguration);
+		long start = System.nanoTime();
+		List<Configuration> tuned = tuner.run(
+				sampleConfigurations(count, new Random(seed)), seed, rows, cols);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("%5s %6s %6s %6s %6s %7s | %5s %5s %6s %8s %6s %6s%n", "set",
+				"roll", "turbo", "limit", "hits", "puckV", "won", "lost", "lives", "p50clr", "peak", "max");
+		for (int i = 0; i < tuned.size(); i++) {
+			GameParameters parameters = tuned.get(i).getParameters();
+			BatchStatistics statistics = tuned.get(i).getStatistics();
+			System.out.printf("%5s %6d %6.2f %6d %6d %7.1f | %5d %5d %6.2f %8d %6.1f %6d%n",
+					i == 0 ? "dflt" : Integer.toString(i), parameters.getStrategyRollBound(),
+					parameters.getTurboFactor(), parameters.getTurboCollisionLimit(),
+					parameters.getMaxHitsPaddleDuplicator(), parameters.getPuckSpeed(),
+					statistics.count(GameResult.Outcome.WON), statistics.count(GameResult.Outcome.LOST),
+					statistics.meanLivesLost(), statistics.framesToClear(50),
+					statistics.meanPeakObjects(), statistics.maxPeakObjects());
+		}
+
+		System.out.println();
+		System.out.printf("%-24s", "correlation");
+		for (String metric : Configuration.METRICS) {
+			System.out.printf(" %20s", metric);
+		}
+		double[][] correlations = new double[Configuration.METRICS.length][];
+		for (int metric = 0; metric < correlations.length; metric++) {
+			correlations[metric] = correlations(tuned, metric);
+		}
+		for (int parameter = 0; parameter < GameParameters.NAMES.length; parameter++) {
+			System.out.printf("%n%-24s", GameParameters.NAMES[parameter]);
+			for (double[] metricCorrelations : correlations) {
+				System.out.printf(" %20.2f", metricCorrelations[parameter]);
+			}
+		}
+		System.out.println();
+		System.out.printf("seed=%d sets=%d games=%d threads=%d time=%.1fs (%.1f games/s)%n",
+				seed, tuned.size(), tuned.size() * gamesPerConfiguration, threads, seconds,
+				tuned.size() * gamesPerConfiguration / seconds);
+	}
+}
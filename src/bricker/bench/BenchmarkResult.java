@@ -0,0 +1,95 @@
+package bricker.bench;
+
+/**
+ * The measured costs of a single benchmark.
+ */
+public class BenchmarkResult {
+	private static final double BYTES_PER_MB = 1024 * 1024;
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	private final String name;
+	private final long ops;
+	private final long nanos;
+	private final long allocatedBytes;
+	private final long gcCount;
+	private final long gcMillis;
+
+	/**
+	 * Constructs a benchmark result.
+	 *
+	 * @param name           Name of the benchmark.
+	 * @param ops            Number of measured operations.
+	 * @param nanos          Total time of the measured operations.
+	 * @param allocatedBytes Bytes allocated by the measured operations.
+	 * @param gcCount        Garbage collections during the measurement.
+	 * @param gcMillis       Time spent in garbage collection during the measurement.
+	 */
+	public BenchmarkResult(String name, long ops, long nanos, long allocatedBytes,
+						   long gcCount, long gcMillis) {
+		this.name = name;
+		this.ops = ops;
+		this.nanos = nanos;
+		this.allocatedBytes = allocatedBytes;
+		this.gcCount = gcCount;
+		this.gcMillis = gcMillis;
+	}
+
+	/**
+	 * @return Name of the benchmark.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return Average time of a single operation, in nanoseconds.
+	 */
+	public double getNanosPerOp() {
+		return (double) nanos / ops;
+	}
+
+	/**
+	 * @return Average bytes allocated by a single operation (negative if unsupported by the JVM).
+	 */
+	public double getBytesPerOp() {
+		return allocatedBytes < 0 ? -1 : (double) allocatedBytes / ops;
+	}
+
+	/**
+	 * @return Allocation rate while running, in MB per second.
+	 */
+	public double getAllocationRate() {
+		return allocatedBytes < 0 ? -1 : allocatedBytes / BYTES_PER_MB / (nanos / NANOS_PER_SECOND);
+	}
+
+	/**
+	 * @return Number of garbage collections during the measurement.
+	 */
+	public long getGcCount() {
+		return gcCount;
+	}
+
+	/**
+	 * @return Time spent in garbage collection during the measurement, in milliseconds.
+	 */
+	public long getGcMillis() {
+		return gcMillis;
+	}
+
+	/**
+	 * @return The header line matching {@link #toString()}.
+	 */
+	public static String header() {
+		return String.format("%-36s %12s %12s %12s %8s %8s",
+				"benchmark", "ns/op", "B/op", "MB/s", "gc", "gc-ms");
+	}
+
+	/**
+	 * @return A single table line describing this result.
+	 */
+	@Override
+	public String toString() {
+		return String.format("%-36s %12.1f %12.1f %12.1f %8d %8d",
+				name, getNanosPerOp(), getBytesPerOp(), getAllocationRate(), gcCount, gcMillis);
+	}
+}
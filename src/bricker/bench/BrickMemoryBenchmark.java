@@ -0,0 +1,254 @@
+package bricker.bench;
+
+import bricker.gameobjects.HeartsPanel;
+import bricker.main.AssetSource;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.DialogPolicy;
+import bricker.main.InputSource;
+import danogl.collisions.GameObjectCollection;
+import danogl.util.Counter;
+
+import java.util.Random;
+
+/**
+ * Measures the memory spent per brick on collision strategies.
+ * Compares the layout before strategies were shared, where every brick referenced its own
+ * strategy object graph and every strategy held references to the game's collection, brick
+ * counter, readers and panels, with the current layout of one strategy code byte per brick.
+ * It also reports the total bytes allocated per brick and the time taken when a whole game
+ * is built, with a game object for every brick and with bricks created only for the chunks
+ * within reach. Bytes are read from the current thread's allocation counter.
+ */
+public class BrickMemoryBenchmark {
+	private static final int DEFAULT_ROWS = 500;
+	private static final int DEFAULT_COLS = 500;
+
+	private final int rowBricksNum;
+	private final int colBricksNum;
+	private final Random rand = new Random();
+
+	/**
+	 * Constructs the benchmark.
+	 *
+	 * @param rowBricksNum Number of brick rows of the measured wall.
+	 * @param colBricksNum Number of brick columns of the measured wall.
+	 */
+	public BrickMemoryBenchmark(int rowBricksNum, int colBricksNum) {
+		this.rowBricksNum = rowBricksNum;
+		this.colBricksNum = colBricksNum;
+	}
+
+	/**
+	 * Runs the measurements and prints bytes per brick.
+	 */
+	public void run() {
+		BrickerGameManager game = newGame(1, 1, false);
+		int bricks = rowBricksNum * colBricksNum;
+
+		// Previous layout: every brick references its own strategy objects
+		long start = MicroBenchmark.threadAllocatedBytes();
+		Object[] perBrick = new Object[bricks];  // each brick's strategy field
+		for (int i = 0; i < bricks; i++) {
+			perBrick[i] = newStrategyPerBrick(game, rand.nextInt(Constants.STRATEGY_ROLL_BOUND));
+		}
+		long perBrickBytes = MicroBenchmark.threadAllocatedBytes() - start;
+
+		// Current layout: a byte per brick, resolved to shared strategies
+		start = MicroBenchmark.threadAllocatedBytes();
+		byte[] codes = new byte[bricks];
+		long codeBytes = MicroBenchmark.threadAllocatedBytes() - start;
+
+		// A whole game, including the brick game objects themselves
+		start = MicroBenchmark.threadAllocatedBytes();
+		long startNanos = System.nanoTime();
+		BrickerGameManager eager = newGame(rowBricksNum, colBricksNum, false);
+		long eagerNanos = System.nanoTime() - startNanos;
+		long eagerBytes = MicroBenchmark.threadAllocatedBytes() - start;
+
+		// A whole game whose bricks are created only within reach
+		start = MicroBenchmark.threadAllocatedBytes();
+		startNanos = System.nanoTime();
+		BrickerGameManager chunked = newGame(rowBricksNum, colBricksNum, true);
+		long chunkedNanos = System.nanoTime() - startNanos;
+		long chunkedBytes = MicroBenchmark.threadAllocatedBytes() - start;
+
+		System.out.printf("bricks=%d%n", bricks);
+		System.out.printf("strategy objects per brick (before): %8.1f B/brick%n",
+				(double) perBrickBytes / bricks);
+		System.out.printf("strategy code per brick (after):     %8.1f B/brick%n",
+				(double) codeBytes / bricks);
+		System.out.printf("whole game, allocated at start:      %8.1f B/brick  %8.1f ms%n",
+				(double) eagerBytes / bricks, eagerNanos / 1e6);
+		System.out.printf("chunked game, allocated at start:    %8.1f B/brick  %8.1f ms  (%d brick objects)%n",
+				(double) chunkedBytes / bricks, chunkedNanos / 1e6,
+				chunked.getBrickGrid().getBrickObjectCount());
+		System.out.println("(kept " + (perBrick.length + codes.length
+				+ eager.getBricksCounter().value() + chunked.getBricksCounter().value()) + ")");
+	}
+
+	/**
+	 * Creates a strategy object graph for a single brick, the way bricks used to own them.
+	 *
+	 * @param game The game providing the references the strategies held.
+	 * @param roll A strategy roll in [0, STRATEGY_ROLL_BOUND).
+	 * @return A new strategy object graph.
+	 */
+	private static Object newStrategyPerBrick(BrickerGameManager game, int roll) {
+		if (roll == Constants.DOUBLE_STRATEGY_INDEX_BOUND) {
+			return new LegacyDouble(game);
+		}
+		if (roll < Constants.DOUBLE_STRATEGY_INDEX_BOUND) {
+			return newSpecialStrategy(game, roll);
+		}
+		return new LegacyBasic(game);
+	}
+
+	/**
+	 * Creates a special strategy object, the way bricks used to own them.
+	 *
+	 * @param game  The game providing the references the strategy held.
+	 * @param index Strategy index (0 = ExtraBalls, 1 = PaddleDuplicator, 2 = TurboMode, 3 = LifeRestoration).
+	 * @return A new strategy object.
+	 */
+	private static Object newSpecialStrategy(BrickerGameManager game, int index) {
+		switch (index) {
+			case 0:
+				return new LegacyExtraBalls(game);
+			case 1:
+				return new LegacyPaddleDuplicator(game);
+			case 2:
+				return new LegacyTurboMode(game);
+			default:
+				return new LegacyLifeRestoration(game);
+		}
+	}
+
+	/** Fields of a basic strategy when every brick owned one. */
+	private static class LegacyBasic {
+		final GameObjectCollection gameObjects;
+		final Counter bricksCounter;
+
+		LegacyBasic(BrickerGameManager game) {
+			gameObjects = game.getGameObjects();
+			bricksCounter = game.getBricksCounter();
+		}
+	}
+
+	/** Fields of an extra balls strategy when every brick owned one. */
+	private static class LegacyExtraBalls {
+		final GameObjectCollection gameObjects;
+		final Counter bricksCounter;
+		final AssetSource imageReader;
+		final AssetSource soundReader;
+
+		LegacyExtraBalls(BrickerGameManager game) {
+			gameObjects = game.getGameObjects();
+			bricksCounter = game.getBricksCounter();
+			imageReader = game.getAssets();
+			soundReader = game.getAssets();
+		}
+	}
+
+	/** Fields of a paddle duplicator strategy when every brick owned one; the others were static. */
+	private static class LegacyPaddleDuplicator {
+		final Counter bricksCounter;
+
+		LegacyPaddleDuplicator(BrickerGameManager game) {
+			bricksCounter = game.getBricksCounter();
+		}
+	}
+
+	/** Fields of a turbo mode strategy when every brick owned one; the others were static. */
+	private static class LegacyTurboMode {
+		final GameObjectCollection gameObjects;
+		final Counter bricksCounter;
+
+		LegacyTurboMode(BrickerGameManager game) {
+			gameObjects = game.getGameObjects();
+			bricksCounter = game.getBricksCounter();
+		}
+	}
+
+	/** Fields of a life restoration strategy when every brick owned one. */
+	private static class LegacyLifeRestoration {
+		final GameObjectCollection gameObjects;
+		final Counter bricksCounter;
+		final AssetSource imageReader;
+		final HeartsPanel heartsPanel;
+
+		LegacyLifeRestoration(BrickerGameManager game) {
+			gameObjects = game.getGameObjects();
+			bricksCounter = game.getBricksCounter();
+			imageReader = game.getAssets();
+			heartsPanel = game.getHeartsPanel();
+		}
+	}
+
+	/**
+	 * Fields of a double strategy when every brick owned one: its own random source,
+	 * the references it passed to its sub-strategies, and two or three sub-strategies.
+	 */
+	private static class LegacyDouble {
+		final Random rand = new Random();
+		final GameObjectCollection gameObjects;
+		final Counter bricksNum;
+		final AssetSource imageReader;
+		final AssetSource soundReader;
+		final HeartsPanel heartsPanel;
+		final InputSource userInputListener;
+		final Object strategy1;
+		final Object strategy2;
+		final Object strategy3;
+
+		LegacyDouble(BrickerGameManager game) {
+			gameObjects = game.getGameObjects();
+			bricksNum = game.getBricksCounter();
+			imageReader = game.getAssets();
+			soundReader = game.getAssets();
+			heartsPanel = game.getHeartsPanel();
+			userInputListener = game.getInputSource();
+			int bound = Constants.DOUBLE_STRATEGY_INDEX_BOUND;
+			strategy1 = newSpecialStrategy(game, rand.nextInt(bound));
+			int second = rand.nextInt(Constants.DOUBLE_STRATEGY_INDEX_BOUND_WITH);
+			if (second == bound) {
+				strategy2 = newSpecialStrategy(game, rand.nextInt(bound));
+				strategy3 = newSpecialStrategy(game, rand.nextInt(bound));
+			} else {
+				strategy2 = newSpecialStrategy(game, second);
+				strategy3 = null;
+			}
+		}
+	}
+
+	/**
+	 * Creates and initializes a headless game.
+	 *
+	 * @param rowBricksNum Number of brick rows.
+	 * @param colBricksNum Number of brick columns.
+	 * @param chunked      true to create bricks only for the chunks within reach.
+	 * @return The initialized game.
+	 */
+	private static BrickerGameManager newGame(int rowBricksNum, int colBricksNum, boolean chunked) {
+		BrickerGameManager game = new BrickerGameManager(
+				Constants.GAME_TITLE, Constants.windowDimensions, rowBricksNum, colBricksNum);
+		game.setChunkedBricks(chunked);
+		game.initializeHeadless(InputSource.IDLE, DialogPolicy.ALWAYS_NO);
+		return game;
+	}
+
+	/**
+	 * Entry point. Prints the bytes spent per brick.
+	 *
+	 * @param args Optional brick columns and rows of the measured wall.
+	 */
+	public static void main(String[] args) {
+		int rowBricksNum = DEFAULT_ROWS;
+		int colBricksNum = DEFAULT_COLS;
+		if (args.length == 2) {
+			colBricksNum = Integer.parseInt(args[0]);
+			rowBricksNum = Integer.parseInt(args[1]);
+		}
+		new BrickMemoryBenchmark(rowBricksNum, colBricksNum).run();
+	}
+}
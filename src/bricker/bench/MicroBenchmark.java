@@ -0,0 +1,106 @@
+package bricker.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * A small benchmark harness measuring time, allocation and GC pressure of a workload.
+ * A workload is first run for a number of warmup batches (letting the JIT compile it)
+ * and then for a number of measured batches. Allocation is read from the current
+ * thread's allocation counter, so only the measured work of this thread is counted.
+ */
+public class MicroBenchmark {
+	private final int warmupBatches;
+	private final int measuredBatches;
+	private final int opsPerBatch;
+
+	/**
+	 * Constructs a benchmark harness.
+	 *
+	 * @param warmupBatches   Number of unmeasured batches run first.
+	 * @param measuredBatches Number of measured batches.
+	 * @param opsPerBatch     Number of operations in every batch.
+	 */
+	public MicroBenchmark(int warmupBatches, int measuredBatches, int opsPerBatch) {
+		this.warmupBatches = warmupBatches;
+		this.measuredBatches = measuredBatches;
+		this.opsPerBatch = opsPerBatch;
+	}
+
+	/**
+	 * Runs and measures a workload.
+	 *
+	 * @param name     Name of the benchmark.
+	 * @param workload The measured workload.
+	 * @return The measured costs.
+	 */
+	public BenchmarkResult measure(String name, Workload workload) {
+		for (int i = 0; i < warmupBatches; i++) {
+			runBatch(workload);
+		}
+
+		long nanos = 0;
+		long allocatedBytes = 0;
+		long gcCountStart = totalGcCount();
+		long gcMillisStart = totalGcMillis();
+		for (int i = 0; i < measuredBatches; i++) {
+			workload.setUp(opsPerBatch);
+			long bytesStart = threadAllocatedBytes();
+			long start = System.nanoTime();
+			workload.run(opsPerBatch);
+			nanos += System.nanoTime() - start;
+			long bytesEnd = threadAllocatedBytes();
+			allocatedBytes = (bytesStart < 0 || allocatedBytes < 0) ? -1
+					: allocatedBytes + bytesEnd - bytesStart;
+			workload.tearDown();
+		}
+		return new BenchmarkResult(name, (long) measuredBatches * opsPerBatch, nanos,
+				allocatedBytes, totalGcCount() - gcCountStart, totalGcMillis() - gcMillisStart);
+	}
+
+	/**
+	 * Runs a single unmeasured batch.
+	 *
+	 * @param workload The workload to run.
+	 */
+	private void runBatch(Workload workload) {
+		workload.setUp(opsPerBatch);
+		workload.run(opsPerBatch);
+		workload.tearDown();
+	}
+
+	/**
+	 * @return Bytes allocated so far by the current thread, or -1 if unsupported.
+	 */
+	static long threadAllocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	/**
+	 * @return Number of garbage collections since the JVM started.
+	 */
+	private static long totalGcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, gc.getCollectionCount());
+		}
+		return count;
+	}
+
+	/**
+	 * @return Time spent in garbage collection since the JVM started, in milliseconds.
+	 */
+	private static long totalGcMillis() {
+		long millis = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(0, gc.getCollectionTime());
+		}
+		return millis;
+	}
+}
@@ -0,0 +1,150 @@
+package bricker.bench;
+
+import bricker.brick_strategies.ExtraBallsStrategy;
+import bricker.brick_strategies.StrategyCodes;
+import bricker.level.LevelFile;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.DialogPolicy;
+import bricker.main.InputSource;
+import bricker.profiling.LatencyHistogram;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures how the frame time of a headless game scales with the number of live pucks.
+ * For every puck count, a game is played on a wall of bricks that take many hits, and
+ * before every frame the pucks that left the game are replaced by new ones spawned through
+ * the extra balls strategy, so the count stays constant. Only the frame updates are timed.
+ * <p>For each count, the benchmark prints the frame time percentiles and the collision
+ * callbacks handled per second: ball and puck bounces (counted by the audio manager's
+ * requests) and brick hits. It ends with the largest count whose p99 frame time fits
+ * in a 16 ms frame.</p>
+ */
+public class PuckStressBenchmark {
+	private static final int[] PUCK_COUNTS = {10, 30, 100, 300, 1_000, 3_000, 10_000};
+	private static final int WARMUP_FRAMES = 60;
+	private static final int MEASURED_FRAMES = 300;
+	private static final long FRAME_BUDGET_NANOS = 16_000_000L;
+	private static final int WALL_ROWS = 15;
+	private static final int WALL_COLS = 60;
+	private static final int WALL_HIT_POINTS = 255;
+	private static final float SPAWN_TOP = 360;
+	private static final float SPAWN_BOTTOM = 420;
+	private static final double NANOS_PER_MILLI = 1e6;
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	private final LevelFile level;
+	private final Random random = new Random(0);
+
+	/**
+	 * Constructs the benchmark, writing the played wall to a temporary level file.
+	 */
+	public PuckStressBenchmark() {
+		try {
+			Path path = Files.createTempFile("puck-stress", ".blvl");
+			path.toFile().deleteOnExit();
+			byte[] codes = new byte[WALL_ROWS * WALL_COLS];
+			Arrays.fill(codes, StrategyCodes.BASIC);
+			byte[] hitPoints = new byte[WALL_ROWS * WALL_COLS];
+			Arrays.fill(hitPoints, (byte) WALL_HIT_POINTS);
+			LevelFile.write(path, WALL_ROWS, WALL_COLS, codes, hitPoints);
+			level = LevelFile.open(path);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Runs a game with a constant number of live pucks, and prints its frame times.
+	 *
+	 * @param pucks Number of live pucks.
+	 * @return The p99 frame time in nanoseconds.
+	 */
+	public long measure(int pucks) {
+		BrickerGameManager game = new BrickerGameManager(
+				Constants.GAME_TITLE, Constants.windowDimensions, level, new Random(pucks));
+		game.setAutopilot(true);
+		game.initializeHeadless(InputSource.IDLE, DialogPolicy.ALWAYS_NO);
+
+		LatencyHistogram frameTimes = new LatencyHistogram();
+		long totalNanos = 0;
+		long bouncesBefore = 0;
+		long hitsBefore = 0;
+		int frame = 0;
+		for (; frame < WARMUP_FRAMES + MEASURED_FRAMES; frame++) {
+			if (game.isClosed() || game.isResetRequested()) break;
+			topUpPucks(game, pucks);
+			if (frame == WARMUP_FRAMES) {
+				bouncesBefore = game.getAudioManager().getRequestedPlays();
+				hitsBefore = game.getBrickGrid().getHitCount();
+			}
+			long start = System.nanoTime();
+			game.update(Constants.HEADLESS_TIME_STEP);
+			long nanos = System.nanoTime() - start;
+			if (frame >= WARMUP_FRAMES) {
+				frameTimes.record(nanos);
+				totalNanos += nanos;
+			}
+		}
+		long measuredFrames = frameTimes.getTotalCount();
+		long callbacks = game.getAudioManager().getRequestedPlays() - bouncesBefore
+				+ game.getBrickGrid().getHitCount() - hitsBefore;
+		System.out.printf("%7d %7d %9.3f %9.3f %9.3f %9.3f %14.0f%n",
+				pucks, measuredFrames,
+				measuredFrames == 0 ? 0 : totalNanos / NANOS_PER_MILLI / measuredFrames,
+				frameTimes.percentile(50) / NANOS_PER_MILLI,
+				frameTimes.percentile(99) / NANOS_PER_MILLI,
+				frameTimes.getMax() / NANOS_PER_MILLI,
+				totalNanos == 0 ? 0 : callbacks * NANOS_PER_SECOND / totalNanos);
+		return frameTimes.percentile(99);
+	}
+
+	/**
+	 * Spawns pucks below the wall until the game holds the given number of live pucks.
+	 *
+	 * @param game  The played game.
+	 * @param pucks Number of live pucks to reach.
+	 */
+	private void topUpPucks(BrickerGameManager game, int pucks) {
+		int live = 0;
+		for (GameObject ignored : game.getGameObjects().objectsInLayer(Constants.PUCK_LAYER)) {
+			live++;
+		}
+		if (live >= pucks) return;
+		ExtraBallsStrategy extraBalls = game.getStrategyTable().getExtraBalls();
+		float left = Constants.BORDER_WIDTH;
+		float width = Constants.windowDimensions.x() - 2 * Constants.BORDER_WIDTH;
+		for (int i = live; i < pucks; i++) {
+			extraBalls.spawnPucks(new Vector2(left + random.nextFloat() * width,
+					SPAWN_TOP + random.nextFloat() * (SPAWN_BOTTOM - SPAWN_TOP)), 1);
+		}
+		game.getCommandBuffer().flush();
+	}
+
+	/**
+	 * Entry point. Prints the frame times per puck count, and the largest count
+	 * that fits in the frame budget.
+	 *
+	 * @param args Unused.
+	 */
+	public static void main(String[] args) {
+		PuckStressBenchmark benchmark = new PuckStressBenchmark();
+		System.out.printf("%7s %7s %9s %9s %9s %9s %14s%n",
+				"pucks", "frames", "mean ms", "p50 ms", "p99 ms", "max ms", "callbacks/s");
+		int sustained = 0;
+		for (int pucks : PUCK_COUNTS) {
+			long p99 = benchmark.measure(pucks);
+			if (p99 > FRAME_BUDGET_NANOS) break;
+			sustained = pucks;
+		}
+		System.out.println("largest measured puck count within 16 ms at p99: " + sustained);
+	}
+}
@@ -0,0 +1,171 @@
+package bricker.bench;
+
+import bricker.brick_strategies.ExtraBallsStrategy;
+import bricker.brick_strategies.StrategyCodes;
+import bricker.level.LevelFile;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.DialogPolicy;
+import bricker.main.InputSource;
+import bricker.main.RewindBuffer;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures the rewind buffer over a minute of play at 120 ticks per second, with a constant
+ * number of live pucks. For every puck count, the same game is played twice, with and
+ * without rewinding, so the difference in tick time is the cost of recording. The benchmark
+ * then prints the memory the buffer uses, the game time it kept, and the time to rewind
+ * by {@link Constants#REWIND_SPEED} ticks. A recorded game with the most pucks is played
+ * first, untimed, to warm the code up.
+ */
+public class RewindBenchmark {
+	private static final int[] PUCK_COUNTS = {0, 100, 300, 1_000};
+	private static final float TICK_DURATION = 1f / 120;
+	private static final int PLAYED_TICKS = 7_200;
+	private static final int SCRUBS = 200;
+	private static final int WALL_ROWS = 15;
+	private static final int WALL_COLS = 60;
+	private static final int WALL_HIT_POINTS = 255;
+	private static final float SPAWN_TOP = 360;
+	private static final float SPAWN_BOTTOM = 420;
+	private static final double NANOS_PER_MICRO = 1e3;
+	private static final double BYTES_PER_MB = 1024 * 1024;
+
+	private final LevelFile level;
+
+	/**
+	 * Constructs the benchmark, writing the played wall to a temporary level file.
+	 */
+	public RewindBenchmark() {
+		try {
+			Path path = Files.createTempFile("rewind", ".blvl");
+			path.toFile().deleteOnExit();
+			byte[] codes = new byte[WALL_ROWS * WALL_COLS];
+			Arrays.fill(codes, StrategyCodes.BASIC);
+			byte[] hitPoints = new byte[WALL_ROWS * WALL_COLS];
+			Arrays.fill(hitPoints, (byte) WALL_HIT_POINTS);
+			LevelFile.write(path, WALL_ROWS, WALL_COLS, codes, hitPoints);
+			level = LevelFile.open(path);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Plays a recorded game with the most pucks, untimed, so the measured games run compiled code.
+	 */
+	public void warmUp() {
+		int pucks = PUCK_COUNTS[PUCK_COUNTS.length - 1];
+		play(newGame(pucks, true), pucks);
+	}
+
+	/**
+	 * Plays a minute with a constant number of live pucks, and prints the costs of rewinding it.
+	 *
+	 * @param pucks Number of live pucks.
+	 */
+	public void measure(int pucks) {
+		long plainNanos = play(newGame(pucks, false), pucks);
+		BrickerGameManager game = newGame(pucks, true);
+		long recordedNanos = play(game, pucks);
+		RewindBuffer rewindBuffer = game.getRewindBuffer();
+		long memory = rewindBuffer.getMemoryBytes();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < SCRUBS; i++) {
+			rewindBuffer.scrub(Constants.REWIND_SPEED);
+		}
+		long scrubNanos = System.nanoTime() - start;
+
+		System.out.printf("%7d %9.2f %12.2f %8.2f %8.1f %7d %11.1f%n",
+				pucks,
+				plainNanos / NANOS_PER_MICRO / PLAYED_TICKS,
+				(recordedNanos - plainNanos) / NANOS_PER_MICRO / PLAYED_TICKS,
+				memory / BYTES_PER_MB,
+				rewindBuffer.getSeconds(),
+				rewindBuffer.getFrameCount() == 0 ? 0 : memory / rewindBuffer.getFrameCount(),
+				scrubNanos / NANOS_PER_MICRO / SCRUBS);
+	}
+
+	/**
+	 * Creates and initializes a headless game under the autopilot.
+	 *
+	 * @param pucks  Number of live pucks, seeding the game.
+	 * @param rewind true to record the game for rewinding.
+	 * @return The initialized game.
+	 */
+	private BrickerGameManager newGame(int pucks, boolean rewind) {
+		BrickerGameManager game = new BrickerGameManager(
+				Constants.GAME_TITLE, Constants.windowDimensions, level, new Random(pucks));
+		game.setRewind(rewind);
+		game.setAutopilot(true);
+		game.initializeHeadless(InputSource.IDLE, DialogPolicy.ALWAYS_NO);
+		return game;
+	}
+
+	/**
+	 * Plays a game for a minute, topping up its pucks before every tick.
+	 *
+	 * @param game  The played game.
+	 * @param pucks Number of live pucks.
+	 * @return Total time of the ticks, in nanoseconds.
+	 */
+	private static long play(BrickerGameManager game, int pucks) {
+		Random random = new Random(pucks);
+		long nanos = 0;
+		for (int tick = 0; tick < PLAYED_TICKS; tick++) {
+			if (game.isClosed() || game.isResetRequested()) break;
+			topUpPucks(game, pucks, random);
+			long start = System.nanoTime();
+			game.update(TICK_DURATION);
+			nanos += System.nanoTime() - start;
+		}
+		return nanos;
+	}
+
+	/**
+	 * Spawns pucks below the wall until the game holds the given number of live pucks.
+	 *
+	 * @param game   The played game.
+	 * @param pucks  Number of live pucks to reach.
+	 * @param random Source of the spawn positions.
+	 */
+	private static void topUpPucks(BrickerGameManager game, int pucks, Random random) {
+		int live = 0;
+		for (GameObject ignored : game.getGameObjects().objectsInLayer(Constants.PUCK_LAYER)) {
+			live++;
+		}
+		if (live >= pucks) return;
+		ExtraBallsStrategy extraBalls = game.getStrategyTable().getExtraBalls();
+		float left = Constants.BORDER_WIDTH;
+		float width = Constants.windowDimensions.x() - 2 * Constants.BORDER_WIDTH;
+		for (int i = live; i < pucks; i++) {
+			extraBalls.spawnPucks(new Vector2(left + random.nextFloat() * width,
+					SPAWN_TOP + random.nextFloat() * (SPAWN_BOTTOM - SPAWN_TOP)), 1);
+		}
+		game.getCommandBuffer().flush();
+	}
+
+	/**
+	 * Entry point. Prints the costs of rewinding per puck count.
+	 *
+	 * @param args Unused.
+	 */
+	public static void main(String[] args) {
+		RewindBenchmark benchmark = new RewindBenchmark();
+		benchmark.warmUp();
+		System.out.printf("%7s %9s %12s %8s %8s %7s %11s%n",
+				"pucks", "tick us", "record us", "MB", "seconds", "B/tick", "rewind us");
+		for (int pucks : PUCK_COUNTS) {
+			benchmark.measure(pucks);
+		}
+	}
+}
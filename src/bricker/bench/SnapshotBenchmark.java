@@ -0,0 +1,90 @@
+package bricker.bench;
+
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.DialogPolicy;
+import bricker.main.InputSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures saving and restoring a game snapshot, on headless games of growing wall sizes
+ * played for a few seconds first, so the snapshot holds a partly broken wall and spawned
+ * objects. Restoring is compared with rebuilding a new game from scratch, the only way
+ * to reset a game before snapshots.
+ */
+public class SnapshotBenchmark {
+	private static final int WARMUP_BATCHES = 20;
+	private static final int MEASURED_BATCHES = 50;
+	private static final int OPS_PER_BATCH = 20;
+	private static final int PLAYED_FRAMES = 600;
+	private static final int[][] WALL_SIZES = {{7, 8}, {28, 32}, {112, 128}, {448, 512}};
+
+	private final MicroBenchmark harness =
+			new MicroBenchmark(WARMUP_BATCHES, MEASURED_BATCHES, OPS_PER_BATCH);
+
+	/**
+	 * Runs the measurements for every wall size.
+	 *
+	 * @return The results, saving, restoring and rebuilding for each size in turn.
+	 */
+	public List<BenchmarkResult> runAll() {
+		List<BenchmarkResult> results = new ArrayList<>();
+		for (int[] size : WALL_SIZES) {
+			int rows = size[0];
+			int cols = size[1];
+			BrickerGameManager game = newGame(rows, cols);
+			for (int frame = 0; frame < PLAYED_FRAMES; frame++) {
+				if (game.isClosed() || game.isResetRequested()) break;
+				game.update(Constants.HEADLESS_TIME_STEP);
+			}
+			byte[] snapshot = game.saveSnapshot();
+			String wall = rows + "x" + cols + " (" + snapshot.length + " B)";
+			results.add(harness.measure("save " + wall, ops -> {
+				for (int i = 0; i < ops; i++) {
+					game.saveSnapshot();
+				}
+			}));
+			results.add(harness.measure("restore " + wall, ops -> {
+				for (int i = 0; i < ops; i++) {
+					game.restoreSnapshot(snapshot);
+				}
+			}));
+			results.add(harness.measure("rebuild " + rows + "x" + cols, ops -> {
+				for (int i = 0; i < ops; i++) {
+					newGame(rows, cols);
+				}
+			}));
+		}
+		return results;
+	}
+
+	/**
+	 * Creates and initializes a headless game under the autopilot.
+	 *
+	 * @param rows Number of brick rows.
+	 * @param cols Number of brick columns.
+	 * @return The initialized game.
+	 */
+	private static BrickerGameManager newGame(int rows, int cols) {
+		BrickerGameManager game = new BrickerGameManager(
+				Constants.GAME_TITLE, Constants.windowDimensions, rows, cols, new Random(rows * cols));
+		game.setAutopilot(true);
+		game.initializeHeadless(InputSource.IDLE, DialogPolicy.ALWAYS_NO);
+		return game;
+	}
+
+	/**
+	 * Entry point. Prints the cost of saving, restoring and rebuilding a game, per wall size.
+	 *
+	 * @param args Unused.
+	 */
+	public static void main(String[] args) {
+		System.out.println(BenchmarkResult.header());
+		for (BenchmarkResult result : new SnapshotBenchmark().runAll()) {
+			System.out.println(result);
+		}
+	}
+}
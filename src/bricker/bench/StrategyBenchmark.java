@@ -0,0 +1,202 @@
+package bricker.bench;
+
+import bricker.brick_strategies.BrickFactory;
+import bricker.brick_strategies.DoubleStrategy;
+import bricker.brick_strategies.StrategyCodes;
+import bricker.brick_strategies.StrategyTable;
+import bricker.collisions.BrickGrid;
+import bricker.gameobjects.Brick;
+import bricker.gameobjects.FallingHeart;
+import bricker.gameobjects.Puck;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.DialogPolicy;
+import bricker.main.InputSource;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Benchmarks the brick_strategies package against the game objects of a real headless game.
+ * Measures strategy selection through the factory, building a DoubleStrategy,
+ * and the collision path of every CollisionStrategy implementation.
+ * Hit bricks are placed in a dedicated single-row grid with their own strategy table,
+ * so the strategy code lookup and the brick removal are measured too.
+ * Objects spawned by a measured batch are removed after it, so every batch
+ * starts from the same collection.
+ */
+public class StrategyBenchmark {
+	private static final int WARMUP_BATCHES = 20;
+	private static final int MEASURED_BATCHES = 50;
+	private static final int OPS_PER_BATCH = 1_000;
+
+	private final BrickerGameManager game;
+	private final GameObjectCollection gameObjects;
+	private final MicroBenchmark harness;
+	private final BrickGrid brickGrid;
+	private final StrategyTable strategyTable;
+	private final List<Brick> bricks = new ArrayList<>();
+	private final Set<GameObject> initialObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+	private int sink = 0;
+
+	/**
+	 * Constructs the benchmark on top of a new headless game.
+	 *
+	 * @param rowBricksNum Number of brick rows in the benchmarked game.
+	 * @param colBricksNum Number of brick columns in the benchmarked game.
+	 */
+	public StrategyBenchmark(int rowBricksNum, int colBricksNum) {
+		game = new BrickerGameManager(Constants.GAME_TITLE, Constants.windowDimensions,
+				rowBricksNum, colBricksNum);
+		game.initializeHeadless(InputSource.IDLE, DialogPolicy.ALWAYS_NO);
+		gameObjects = game.getGameObjects();
+		harness = new MicroBenchmark(WARMUP_BATCHES, MEASURED_BATCHES, OPS_PER_BATCH);
+		brickGrid = new BrickGrid(1, OPS_PER_BATCH, Vector2.ZERO,
+				new Vector2(1, Constants.BRICK_HEIGHT), Constants.SPACING,
+				Constants.BRICK_LAYER, game.getCommandBuffer(), new Counter());
+		strategyTable = new StrategyTable(game.getCommandBuffer(), brickGrid, game.getAssets(),
+				game.getPaddleController(), game.getFieldDimensions().x(), game.getPuckPool(),
+				game.getHeartPool(), game.getRandom(), game.getParameters());
+		brickGrid.setStrategyTable(strategyTable);
+		for (GameObject object : gameObjects.objectsInLayer(Layer.DEFAULT)) {
+			initialObjects.add(object);
+		}
+	}
+
+	/**
+	 * Runs all the benchmarks.
+	 *
+	 * @return The results, in the order they were run.
+	 */
+	public List<BenchmarkResult> runAll() {
+		List<BenchmarkResult> results = new ArrayList<>();
+		BrickFactory factory = new BrickFactory(strategyTable, game.getRandom(), game.getParameters());
+		results.add(harness.measure("BrickFactory.getStrategy", ops -> {
+			for (int i = 0; i < ops; i++) {
+				sink += factory.getStrategy().hashCode();
+			}
+		}));
+		results.add(harness.measure("DoubleStrategy.<init>", ops -> {
+			for (int i = 0; i < ops; i++) {
+				sink += new DoubleStrategy(
+						strategyTable.strategyFor(StrategyCodes.EXTRA_BALLS),
+						strategyTable.strategyFor(StrategyCodes.TURBO_MODE),
+						strategyTable.strategyFor(StrategyCodes.LIFE_RESTORATION)).hashCode();
+			}
+		}));
+
+		results.add(measureCollision("onCollision.Basic", StrategyCodes.BASIC));
+		results.add(measureCollision("onCollision.ExtraBalls", StrategyCodes.EXTRA_BALLS));
+		results.add(measureCollision("onCollision.PaddleDuplicator", StrategyCodes.PADDLE_DUPLICATOR));
+		results.add(measureCollision("onCollision.TurboMode", StrategyCodes.TURBO_MODE));
+		results.add(measureCollision("onCollision.LifeRestoration", StrategyCodes.LIFE_RESTORATION));
+		results.add(measureCollision("onCollision.Double",
+				StrategyCodes.ofDouble(0, 3)));
+		results.add(measureCollision("onCollision.Triple",
+				StrategyCodes.ofTriple(0, 2, 3)));
+		return results;
+	}
+
+	/**
+	 * Measures the collision path of a strategy, hitting a fresh brick per operation.
+	 * The changes the strategy queued are applied once per batch, as the game does per frame.
+	 *
+	 * @param name         Name of the benchmark.
+	 * @param strategyCode Code of the measured strategy.
+	 * @return The measured costs.
+	 */
+	private BenchmarkResult measureCollision(String name, byte strategyCode) {
+		GameObject ball = game.getBall();
+		return harness.measure(name, new Workload() {
+			@Override
+			public void setUp(int ops) {
+				addBricks(ops, strategyCode);
+			}
+
+			@Override
+			public void run(int ops) {
+				for (int i = 0; i < ops; i++) {
+					bricks.get(i).hit(ball);
+				}
+				game.getCommandBuffer().flush();
+			}
+
+			@Override
+			public void tearDown() {
+				removeSpawnedObjects();
+			}
+		});
+	}
+
+	/**
+	 * Fills the benchmark's brick grid, to be hit by the next batch.
+	 *
+	 * @param count        Number of bricks to add.
+	 * @param strategyCode Strategy code of the added bricks.
+	 */
+	private void addBricks(int count, byte strategyCode) {
+		bricks.clear();
+		for (int i = 0; i < count; i++) {
+			bricks.add(brickGrid.addBrick(0, i, strategyCode, null));
+		}
+	}
+
+	/**
+	 * Removes the bricks left by the last batch and every object it spawned.
+	 */
+	private void removeSpawnedObjects() {
+		for (Brick brick : bricks) {
+			brickGrid.removeBrick(brick);
+		}
+		game.getCommandBuffer().flush();
+		List<GameObject> spawned = new ArrayList<>();
+		for (GameObject object : gameObjects.objectsInLayer(Layer.DEFAULT)) {
+			if (!initialObjects.contains(object)) {
+				spawned.add(object);
+			}
+		}
+		for (GameObject object : gameObjects.objectsInLayer(Constants.PUCK_LAYER)) {
+			spawned.add(object);
+		}
+		for (GameObject object : spawned) {
+			// Pooled objects go back to their pools, like they do when leaving the screen
+			if (object instanceof Puck) {
+				((Puck) object).despawn();
+			} else if (object instanceof FallingHeart) {
+				((FallingHeart) object).despawn();
+			} else {
+				gameObjects.removeGameObject(object, Layer.DEFAULT);
+			}
+		}
+	}
+
+	/**
+	 * Entry point. Runs the strategy benchmarks and prints a result table.
+	 *
+	 * @param args Optional brick columns and rows of the benchmarked game.
+	 */
+	public static void main(String[] args) {
+		int rowBricksNum = Constants.ROW_BRICKS_NUM;
+		int colBricksNum = Constants.COL_BRICKS_NUM;
+		if (args.length == 2) {
+			colBricksNum = Integer.parseInt(args[0]);
+			rowBricksNum = Integer.parseInt(args[1]);
+		}
+		StrategyBenchmark benchmark = new StrategyBenchmark(rowBricksNum, colBricksNum);
+		System.out.println(BenchmarkResult.header());
+		for (BenchmarkResult result : benchmark.runAll()) {
+			System.out.println(result);
+		}
+		System.out.println("puck pool:  " + benchmark.game.getPuckPool());
+		System.out.println("heart pool: " + benchmark.game.getHeartPool());
+		System.out.println("(sink " + benchmark.sink + ")");
+	}
+}
@@ -0,0 +1,100 @@
+package bricker.bench;
+
+import bricker.gameobjects.FallingHeart;
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.PaddleController;
+import bricker.gameobjects.Puck;
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the bytes allocated by a steady-state frame update of the paddle, a falling heart
+ * and a puck. The engine's own GameObject.update is measured too, on a plain moving object,
+ * and subtracted, so the reported difference is what the game's own update code allocates
+ * per frame, which should be zero.
+ * Objects are updated with a tiny time step and put back in place before every batch,
+ * so they never leave the screen during a measurement.
+ */
+public class UpdateAllocationBenchmark {
+	private static final int WARMUP_BATCHES = 50;
+	private static final int MEASURED_BATCHES = 100;
+	private static final int OPS_PER_BATCH = 1_000;
+	private static final float TIME_STEP = 1e-4f;
+	private static final Vector2 START = Constants.windowDimensions.mult(0.5f);
+	private static final Vector2 VELOCITY = new Vector2(Constants.BALL_SPEED, Constants.BALL_SPEED);
+
+	private final MicroBenchmark harness =
+			new MicroBenchmark(WARMUP_BATCHES, MEASURED_BATCHES, OPS_PER_BATCH);
+	private int frame = 0;
+
+	/**
+	 * Runs the measurements.
+	 *
+	 * @return The results, the engine's baseline first.
+	 */
+	public List<BenchmarkResult> runAll() {
+		GameObject plain = new GameObject(Vector2.ZERO, Constants.ballDimensions, null);
+		plain.setVelocity(VELOCITY);
+		// Alternates left and right every frame, so the paddle's velocity keeps changing
+		PaddleController alternating = steered -> (frame & 1) == 0 ? -1 : 1;
+		Paddle paddle = new Paddle(Vector2.ZERO, Constants.paddleDimensions, null, alternating,
+				Constants.windowDimensions.x());
+		FallingHeart heart = new FallingHeart(Vector2.ZERO, null, null, null, null);
+		Puck puck = new Puck(Vector2.ZERO, Constants.ballDimensions, null, null, null, null);
+		puck.setVelocity(VELOCITY);
+
+		List<BenchmarkResult> results = new ArrayList<>();
+		results.add(measureUpdate("GameObject.update", plain));
+		results.add(measureUpdate("Paddle.update", paddle));
+		results.add(measureUpdate("FallingHeart.update", heart));
+		results.add(measureUpdate("Puck.update", puck));
+		return results;
+	}
+
+	/**
+	 * Measures the update of a single object.
+	 *
+	 * @param name   Name of the benchmark.
+	 * @param object The updated object.
+	 * @return The measured costs.
+	 */
+	private BenchmarkResult measureUpdate(String name, GameObject object) {
+		return harness.measure(name, new Workload() {
+			@Override
+			public void setUp(int ops) {
+				object.setCenter(START);
+			}
+
+			@Override
+			public void run(int ops) {
+				for (int i = 0; i < ops; i++) {
+					frame++;
+					object.update(TIME_STEP);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Entry point. Prints every object's update cost, and the bytes it allocates
+	 * per frame beyond the engine's own update.
+	 *
+	 * @param args Unused.
+	 */
+	public static void main(String[] args) {
+		List<BenchmarkResult> results = new UpdateAllocationBenchmark().runAll();
+		System.out.println(BenchmarkResult.header());
+		for (BenchmarkResult result : results) {
+			System.out.println(result);
+		}
+		double engineBytes = results.get(0).getBytesPerOp();
+		for (BenchmarkResult result : results.subList(1, results.size())) {
+			System.out.printf("%-20s %6.1f B/frame beyond the engine%n",
+					result.getName(), result.getBytesPerOp() - engineBytes);
+		}
+	}
+}
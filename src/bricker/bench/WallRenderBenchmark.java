@@ -0,0 +1,137 @@
+package bricker.bench;
+
+import bricker.collisions.BrickGrid;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.DialogPolicy;
+import bricker.main.InputSource;
+import bricker.rendering.BrickWallRenderable;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of drawing the brick wall for one frame, into an offscreen image the
+ * size of the window. Drawing every brick as its own sprite, the way the engine draws a
+ * layer of bricks, is compared with copying the cached wall image while one dirty cell is
+ * redrawn per frame. Both are measured for walls of a growing number of columns.
+ */
+public class WallRenderBenchmark {
+	private static final int WARMUP_BATCHES = 20;
+	private static final int MEASURED_BATCHES = 50;
+	private static final int OPS_PER_BATCH = 20;
+	private static final int ROWS = 20;
+	private static final int[] COLUMN_COUNTS = {8, 32, 128};
+
+	private final MicroBenchmark harness =
+			new MicroBenchmark(WARMUP_BATCHES, MEASURED_BATCHES, OPS_PER_BATCH);
+	private final BufferedImage screen = new BufferedImage((int) Constants.windowDimensions.x(),
+			(int) Constants.windowDimensions.y(), BufferedImage.TYPE_INT_ARGB);
+	private final Graphics2D graphics = screen.createGraphics();
+
+	/**
+	 * Runs the measurements for every wall size.
+	 *
+	 * @return The results, per-brick drawing and cached wall for each size in turn.
+	 */
+	public List<BenchmarkResult> runAll() {
+		List<BenchmarkResult> results = new ArrayList<>();
+		for (int cols : COLUMN_COUNTS) {
+			BrickerGameManager game = new BrickerGameManager(
+					Constants.GAME_TITLE, Constants.windowDimensions, ROWS, cols);
+			game.setChunkedBricks(false);
+			game.initializeHeadless(InputSource.IDLE, DialogPolicy.ALWAYS_NO);
+			BrickGrid brickGrid = game.getBrickGrid();
+			Renderable brickImage = newBrickImage(brickGrid.getBrickSize());
+			int bricks = ROWS * cols;
+			results.add(measurePerBrick("per brick, " + bricks + " bricks", brickGrid, brickImage));
+			Vector2 wallSize = new Vector2(game.getFieldDimensions().x() - 2 * Constants.BORDER_WIDTH,
+					ROWS * (Constants.BRICK_HEIGHT + Constants.SPACING));
+			results.add(measureCached("cached wall, " + bricks + " bricks", brickGrid, brickImage, wallSize));
+		}
+		return results;
+	}
+
+	/**
+	 * Measures drawing every brick as its own sprite.
+	 *
+	 * @param name       Name of the benchmark.
+	 * @param brickGrid  Grid holding the wall.
+	 * @param brickImage Visual representation of a brick.
+	 * @return The measured costs, per frame.
+	 */
+	private BenchmarkResult measurePerBrick(String name, BrickGrid brickGrid, Renderable brickImage) {
+		int cols = brickGrid.getCols();
+		Vector2[] positions = new Vector2[brickGrid.getRows() * cols];
+		for (int cell = 0; cell < positions.length; cell++) {
+			positions[cell] = brickGrid.cellTopLeft(cell / cols, cell % cols);
+		}
+		Vector2 brickSize = brickGrid.getBrickSize();
+		return harness.measure(name, ops -> {
+			for (int i = 0; i < ops; i++) {
+				for (Vector2 position : positions) {
+					brickImage.render(graphics, position, brickSize, 0, false, false, 1);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Measures copying the cached wall, with one cell redrawn per frame.
+	 *
+	 * @param name       Name of the benchmark.
+	 * @param brickGrid  Grid holding the wall.
+	 * @param brickImage Visual representation of a brick.
+	 * @param wallSize   Size of the wall.
+	 * @return The measured costs, per frame.
+	 */
+	private BenchmarkResult measureCached(String name, BrickGrid brickGrid, Renderable brickImage,
+										  Vector2 wallSize) {
+		Vector2 origin = brickGrid.cellTopLeft(0, 0);
+		BrickWallRenderable wall = new BrickWallRenderable(
+				brickGrid, brickImage, origin, wallSize, Constants.windowDimensions);
+		wall.render(graphics, origin, wallSize, 0, false, false, 1);
+		int cells = brickGrid.getRows() * brickGrid.getCols();
+		int[] frame = {0};
+		return harness.measure(name, ops -> {
+			for (int i = 0; i < ops; i++) {
+				wall.invalidateCell(frame[0]++ % cells);
+				wall.render(graphics, origin, wallSize, 0, false, false, 1);
+			}
+		});
+	}
+
+	/**
+	 * Creates a brick sprite drawn from an image, like the brick image read from the assets.
+	 *
+	 * @param brickSize Size of a brick.
+	 * @return The brick's visual representation.
+	 */
+	private static Renderable newBrickImage(Vector2 brickSize) {
+		BufferedImage image = new BufferedImage(Math.max(1, (int) brickSize.x()),
+				Math.max(1, (int) brickSize.y()), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setColor(Color.ORANGE);
+		g.fillRect(0, 0, image.getWidth(), image.getHeight());
+		g.dispose();
+		return (g2, topLeft, size, degrees, flippedH, flippedV, opaqueness) -> g2.drawImage(image,
+				(int) topLeft.x(), (int) topLeft.y(), (int) size.x(), (int) size.y(), null);
+	}
+
+	/**
+	 * Entry point. Prints the cost of drawing the wall per frame, per wall size.
+	 *
+	 * @param args Unused.
+	 */
+	public static void main(String[] args) {
+		System.out.println(BenchmarkResult.header());
+		for (BenchmarkResult result : new WallRenderBenchmark().runAll()) {
+			System.out.println(result);
+		}
+	}
+}
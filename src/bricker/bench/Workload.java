@@ -0,0 +1,28 @@
+package bricker.bench;
+
+/**
+ * A unit of work measured by a {@link MicroBenchmark}.
+ * Only {@link #run(int)} is timed; setting up and cleaning after a batch are not.
+ */
+public interface Workload {
+	/**
+	 * Prepares the state needed by the next measured batch.
+	 *
+	 * @param ops Number of operations the next batch will run.
+	 */
+	default void setUp(int ops) {
+	}
+
+	/**
+	 * Runs a batch of operations. This is the measured part.
+	 *
+	 * @param ops Number of operations to run.
+	 */
+	void run(int ops);
+
+	/**
+	 * Cleans the state left by the last measured batch.
+	 */
+	default void tearDown() {
+	}
+}
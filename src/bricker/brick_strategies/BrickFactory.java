@@ -1,88 +1,89 @@
 package bricker.brick_strategies;
 
-import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
-import danogl.gui.SoundReader;
-import danogl.gui.UserInputListener;
-import danogl.util.Counter;
-import bricker.gameobjects.HeartsPanel;
 import bricker.main.Constants;
+import bricker.main.GameParameters;
 
 import java.util.Random;
 
 /**
- * Factory class responsible for generating collision strategies for bricks.
+ * Factory class responsible for choosing collision strategies for bricks.
  * Chooses a random strategy based on a bounded roll, enabling varied brick behaviors.
+ * Strategies are chosen as compact strategy codes, which are resolved to shared
+ * strategy instances through the game's strategy table.
  * <p>Supported strategies include ExtraBalls, PaddleDuplicator, TurboMode,
  * LifeRestoration, DoubleHits, and Basic.</p>
  *
  * @see CollisionStrategy
+ * @see StrategyCodes
  */
 public class BrickFactory {
 	private final Random rand;
-	private final GameObjectCollection gameObjects;
-	private final Counter bricksNum;
-	private final ImageReader imageReader;
-	private final SoundReader soundReader;
-	private final HeartsPanel heartsPanel;
-	/**
-	 * User input listener used by strategies that require paddle control input,
-	 * such as PaddleDuplicatorStrategy.
-	 */
-	public final UserInputListener userInputListener;
+	private final StrategyTable strategyTable;
+	private final int strategyRollBound;
 
 	/**
-	 * Constructs a new BrickFactory with required game dependencies.
+	 * Constructs a new BrickFactory.
 	 *
-	 * @param gameObjects        Collection managing game objects.
-	 * @param bricksNum          Counter tracking remaining bricks.
-	 * @param imageReader        Loader for image assets.
-	 * @param soundReader        Loader for sound assets.
-	 * @param userInputListener  Listener for player input.
-	 * @param heartsPanel        Panel displaying player lives.
+	 * @param strategyTable Table resolving codes to the game's shared strategies.
+	 * @param rand          The game's random source.
+	 * @param parameters    The game's parameters, bounding the strategy roll.
 	 */
-	public BrickFactory(GameObjectCollection gameObjects,
-						Counter bricksNum,
-						ImageReader imageReader,
-						SoundReader soundReader,
-						UserInputListener userInputListener,
-						HeartsPanel heartsPanel) {
-		this.rand = new Random();
-		this.gameObjects = gameObjects;
-		this.bricksNum = bricksNum;
-		this.imageReader = imageReader;
-		this.soundReader = soundReader;
-		this.userInputListener = userInputListener;
-		this.heartsPanel = heartsPanel;
+	public BrickFactory(StrategyTable strategyTable, Random rand, GameParameters parameters) {
+		this.rand = rand;
+		this.strategyTable = strategyTable;
+		this.strategyRollBound = parameters.getStrategyRollBound();
 	}
 
 	/**
-	 * Returns a randomly selected CollisionStrategy based on a roll within
-	 * [0, STRATEGY_ROLL_BOUND).
+	 * Returns the code of a randomly selected strategy, based on a roll within
+	 * [0, strategy roll bound).
 	 * Ensures uniform distribution across available strategies.
 	 *
-	 * @return A CollisionStrategy instance.
+	 * @return A strategy code.
 	 */
-	public CollisionStrategy getStrategy() {
-		int roll = rand.nextInt(Constants.STRATEGY_ROLL_BOUND);
+	public byte nextStrategyCode() {
+		int roll = rand.nextInt(strategyRollBound);
 
 		switch (roll) {
 			case 0:
-				return new ExtraBallsStrategy(gameObjects, bricksNum, imageReader, soundReader);
 			case 1:
-				return new PaddleDuplicatorStrategy(
-						gameObjects, bricksNum, imageReader, userInputListener);
 			case 2:
-				return new TurboModeStrategy(gameObjects, bricksNum, imageReader);
 			case 3:
-				return new LifeRestorationStrategy(gameObjects, bricksNum, imageReader, heartsPanel);
+				// ExtraBalls, PaddleDuplicator, TurboMode, LifeRestoration
+				return StrategyCodes.single(roll);
 			case 4:
-				return new DoubleStrategy(
-						gameObjects, bricksNum, imageReader, soundReader,
-						userInputListener, heartsPanel);
+				return nextDoubleCode();
 			default:
-				// Fallback to basic removal behavior (from 5 to STRATEGY_ROLL_BOUND -1)
-				return new BasicCollisionStrategy(gameObjects, bricksNum);
+				// Fallback to basic removal behavior (from 5 to the strategy roll bound - 1)
+				return StrategyCodes.BASIC;
+		}
+	}
+
+	/**
+	 * Returns a randomly selected CollisionStrategy.
+	 *
+	 * @return The shared CollisionStrategy instance of a random code.
+	 */
+	public CollisionStrategy getStrategy() {
+		return strategyTable.strategyFor(nextStrategyCode());
+	}
+
+	/**
+	 * Chooses the sub-strategies of a double strategy.
+	 * The first one is one of the four special strategies. The second roll may also
+	 * pick the double option, in which case two more special strategies are chosen,
+	 * so a brick has at most three behaviors.
+	 *
+	 * @return A double strategy code.
+	 */
+	private byte nextDoubleCode() {
+		int first = rand.nextInt(Constants.DOUBLE_STRATEGY_INDEX_BOUND);
+		int second = rand.nextInt(Constants.DOUBLE_STRATEGY_INDEX_BOUND_WITH);
+		if (second == Constants.DOUBLE_STRATEGY_INDEX_BOUND) {
+			return StrategyCodes.ofTriple(first,
+					rand.nextInt(Constants.DOUBLE_STRATEGY_INDEX_BOUND),
+					rand.nextInt(Constants.DOUBLE_STRATEGY_INDEX_BOUND));
 		}
+		return StrategyCodes.ofDouble(first, second);
 	}
-}
\ No newline at end of file
+}
@@ -1,49 +1,61 @@
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickGrid;
+import bricker.collisions.CommandBuffer;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.collisions.GameObjectCollection;
-import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
-import danogl.gui.SoundReader;
-import danogl.gui.Sound;
-import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
-import danogl.util.Counter;
+import bricker.gameobjects.GameObjectPool;
 import bricker.gameobjects.Puck;
 import bricker.main.Constants;
+import bricker.main.GameParameters;
 
 import java.util.Random;
 
 /**
- * Strategy that create two mini-pucks when a brick is destroyed.
+ * Strategy that create mini-pucks when a brick is destroyed, two by default.
  * Each puck inherits a random upward velocity and does not cost a life.
+ * Pucks are taken from a pool, so spawning reuses pucks that already left the game.
+ * Raising the number of pucks per hit turns the strategy into a stress test of the game.
  */
 public class ExtraBallsStrategy implements CollisionStrategy {
-	private final GameObjectCollection gameObjects;
-	private final Counter bricksCounter;
-	private final ImageReader imageReader;
-	private final SoundReader soundReader;
+	private final CommandBuffer commands;
+	private final BrickGrid brickGrid;
+	private final GameObjectPool<Puck> puckPool;
+	private final Random random;
+	private final float puckSpeed;
+	private int pucksPerHit = Constants.EXTRA_BALLS_PUCKS_PER_HIT;
 
 	/**
 	 * Constructs the ExtraBallsStrategy with game dependencies.
 	 *
-	 * @param gameObjects   Collection managing game objects.
-	 * @param bricksCounter Counter tracking remaining bricks.
-	 * @param imageReader   Loader for image assets.
-	 * @param soundReader   Loader for sound assets.
+	 * @param commands      Buffer queuing the spawned pucks.
+	 * @param brickGrid     Grid holding the remaining bricks.
+	 * @param puckPool      Pool providing the spawned pucks.
+	 * @param random        The game's random source, choosing the pucks' directions.
+	 * @param parameters    The game's parameters, setting the pucks' speed.
 	 */
-	public ExtraBallsStrategy(GameObjectCollection gameObjects, Counter bricksCounter,
-							  ImageReader imageReader, SoundReader soundReader) {
-		this.gameObjects = gameObjects;
-		this.bricksCounter = bricksCounter;
-		this.imageReader = imageReader;
-		this.soundReader = soundReader;
+	public ExtraBallsStrategy(CommandBuffer commands, BrickGrid brickGrid,
+							  GameObjectPool<Puck> puckPool, Random random, GameParameters parameters) {
+		this.commands = commands;
+		this.brickGrid = brickGrid;
+		this.puckPool = puckPool;
+		this.random = random;
+		this.puckSpeed = parameters.getPuckSpeed();
+	}
+
+	/**
+	 * Sets the number of pucks spawned per destroyed brick.
+	 *
+	 * @param pucksPerHit Number of pucks spawned per destroyed brick.
+	 */
+	public void setPucksPerHit(int pucksPerHit) {
+		this.pucksPerHit = pucksPerHit;
 	}
 
 	/**
 	 * Called when a brick is hit: removes brick, decrements counter,
-	 * and spawns two mini-pucks with random upward velocities.
+	 * and spawns mini-pucks with random upward velocities.
 	 *
 	 * @param brick    The brick that was hit.
 	 * @param collider The object that hit the brick.
@@ -51,37 +63,36 @@ public class ExtraBallsStrategy implements CollisionStrategy {
 	@Override
 	public void onCollision(GameObject brick, GameObject collider) {
 		// Remove brick and update counter
-		if (gameObjects.removeGameObject(brick, Layer.STATIC_OBJECTS)) {
-			bricksCounter.decrement();
-		}
+		brickGrid.removeBrick(brick);
 
-		// Load assets for mini-pucks
-		Renderable puckImage = imageReader.readImage(Constants.PUCK_IMAGE_PATH, true);
-		Sound collisionSound = soundReader.readSound(Constants.COLLISION_SOUND_PATH);
-
-		// Center position of original brick
-		Vector2 brickCenter = brick.getCenter();
-		Vector2 puckSize = Constants.ballDimensions.mult(Constants.PUCK_PROPORTION_SIZE);
+		// Spawn mini-pucks at the center position of original brick
+		spawnPucks(brick.getCenter(), pucksPerHit);
+	}
 
-		// Spawn two mini-pucks
-		for (int i = 0; i < 2; i++) {
-			GameObject puck = new Puck(brickCenter, puckSize, puckImage, collisionSound, gameObjects);
-			puck.setTag(Constants.MINI_BALL_TAG);
+	/**
+	 * Spawns mini-pucks with random upward velocities.
+	 *
+	 * @param topLeftCorner Position of the spawned pucks.
+	 * @param count         Number of pucks to spawn.
+	 */
+	public void spawnPucks(Vector2 topLeftCorner, int count) {
+		for (int i = 0; i < count; i++) {
+			Puck puck = puckPool.acquire();
+			puck.setTopLeftCorner(topLeftCorner);
 			puck.setVelocity(randomUpperHalfVelocity());
-			gameObjects.addGameObject(puck);
+			commands.spawn(puck, Constants.PUCK_LAYER);
 		}
 	}
 
 	/**
 	 * Generates a random velocity vector pointing upward within the upper semicircle.
-	 * Uses a uniform random angle in [0, PI] and scales by predefined speed.
+	 * Uses a uniform random angle in [0, PI] and scales by the game's puck speed.
 	 *
 	 * @return A Vector2 velocity for a mini-puck.
 	 */
 	private Vector2 randomUpperHalfVelocity() {
-		Random random = new Random();
 		double angle = random.nextDouble() * Math.PI;  // Angle between 0 and PI
-		float speed = Constants.MINIS_BALLS_SPEED;
+		float speed = puckSpeed;
 		float velX = (float) Math.cos(angle) * speed;
 		float velY = (float) Math.sin(angle) * speed;
 		// Ensure upward motion by taking negative absolute Y
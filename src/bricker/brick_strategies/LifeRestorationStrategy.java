@@ -1,14 +1,12 @@
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickGrid;
+import bricker.collisions.CommandBuffer;
 import danogl.GameObject;
 import danogl.collisions.Layer;
-import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
-import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
-import danogl.util.Counter;
 import bricker.gameobjects.FallingHeart;
-import bricker.gameobjects.HeartsPanel;
+import bricker.gameobjects.GameObjectPool;
 import bricker.main.Constants;
 
 /**
@@ -17,37 +15,32 @@ import bricker.main.Constants;
  * (provided the number of lives is below the allowed maximum).
  * This strategy uses the FallingHeart class to define the behavior
  * of the falling object and updates the obj HeartsPanel when collected.
+ * Hearts are taken from a pool, so spawning reuses hearts that already left the game.
  */
 public class LifeRestorationStrategy implements CollisionStrategy {
 
-	/** Collection managing all game objects in the scene. */
-	private final GameObjectCollection gameObjects;
+	/** Buffer queuing the spawned hearts. */
+	private final CommandBuffer commands;
 
-	/** Counter tracking the number of remaining bricks. */
-	private final Counter bricksCounter;
+	/** Grid holding the remaining bricks. */
+	private final BrickGrid brickGrid;
 
-	/** Asset loader for reading heart image. */
-	private final ImageReader imageReader;
-
-	/** Reference to the heart panel responsible for managing life display. */
-	private final HeartsPanel heartsPanel;
+	/** Pool providing falling hearts tied to the player's hearts panel. */
+	private final GameObjectPool<FallingHeart> heartPool;
 
 	/**
 	 * Constructs the LifeRestorationStrategy.
 	 *
-	 * @param gameObjects   GameObjectCollection for adding/removing game elements.
-	 * @param bricksCounter Counter used to track remaining bricks.
-	 * @param imageReader   Used to load the heart image asset.
-	 * @param heartsPanel   HeartsPanel that manages player lives UI and logic.
+	 * @param commands      Buffer queuing the spawned hearts.
+	 * @param brickGrid     Grid holding the remaining bricks.
+	 * @param heartPool     Pool providing the spawned falling hearts.
 	 */
-	public LifeRestorationStrategy(GameObjectCollection gameObjects,
-								   Counter bricksCounter,
-								   ImageReader imageReader,
-								   HeartsPanel heartsPanel) {
-		this.gameObjects = gameObjects;
-		this.bricksCounter = bricksCounter;
-		this.imageReader = imageReader;
-		this.heartsPanel = heartsPanel;
+	public LifeRestorationStrategy(CommandBuffer commands,
+								   BrickGrid brickGrid,
+								   GameObjectPool<FallingHeart> heartPool) {
+		this.commands = commands;
+		this.brickGrid = brickGrid;
+		this.heartPool = heartPool;
 	}
 
 	/**
@@ -60,17 +53,15 @@ public class LifeRestorationStrategy implements CollisionStrategy {
 	@Override
 	public void onCollision(GameObject brick, GameObject collider) {
 		// Remove the brick and update the remaining bricks counter
-		if (gameObjects.removeGameObject(brick, Layer.STATIC_OBJECTS)) {
-			bricksCounter.decrement();
-		}
+		brickGrid.removeBrick(brick);
 
-		// Create the falling heart with the same dimensions as hearts in the panel
-		Renderable heartImage = imageReader.readImage(Constants.HEART_IMAGE_PATH, true);
-		Vector2 heartSize = new Vector2(Constants.objectWidth, Constants.objectHeight);
+		// Place the falling heart, which has the same dimensions as hearts in the panel
+		FallingHeart fallingHeart = heartPool.acquire();
+		Vector2 heartSize = fallingHeart.getDimensions();
 		Vector2 heartPos = brick.getCenter().subtract(heartSize.mult(Constants.HeartPosPositionDiscounting));
+		fallingHeart.setTopLeftCorner(heartPos);
 
 		// Spawn a heart that falls and can restore one life upon paddle collision
-		GameObject fallingHeart = new FallingHeart(heartPos, heartImage, gameObjects, heartsPanel);
-		gameObjects.addGameObject(fallingHeart, Layer.DEFAULT);
+		commands.spawn(fallingHeart, Layer.DEFAULT);
 	}
 }
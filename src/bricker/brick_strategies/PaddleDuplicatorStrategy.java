@@ -1,57 +1,69 @@
 // === PaddleDuplicatorStrategy.java ===
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickGrid;
+import bricker.collisions.Categories;
+import bricker.collisions.CommandBuffer;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
-import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
 import bricker.gameobjects.Paddle;
+import bricker.gameobjects.PaddleController;
+import bricker.main.AssetSource;
 import bricker.main.Constants;
+import bricker.main.GameParameters;
 
 /**
  * Collision strategy that create a duplicate paddle when a brick is hit by a ball.
  * The duplicate paddle appears at screen center, listens to user input,
  * and removes itself after a fixed number of ball collisions.
- * Ensures only one duplicate is active at a time by tracking global state.
+ * Ensures only one duplicate is active at a time by tracking the game's state.
+ * A single instance is shared by all the bricks of a game, so that state is per game.
  */
 public class PaddleDuplicatorStrategy implements CollisionStrategy {
 	// Maximum number of hits before duplicate paddle disappears
-	private static final int MAX_HITS = Constants.MAX_HITS_PADDLE_DUPLICATOR;
+	private final int maxHits;
 
 	/** Tracks whether a duplicate paddle is already present */
-	public static boolean isHitPaddle = false;
+	private boolean isHitPaddle = false;
+	/** The duplicate paddle while it is present, null otherwise */
+	private HitCountingPaddle duplicatePaddle = null;
 
 	// Shared dependencies
-	private static ImageReader imageReader;
-	private static UserInputListener inputListener;
-	private static Vector2 windowDimensions;
-	private static Vector2 paddleDimensions;
-	private static GameObjectCollection gameObjects;
+	private final AssetSource assets;
+	private final PaddleController controller;
+	private final float fieldWidth;
+	private final Vector2 windowDimensions;
+	private final Vector2 paddleDimensions;
+	private final CommandBuffer commands;
 
-	// Counter tracking remaining bricks
-	private final Counter bricksCounter;
+	// Grid holding the remaining bricks
+	private final BrickGrid brickGrid;
 
 	/**
 	 * Constructs the PaddleDuplicatorStrategy with required game hooks.
 	 *
-	 * @param gameObjects   Collection managing game objects in the scene.
-	 * @param bricksCounter Counter tracking how many bricks remain.
-	 * @param imageReader   Used to load the paddle image.
-	 * @param inputListener Listens to player keyboard input.
+	 * @param commands      Buffer queuing the duplicate paddle's spawn and removal.
+	 * @param brickGrid     Grid holding the remaining bricks.
+	 * @param assets        Used to load the paddle image.
+	 * @param controller    Steers the duplicate paddle, like the main one.
+	 * @param fieldWidth    Width of the playing field, which the duplicate paddle stays within.
+	 * @param parameters    The game's parameters, limiting the duplicate paddle's hits.
 	 */
-	public PaddleDuplicatorStrategy(GameObjectCollection gameObjects,
-									Counter bricksCounter,
-									ImageReader imageReader,
-									UserInputListener inputListener) {
-		PaddleDuplicatorStrategy.gameObjects = gameObjects;
-		this.bricksCounter = bricksCounter;
-		PaddleDuplicatorStrategy.imageReader = imageReader;
-		PaddleDuplicatorStrategy.inputListener = inputListener;
+	public PaddleDuplicatorStrategy(CommandBuffer commands,
+									BrickGrid brickGrid,
+									AssetSource assets,
+									PaddleController controller,
+									float fieldWidth,
+									GameParameters parameters) {
+		this.commands = commands;
+		this.brickGrid = brickGrid;
+		this.assets = assets;
+		this.controller = controller;
+		this.fieldWidth = fieldWidth;
+		this.maxHits = parameters.getMaxHitsPaddleDuplicator();
 		// Cache dimensions for paddle placement
 		windowDimensions = Constants.windowDimensions;
 		paddleDimensions = Constants.paddleDimensions;
@@ -67,29 +79,72 @@ public class PaddleDuplicatorStrategy implements CollisionStrategy {
 	@Override
 	public void onCollision(GameObject brick, GameObject collider) {
 		// Remove the brick and decrement counter
-		if (gameObjects.removeGameObject(brick, Layer.STATIC_OBJECTS)) {
-			bricksCounter.decrement();
-		}
+		brickGrid.removeBrick(brick);
 		// If a duplicate already exists, skip
 		if (isHitPaddle) return;
 
 		// Load paddle image and compute spawn position
-		Renderable paddleImg = imageReader.readImage(Constants.PADDLE_IMAGE_PATH, true);
+		Renderable paddleImg = assets.readImage(Constants.PADDLE_IMAGE_PATH, true);
 		Vector2 pos = new Vector2(
 				windowDimensions.x() / 2f - paddleDimensions.x() / 2f,
 				windowDimensions.y() / 2f
 		);
 		// Create and add duplicate paddle
-		GameObject duplicatePaddle = new HitCountingPaddle(
-				pos, paddleDimensions, paddleImg, inputListener);
-		gameObjects.addGameObject(duplicatePaddle, Layer.DEFAULT);
+		duplicatePaddle = new HitCountingPaddle(
+				pos, paddleDimensions, paddleImg, controller);
+		commands.spawn(duplicatePaddle, Layer.DEFAULT);
 		isHitPaddle = true;
 	}
 
 	/**
-	 * Inner Paddle subclass that counts hits and self-removes after MAX_HITS collisions.
+	 * @return true if a duplicate paddle is currently in the game.
+	 */
+	public boolean isDuplicateActive() {
+		return isHitPaddle;
+	}
+
+	/**
+	 * @return The duplicate paddle if one is in the game, null otherwise.
 	 */
-	private static class HitCountingPaddle extends Paddle {
+	public GameObject getDuplicatePaddle() {
+		return duplicatePaddle;
+	}
+
+	/**
+	 * @return Number of ball collisions the duplicate paddle took, or 0 if none is in the game.
+	 */
+	public int getDuplicateHits() {
+		return duplicatePaddle == null ? 0 : duplicatePaddle.hitCount;
+	}
+
+	/**
+	 * Sets the duplicate paddle's state at once, as when a saved game is restored.
+	 * The current duplicate, if any, leaves the game immediately, and a new one is
+	 * added immediately if the restored state has one.
+	 *
+	 * @param active   true if a duplicate paddle is in the game.
+	 * @param topLeft  Top-left corner of the duplicate paddle.
+	 * @param velocity Velocity of the duplicate paddle.
+	 * @param hits     Number of ball collisions the duplicate paddle took.
+	 */
+	public void restore(boolean active, Vector2 topLeft, Vector2 velocity, int hits) {
+		if (duplicatePaddle != null) {
+			commands.getGameObjects().removeGameObject(duplicatePaddle, Layer.DEFAULT);
+			duplicatePaddle = null;
+		}
+		isHitPaddle = active;
+		if (!active) return;
+		duplicatePaddle = new HitCountingPaddle(topLeft, paddleDimensions,
+				assets.readImage(Constants.PADDLE_IMAGE_PATH, true), controller);
+		duplicatePaddle.setVelocity(velocity);
+		duplicatePaddle.hitCount = hits;
+		commands.getGameObjects().addGameObject(duplicatePaddle, Layer.DEFAULT);
+	}
+
+	/**
+	 * Inner Paddle subclass that counts hits and self-removes after the maximal number of hits.
+	 */
+	private class HitCountingPaddle extends Paddle {
 		private int hitCount = 0;
 
 		/**
@@ -98,13 +153,13 @@ public class PaddleDuplicatorStrategy implements CollisionStrategy {
 		 * @param topLeftCorner Top-left position.
 		 * @param dimensions    Paddle size.
 		 * @param renderable    Visual representation.
-		 * @param inputListener User keyboard listener.
+		 * @param controller    Steers the paddle.
 		 */
 		public HitCountingPaddle(Vector2 topLeftCorner,
 								 Vector2 dimensions,
 								 Renderable renderable,
-								 UserInputListener inputListener) {
-			super(topLeftCorner, dimensions, renderable, inputListener);
+								 PaddleController controller) {
+			super(topLeftCorner, dimensions, renderable, controller, fieldWidth);
 		}
 
 		/**
@@ -116,9 +171,23 @@ public class PaddleDuplicatorStrategy implements CollisionStrategy {
 		@Override
 		public boolean shouldCollideWith(GameObject other) {
 			// Only respond to collisions with main or mini balls
-			String tag = other.getTag();
-			return Constants.MAIN_BALL_TAG.equals(tag)
-					|| Constants.MINI_BALL_TAG.equals(tag);
+			return Categories.collides(this, other);
+		}
+
+		/**
+		 * @return {@link Categories#PADDLE_DUPLICATE}.
+		 */
+		@Override
+		public int getCategory() {
+			return Categories.PADDLE_DUPLICATE;
+		}
+
+		/**
+		 * @return {@link Categories#PADDLE_DUPLICATE_MASK}.
+		 */
+		@Override
+		public int getCollisionMask() {
+			return Categories.PADDLE_DUPLICATE_MASK;
 		}
 
 		/**
@@ -133,9 +202,10 @@ public class PaddleDuplicatorStrategy implements CollisionStrategy {
 			super.onCollisionEnter(other, collision);
 			hitCount++;
 			// After reaching hit limit, remove duplicate and reset state
-			if (hitCount >= MAX_HITS) {
-				gameObjects.removeGameObject(this);
+			if (hitCount >= maxHits) {
+				commands.remove(this, Layer.DEFAULT);
 				isHitPaddle = false;
+				duplicatePaddle = null;
 			}
 		}
 	}
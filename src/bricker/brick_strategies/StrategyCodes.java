@@ -0,0 +1,107 @@
+package bricker.brick_strategies;
+
+/**
+ * Compact one-byte codes identifying the collision strategy of a brick.
+ * The brick grid stores one code per cell instead of a strategy object per brick.
+ * <p>Codes 0-4 are the single strategies. A double strategy sets the highest bit and packs
+ * its sub-strategies as 2-bit indices (0 = ExtraBalls, 1 = PaddleDuplicator, 2 = TurboMode,
+ * 3 = LifeRestoration), with a second flag bit marking a third sub-strategy.</p>
+ */
+public final class StrategyCodes {
+	/** Code of the basic strategy (removal only). */
+	public static final byte BASIC = 0;
+
+	/** Code of the extra balls strategy. */
+	public static final byte EXTRA_BALLS = 1;
+
+	/** Code of the paddle duplicator strategy. */
+	public static final byte PADDLE_DUPLICATOR = 2;
+
+	/** Code of the turbo mode strategy. */
+	public static final byte TURBO_MODE = 3;
+
+	/** Code of the life restoration strategy. */
+	public static final byte LIFE_RESTORATION = 4;
+
+	/** Number of distinct codes that fit in a byte. */
+	public static final int CODE_COUNT = 256;
+
+	private static final int DOUBLE_FLAG = 0x80;
+	private static final int THIRD_FLAG = 0x40;
+	private static final int SUB_BITS = 2;
+	private static final int SUB_MASK = 0x3;
+
+	/**
+	 * Not instantiable.
+	 */
+	private StrategyCodes() {
+	}
+
+	/**
+	 * Returns the code of a single special strategy.
+	 *
+	 * @param index Strategy index (0 = ExtraBalls, 1 = PaddleDuplicator, 2 = TurboMode, 3 = LifeRestoration).
+	 * @return The strategy's code.
+	 */
+	public static byte single(int index) {
+		return (byte) (index + 1);
+	}
+
+	/**
+	 * Returns the code of a double strategy composed of two special strategies.
+	 *
+	 * @param first  Index of the first sub-strategy.
+	 * @param second Index of the second sub-strategy.
+	 * @return The double strategy's code.
+	 */
+	public static byte ofDouble(int first, int second) {
+		return (byte) (DOUBLE_FLAG | first | second << SUB_BITS);
+	}
+
+	/**
+	 * Returns the code of a double strategy composed of three special strategies.
+	 *
+	 * @param first  Index of the first sub-strategy.
+	 * @param second Index of the second sub-strategy.
+	 * @param third  Index of the third sub-strategy.
+	 * @return The double strategy's code.
+	 */
+	public static byte ofTriple(int first, int second, int third) {
+		return (byte) (DOUBLE_FLAG | THIRD_FLAG | first | second << SUB_BITS | third << 2 * SUB_BITS);
+	}
+
+	/**
+	 * @param code A strategy code.
+	 * @return true if the code describes a double strategy.
+	 */
+	public static boolean isDouble(byte code) {
+		return (code & DOUBLE_FLAG) != 0;
+	}
+
+	/**
+	 * @param code A strategy code read from outside the game, such as a level file.
+	 * @return true if the code is a single strategy, or a double strategy
+	 * whose unused third position is clear.
+	 */
+	public static boolean isValid(byte code) {
+		if (!isDouble(code)) return code >= BASIC && code <= LIFE_RESTORATION;
+		return (code & THIRD_FLAG) != 0 || subStrategy(code, 2) == 0;
+	}
+
+	/**
+	 * @param code A double strategy code.
+	 * @return The number of sub-strategies (2 or 3).
+	 */
+	public static int subStrategyCount(byte code) {
+		return (code & THIRD_FLAG) != 0 ? 3 : 2;
+	}
+
+	/**
+	 * @param code  A double strategy code.
+	 * @param which Position of the sub-strategy (0, 1 or 2).
+	 * @return The index of that sub-strategy.
+	 */
+	public static int subStrategy(byte code, int which) {
+		return (code >> which * SUB_BITS) & SUB_MASK;
+	}
+}
@@ -0,0 +1,113 @@
+package bricker.brick_strategies;
+
+import bricker.collisions.BrickGrid;
+import bricker.collisions.CommandBuffer;
+import bricker.gameobjects.FallingHeart;
+import bricker.gameobjects.GameObjectPool;
+import bricker.gameobjects.PaddleController;
+import bricker.gameobjects.Puck;
+import bricker.main.AssetSource;
+import bricker.main.GameParameters;
+
+import java.util.Random;
+
+/**
+ * Resolves strategy codes to strategy instances shared by all the bricks of a game.
+ * Each single strategy exists once per game, and each double strategy combination
+ * is composed from those shared instances the first time its code is looked up.
+ *
+ * @see StrategyCodes
+ */
+public class StrategyTable {
+	private final CollisionStrategy[] strategies = new CollisionStrategy[StrategyCodes.CODE_COUNT];
+	private final CollisionStrategy[] specialStrategies;
+
+	/**
+	 * Constructs the shared strategies of a game.
+	 *
+	 * @param commands          Buffer queuing the strategies' changes to the game.
+	 * @param brickGrid         Grid holding the remaining bricks.
+	 * @param assets            Loader for image and sound assets.
+	 * @param paddleController  Steers the paddles, such as the duplicate paddle.
+	 * @param fieldWidth        Width of the playing field, which the duplicate paddle stays within.
+	 * @param puckPool          Pool providing spawned pucks.
+	 * @param heartPool         Pool providing spawned falling hearts.
+	 * @param random            The game's random source.
+	 * @param parameters        The game's parameters, tuning the strategies.
+	 */
+	public StrategyTable(CommandBuffer commands,
+						 BrickGrid brickGrid,
+						 AssetSource assets,
+						 PaddleController paddleController,
+						 float fieldWidth,
+						 GameObjectPool<Puck> puckPool,
+						 GameObjectPool<FallingHeart> heartPool,
+						 Random random,
+						 GameParameters parameters) {
+		strategies[StrategyCodes.BASIC] = new BasicCollisionStrategy(brickGrid);
+		strategies[StrategyCodes.EXTRA_BALLS] = new ExtraBallsStrategy(
+				commands, brickGrid, puckPool, random, parameters);
+		strategies[StrategyCodes.PADDLE_DUPLICATOR] = new PaddleDuplicatorStrategy(
+				commands, brickGrid, assets, paddleController, fieldWidth, parameters);
+		strategies[StrategyCodes.TURBO_MODE] = new TurboModeStrategy(
+				commands.getGameObjects(), brickGrid, assets, parameters);
+		strategies[StrategyCodes.LIFE_RESTORATION] = new LifeRestorationStrategy(
+				commands, brickGrid, heartPool);
+		specialStrategies = new CollisionStrategy[] {
+				strategies[StrategyCodes.EXTRA_BALLS],
+				strategies[StrategyCodes.PADDLE_DUPLICATOR],
+				strategies[StrategyCodes.TURBO_MODE],
+				strategies[StrategyCodes.LIFE_RESTORATION]
+		};
+	}
+
+	/**
+	 * Returns the shared strategy of a code.
+	 *
+	 * @param code A strategy code.
+	 * @return The strategy executed by bricks with that code.
+	 */
+	public CollisionStrategy strategyFor(byte code) {
+		CollisionStrategy strategy = strategies[code & 0xFF];
+		if (strategy == null) {
+			strategy = composeDouble(code);
+			strategies[code & 0xFF] = strategy;
+		}
+		return strategy;
+	}
+
+	/**
+	 * Builds the double strategy described by a code from the shared special strategies.
+	 *
+	 * @param code A double strategy code.
+	 * @return The composed strategy.
+	 */
+	private CollisionStrategy composeDouble(byte code) {
+		CollisionStrategy first = specialStrategies[StrategyCodes.subStrategy(code, 0)];
+		CollisionStrategy second = specialStrategies[StrategyCodes.subStrategy(code, 1)];
+		CollisionStrategy third = StrategyCodes.subStrategyCount(code) == 3
+				? specialStrategies[StrategyCodes.subStrategy(code, 2)] : null;
+		return new DoubleStrategy(first, second, third);
+	}
+
+	/**
+	 * @return The game's extra balls strategy.
+	 */
+	public ExtraBallsStrategy getExtraBalls() {
+		return (ExtraBallsStrategy) strategies[StrategyCodes.EXTRA_BALLS];
+	}
+
+	/**
+	 * @return The game's paddle duplicator strategy.
+	 */
+	public PaddleDuplicatorStrategy getPaddleDuplicator() {
+		return (PaddleDuplicatorStrategy) strategies[StrategyCodes.PADDLE_DUPLICATOR];
+	}
+
+	/**
+	 * @return The game's turbo mode strategy.
+	 */
+	public TurboModeStrategy getTurboMode() {
+		return (TurboModeStrategy) strategies[StrategyCodes.TURBO_MODE];
+	}
+}
@@ -1,39 +1,52 @@
 // === TurboModeStrategy.java ===
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickGrid;
+import bricker.collisions.Categories;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
-import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
-import danogl.util.Counter;
+import danogl.components.Component;
 import bricker.gameobjects.Ball;
+import bricker.main.AssetSource;
 import bricker.main.Constants;
+import bricker.main.GameParameters;
 
 /**
  * Activates turbo mode on the main ball when a brick is hit.
  * Increases ball speed by a constant factor and changes its color to red.
  * Turbo lasts for a fixed number of collisions, then reverts to normal.
- * Prevents re-activation while active.</p>
+ * Prevents re-activation while active.
+ * A single instance is shared by all the bricks of a game, so the turbo state is per game.
  */
 public class TurboModeStrategy implements CollisionStrategy {
 	private final GameObjectCollection gameObjects;
-	private final Counter bricksCounter;
-	private static ImageReader imageReader;
+	private final BrickGrid brickGrid;
+	private final AssetSource assets;
+	private final float turboFactor;
+	private final int turboCollisionLimit;
 
-	private static boolean turboActive = false;
-	private static int turboCollisionStart = 0;
+	private boolean turboActive = false;
+	private int turboCollisionStart = 0;
+	private Ball turboBall = null;
+
+	/** Component checking every frame whether turbo mode should end. */
+	private final Component revertComponent = deltaTime -> revertIfExpired();
 
 	/**
 	 * Constructs the turbo mode strategy.
 	 *
 	 * @param gameObjects  Collection managing game objects.
-	 * @param bricksNum    Counter tracking remaining bricks.
-	 * @param imageReader  Loads ball images.
+	 * @param brickGrid    Grid holding the remaining bricks.
+	 * @param assets       Loads ball images.
+	 * @param parameters   The game's parameters: turbo factor and collision limit.
 	 */
-	public TurboModeStrategy(GameObjectCollection gameObjects, Counter bricksNum, ImageReader imageReader) {
+	public TurboModeStrategy(GameObjectCollection gameObjects, BrickGrid brickGrid, AssetSource assets,
+							 GameParameters parameters) {
 		this.gameObjects = gameObjects;
-		this.bricksCounter = bricksNum;
-		TurboModeStrategy.imageReader = imageReader;
+		this.brickGrid = brickGrid;
+		this.assets = assets;
+		this.turboFactor = parameters.getTurboFactor();
+		this.turboCollisionLimit = parameters.getTurboCollisionLimit();
 	}
 
 	/**
@@ -47,31 +60,82 @@ public class TurboModeStrategy implements CollisionStrategy {
 	@Override
 	public void onCollision(GameObject brick, GameObject collider) {
 		// Remove brick and decrement
-		if (gameObjects.removeGameObject(brick, Layer.STATIC_OBJECTS))
-			bricksCounter.decrement();
+		brickGrid.removeBrick(brick);
 
 		// Only react to main ball and if not already turbo
-		if (!collider.getTag().equals(Constants.MAIN_BALL_TAG) || turboActive)
+		if ((Categories.of(collider) & Categories.MAIN_BALL) == 0 || turboActive)
 			return;
 
 		Ball ball = (Ball) collider;
 		turboActive = true;
+		turboBall = ball;
 		turboCollisionStart = ball.getCollisionCounter();
 
 		// Increase velocity and change appearance
-		ball.setVelocity(ball.getVelocity().mult(Constants.TURBO_FACTOR));
+		ball.setVelocity(ball.getVelocity().mult(turboFactor));
 		ball.renderer().setRenderable(
-				imageReader.readImage(Constants.RED_BALL_IMAGE_PATH, true));
+				assets.readImage(Constants.RED_BALL_IMAGE_PATH, true));
 
 		// Add component to revert after limit
-		ball.addComponent(deltaTime -> {
-			if (!turboActive) return;
-			if (ball.getCollisionCounter() - turboCollisionStart > Constants.TURBO_COLLISION_LIMIT) {
-				ball.setVelocity(ball.getVelocity().mult(1f / Constants.TURBO_FACTOR));
-				ball.renderer().setRenderable(
-						imageReader.readImage(Constants.BALL_IMAGE_PATH, true));
-				turboActive = false;
-			}
-		});
+		ball.addComponent(revertComponent);
+	}
+
+	/**
+	 * Reverts the turbo ball to normal once it collided more than the allowed number of times.
+	 */
+	private void revertIfExpired() {
+		if (!turboActive) return;
+		if (turboBall.getCollisionCounter() - turboCollisionStart > turboCollisionLimit) {
+			turboBall.setVelocity(turboBall.getVelocity().mult(1f / turboFactor));
+			turboBall.renderer().setRenderable(
+					assets.readImage(Constants.BALL_IMAGE_PATH, true));
+			turboBall.removeComponent(revertComponent);
+			turboActive = false;
+			turboBall = null;
+		}
+	}
+
+	/**
+	 * @return true if a ball is currently in turbo mode.
+	 */
+	public boolean isTurboActive() {
+		return turboActive;
+	}
+
+	/**
+	 * @return The ball in turbo mode, or null if turbo mode is not active.
+	 */
+	public Ball getTurboBall() {
+		return turboBall;
+	}
+
+	/**
+	 * @return The turbo ball's collision count when turbo mode started, if it is active.
+	 */
+	public int getTurboCollisionStart() {
+		return turboCollisionStart;
+	}
+
+	/**
+	 * Sets the turbo state at once, as when a saved game is restored. The ball's appearance
+	 * and revert component follow the state; its velocity is left as is, since a saved
+	 * velocity already includes the turbo factor.
+	 *
+	 * @param ball           The main ball.
+	 * @param active         true if the ball is in turbo mode.
+	 * @param collisionStart The ball's collision count when turbo mode started.
+	 */
+	public void restore(Ball ball, boolean active, int collisionStart) {
+		if (turboBall != null) {
+			turboBall.removeComponent(revertComponent);
+		}
+		turboActive = active;
+		turboBall = active ? ball : null;
+		turboCollisionStart = active ? collisionStart : 0;
+		ball.renderer().setRenderable(assets.readImage(
+				active ? Constants.RED_BALL_IMAGE_PATH : Constants.BALL_IMAGE_PATH, true));
+		if (active) {
+			ball.addComponent(revertComponent);
+		}
 	}
 }
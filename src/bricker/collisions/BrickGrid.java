@@ -0,0 +1,741 @@
+package bricker.collisions;
+
+import bricker.brick_strategies.StrategyCodes;
+import bricker.brick_strategies.StrategyTable;
+import bricker.gameobjects.Bounceable;
+import bricker.gameobjects.Brick;
+import bricker.main.Constants;
+import bricker.rendering.BrickWallRenderable;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A uniform-grid index over the brick wall, used as the broadphase for brick collisions.
+ * Bricks live in a layer that the engine never tests against moving objects.
+ * Instead, every frame the grid maps each ball's or puck's bounding box straight to
+ * the few cells it covers, and only those bricks are tested and hit.
+ * The cost of a frame therefore depends on the number of moving objects,
+ * not on the number of bricks in the wall.
+ * <p>The grid also keeps a one-byte strategy code per cell. Bricks hold no strategy of
+ * their own; a hit brick's code is resolved to a shared strategy through the strategy table.</p>
+ * <p>The wall itself is stored as data: a strategy code and a hit point count per cell,
+ * where zero hit points mark an empty cell. Brick game objects are kept per chunk of
+ * {@link Constants#BRICK_CHUNK_ROWS} rows. Bricks can be added eagerly, or only defined,
+ * in which case {@link #updateReach} creates the bricks of the chunks near a ball or puck,
+ * and releases the chunks that are not. The wall is drawn from its cell data, so a brick
+ * needs no game object to be seen.</p>
+ */
+public class BrickGrid {
+	private static final int INITIAL_CHANGED_CAPACITY = 16;
+
+	private final int rows;
+	private final int cols;
+	private final float originX;
+	private final float originY;
+	private final float brickWidth;
+	private final float brickHeight;
+	private final float cellWidth;
+	private final float cellHeight;
+	private final Vector2 brickSize;
+	private final int chunkRows;
+	private final Brick[][] chunks;
+	private final BitSet materialized = new BitSet();
+	private final BitSet reachable = new BitSet();
+	private Renderable brickRenderable;
+	private BrickWallRenderable wallRenderable;
+	private int brickObjectCount = 0;
+	private final byte[] strategyCodes;
+	private final byte[] hitPoints;
+	private final int layer;
+	private final CommandBuffer commands;
+	private final GameObjectCollection gameObjects;
+	private final Counter bricksCounter;
+	private StrategyTable strategyTable;
+	private long hitCount = 0;
+	private final long[] hitsByCode = new long[StrategyCodes.CODE_COUNT];
+	private boolean trackingChanges = false;
+	private int[] changedCells = new int[INITIAL_CHANGED_CAPACITY];
+	private int changedCount = 0;
+
+	/** Scratch list of the moving objects tested in the current frame. */
+	private final ArrayList<GameObject> movers = new ArrayList<>();
+
+	/**
+	 * Constructs an empty brick grid.
+	 *
+	 * @param rows          Number of brick rows.
+	 * @param cols          Number of brick columns.
+	 * @param origin        Top-left corner of the brick in row 0, column 0.
+	 * @param brickSize     Size of a single brick.
+	 * @param spacing       Gap between neighbouring bricks.
+	 * @param layer         Layer the bricks are added to.
+	 * @param commands      Buffer of the game's changes; bricks are added to its collection
+	 *                      directly, and their removals are queued.
+	 * @param bricksCounter Counter tracking remaining bricks.
+	 */
+	public BrickGrid(int rows, int cols, Vector2 origin, Vector2 brickSize, float spacing,
+					 int layer, CommandBuffer commands, Counter bricksCounter) {
+		this.rows = rows;
+		this.cols = cols;
+		this.originX = origin.x();
+		this.originY = origin.y();
+		this.brickWidth = brickSize.x();
+		this.brickHeight = brickSize.y();
+		this.cellWidth = brickWidth + spacing;
+		this.cellHeight = brickHeight + spacing;
+		this.brickSize = brickSize;
+		this.chunkRows = Constants.BRICK_CHUNK_ROWS;
+		this.chunks = new Brick[(rows + chunkRows - 1) / chunkRows][];
+		this.strategyCodes = new byte[rows * cols];
+		this.hitPoints = new byte[rows * cols];
+		this.layer = layer;
+		this.commands = commands;
+		this.gameObjects = commands.getGameObjects();
+		this.bricksCounter = bricksCounter;
+	}
+
+	/**
+	 * Returns the top-left corner of a cell.
+	 *
+	 * @param row Row of the cell.
+	 * @param col Column of the cell.
+	 * @return The top-left corner of the brick in that cell.
+	 */
+	public Vector2 cellTopLeft(int row, int col) {
+		return new Vector2(originX + col * cellWidth, originY + row * cellHeight);
+	}
+
+	/**
+	 * Sets the table resolving the cells' strategy codes to strategies.
+	 *
+	 * @param strategyTable The game's strategy table.
+	 */
+	public void setStrategyTable(StrategyTable strategyTable) {
+		this.strategyTable = strategyTable;
+	}
+
+	/**
+	 * Sets the visual representation of the bricks created for defined cells.
+	 *
+	 * @param brickRenderable Visual representation of the bricks.
+	 */
+	public void setBrickRenderable(Renderable brickRenderable) {
+		this.brickRenderable = brickRenderable;
+	}
+
+	/**
+	 * Sets the cached image of the wall, whose cells are redrawn when their bricks are removed.
+	 *
+	 * @param wallRenderable The wall's cached image, or null if bricks draw themselves.
+	 */
+	public void setWallRenderable(BrickWallRenderable wallRenderable) {
+		this.wallRenderable = wallRenderable;
+	}
+
+	/**
+	 * Creates a brick that breaks on its first hit in a cell and adds it to the game.
+	 *
+	 * @param row          Row of the cell.
+	 * @param col          Column of the cell.
+	 * @param strategyCode Code of the brick's collision strategy.
+	 * @param renderable   Visual representation of the brick.
+	 * @return The created brick.
+	 */
+	public Brick addBrick(int row, int col, byte strategyCode, Renderable renderable) {
+		return addBrick(row, col, strategyCode, 1, renderable);
+	}
+
+	/**
+	 * Creates a brick in a cell, adds it to the game and increments the bricks counter.
+	 *
+	 * @param row          Row of the cell.
+	 * @param col          Column of the cell.
+	 * @param strategyCode Code of the brick's collision strategy.
+	 * @param hitPoints    Number of hits the brick takes before its strategy runs (1 to 255).
+	 * @param renderable   Visual representation of the brick.
+	 * @return The created brick.
+	 */
+	public Brick addBrick(int row, int col, byte strategyCode, int hitPoints, Renderable renderable) {
+		defineBrick(row, col, strategyCode, hitPoints);
+		int chunk = row / chunkRows;
+		if (chunks[chunk] == null) {
+			chunks[chunk] = new Brick[chunkSize(chunk)];
+			materialized.set(chunk);
+		}
+		return createBrick(row * cols + col, renderable);
+	}
+
+	/**
+	 * Stores a brick in a cell and increments the bricks counter, without creating its
+	 * game object. The brick is created once its chunk is within reach.
+	 *
+	 * @param row          Row of the cell.
+	 * @param col          Column of the cell.
+	 * @param strategyCode Code of the brick's collision strategy.
+	 * @param hitPoints    Number of hits the brick takes before its strategy runs (1 to 255).
+	 */
+	public void defineBrick(int row, int col, byte strategyCode, int hitPoints) {
+		int index = row * cols + col;
+		strategyCodes[index] = strategyCode;
+		this.hitPoints[index] = (byte) hitPoints;
+		bricksCounter.increment();
+	}
+
+	/**
+	 * Creates the game objects of the chunks near a ball or puck, and removes those of the
+	 * other chunks. Released bricks keep their cell's data, and are created again when their
+	 * chunk comes back within reach.
+	 *
+	 * @param layers Objects whose bouncing members keep chunks around them,
+	 *               typically the default and puck layers.
+	 */
+	@SafeVarargs
+	public final void updateReach(Iterable<GameObject>... layers) {
+		reachable.clear();
+		float reach = Constants.BRICK_CHUNK_REACH;
+		for (Iterable<GameObject> objects : layers) {
+			for (GameObject object : objects) {
+				if (object instanceof Bounceable) {
+					float top = object.getTopLeftCorner().y();
+					markReachable(top - reach, top + object.getDimensions().y() + reach);
+				}
+			}
+		}
+		for (int chunk = materialized.nextSetBit(0); chunk >= 0; chunk = materialized.nextSetBit(chunk + 1)) {
+			if (!reachable.get(chunk)) {
+				releaseChunk(chunk);
+			}
+		}
+		for (int chunk = reachable.nextSetBit(0); chunk >= 0; chunk = reachable.nextSetBit(chunk + 1)) {
+			if (chunks[chunk] == null) {
+				materializeChunk(chunk);
+			}
+		}
+	}
+
+	/**
+	 * Marks the chunks overlapping a vertical range as reachable.
+	 *
+	 * @param top    Top of the range.
+	 * @param bottom Bottom of the range.
+	 */
+	private void markReachable(float top, float bottom) {
+		int firstRow = Math.max(0, (int) Math.floor((top - originY) / cellHeight));
+		int lastRow = Math.min(rows - 1, (int) Math.floor((bottom - originY) / cellHeight));
+		if (firstRow > lastRow) return;
+		reachable.set(firstRow / chunkRows, lastRow / chunkRows + 1);
+	}
+
+	/**
+	 * Creates and adds the bricks of a chunk's non-empty cells.
+	 *
+	 * @param chunk Index of the chunk.
+	 */
+	private void materializeChunk(int chunk) {
+		chunks[chunk] = new Brick[chunkSize(chunk)];
+		materialized.set(chunk);
+		int first = chunk * chunkRows * cols;
+		int end = first + chunks[chunk].length;
+		for (int index = first; index < end; index++) {
+			if (hitPoints[index] != 0) {
+				createBrick(index, brickRenderable);
+			}
+		}
+	}
+
+	/**
+	 * Removes the bricks of a chunk from the game, keeping their cells' data.
+	 *
+	 * @param chunk Index of the chunk.
+	 */
+	private void releaseChunk(int chunk) {
+		for (Brick brick : chunks[chunk]) {
+			if (brick != null) {
+				gameObjects.removeGameObject(brick, layer);
+				brickObjectCount--;
+			}
+		}
+		chunks[chunk] = null;
+		materialized.clear(chunk);
+	}
+
+	/**
+	 * Creates the brick of a cell in a materialized chunk and adds it to the game.
+	 *
+	 * @param index      Index of the cell.
+	 * @param renderable Visual representation of the brick.
+	 * @return The created brick.
+	 */
+	private Brick createBrick(int index, Renderable renderable) {
+		int row = index / cols;
+		Brick brick = new Brick(cellTopLeft(row, index - row * cols), brickSize, renderable, this, index);
+		brick.setTag(Constants.BRICK_TAG);
+		chunks[row / chunkRows][index % (chunkRows * cols)] = brick;
+		gameObjects.addGameObject(brick, layer);
+		brickObjectCount++;
+		return brick;
+	}
+
+	/**
+	 * Returns the brick of a non-empty cell, creating its chunk if it is not within reach yet.
+	 *
+	 * @param index Index of a non-empty cell.
+	 * @return The cell's brick.
+	 */
+	private Brick brickAt(int index) {
+		int chunk = index / (chunkRows * cols);
+		if (chunks[chunk] == null) {
+			materializeChunk(chunk);
+		}
+		return chunks[chunk][index % (chunkRows * cols)];
+	}
+
+	/**
+	 * @param chunk Index of a chunk.
+	 * @return Number of cells in the chunk; the last chunk may hold fewer rows.
+	 */
+	private int chunkSize(int chunk) {
+		return (Math.min(rows, (chunk + 1) * chunkRows) - chunk * chunkRows) * cols;
+	}
+
+	/**
+	 * Creates the bricks of every chunk that is not created yet, as when bricks are added eagerly.
+	 */
+	public void materializeAll() {
+		for (int chunk = 0; chunk < chunks.length; chunk++) {
+			if (chunks[chunk] == null) {
+				materializeChunk(chunk);
+			}
+		}
+	}
+
+	/**
+	 * @return Size in bytes of the wall's state, as written by {@link #writeCells}.
+	 */
+	public int cellsSize() {
+		return cellsSize(hitPoints);
+	}
+
+	/**
+	 * Writes the state of the wall: a bitset of the cells holding a brick, then the strategy
+	 * code and hit points of each of these cells, in cell order.
+	 *
+	 * @param out Buffer to write to.
+	 */
+	public void writeCells(ByteBuffer out) {
+		writeCells(out, strategyCodes, hitPoints);
+	}
+
+	/**
+	 * Copies the strategy code and hit points of every cell.
+	 *
+	 * @param codes     Array receiving the strategy codes, one per cell.
+	 * @param hitPoints Array receiving the hit points, one per cell.
+	 */
+	public void copyCells(byte[] codes, byte[] hitPoints) {
+		System.arraycopy(strategyCodes, 0, codes, 0, strategyCodes.length);
+		System.arraycopy(this.hitPoints, 0, hitPoints, 0, this.hitPoints.length);
+	}
+
+	/**
+	 * Computes the size of a wall's state, as written by {@link #writeCells(ByteBuffer, byte[], byte[])}.
+	 *
+	 * @param hitPoints Hit points of every cell.
+	 * @return Size of the wall's state, in bytes.
+	 */
+	public static int cellsSize(byte[] hitPoints) {
+		int bricks = 0;
+		for (byte points : hitPoints) {
+			if (points != 0) bricks++;
+		}
+		return bitsetWords(hitPoints.length) * Long.BYTES + 2 * bricks;
+	}
+
+	/**
+	 * Writes a wall's state in the format of {@link #writeCells(ByteBuffer)}.
+	 *
+	 * @param out       Buffer to write to.
+	 * @param codes     Strategy code of every cell.
+	 * @param hitPoints Hit points of every cell.
+	 */
+	public static void writeCells(ByteBuffer out, byte[] codes, byte[] hitPoints) {
+		int words = bitsetWords(hitPoints.length);
+		for (int word = 0; word < words; word++) {
+			long bits = 0;
+			int end = Math.min(hitPoints.length, (word + 1) * Long.SIZE);
+			for (int index = word * Long.SIZE; index < end; index++) {
+				if (hitPoints[index] != 0) {
+					bits |= 1L << index;
+				}
+			}
+			out.putLong(bits);
+		}
+		for (int index = 0; index < hitPoints.length; index++) {
+			if (hitPoints[index] != 0) {
+				out.put(codes[index]);
+				out.put(hitPoints[index]);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the wall with a state written by {@link #writeCells}. In the chunks whose bricks
+	 * are created, the bricks of cells left empty are removed and bricks are created for the
+	 * cells filled again, while the bricks of unchanged cells are kept. The bricks counter is
+	 * set to the number of bricks read, the recorded cell changes are forgotten,
+	 * and the cached wall image is redrawn.
+	 *
+	 * @param in Buffer to read from.
+	 */
+	public void readCells(ByteBuffer in) {
+		Arrays.fill(hitPoints, (byte) 0);
+		changedCount = 0;
+		int words = bitsetWords(hitPoints.length);
+		int position = in.position();
+		in.position(position + words * Long.BYTES);
+		int bricks = 0;
+		for (int word = 0; word < words; word++) {
+			long bits = in.getLong(position + word * Long.BYTES);
+			while (bits != 0) {
+				int index = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+				strategyCodes[index] = in.get();
+				hitPoints[index] = in.get();
+				bits &= bits - 1;
+				bricks++;
+			}
+		}
+		bricksCounter.reset();
+		bricksCounter.increaseBy(bricks);
+		for (int chunk = materialized.nextSetBit(0); chunk >= 0; chunk = materialized.nextSetBit(chunk + 1)) {
+			reconcileChunk(chunk);
+		}
+		if (wallRenderable != null) {
+			wallRenderable.invalidateAll();
+		}
+	}
+
+	/**
+	 * Matches the bricks of a created chunk to its cells' data, removing the bricks of empty
+	 * cells and creating those of non-empty cells that have none.
+	 *
+	 * @param chunk Index of the chunk.
+	 */
+	private void reconcileChunk(int chunk) {
+		Brick[] bricks = chunks[chunk];
+		int first = chunk * chunkRows * cols;
+		for (int i = 0; i < bricks.length; i++) {
+			boolean filled = hitPoints[first + i] != 0;
+			if (bricks[i] != null && !filled) {
+				gameObjects.removeGameObject(bricks[i], layer);
+				bricks[i] = null;
+				brickObjectCount--;
+			} else if (bricks[i] == null && filled) {
+				createBrick(first + i, brickRenderable);
+			}
+		}
+	}
+
+	/**
+	 * @param cells Number of cells of a wall.
+	 * @return Number of 64-bit words in the bitset of the cells holding a brick.
+	 */
+	private static int bitsetWords(int cells) {
+		return (cells + Long.SIZE - 1) / Long.SIZE;
+	}
+
+	/**
+	 * Takes a hit point off a hit brick, and runs its collision strategy once none is left.
+	 *
+	 * @param brick The brick that was hit.
+	 * @param other The object that hit it.
+	 */
+	public void hitBrick(Brick brick, GameObject other) {
+		int cell = brick.getCell();
+		byte strategyCode = strategyCodes[cell];
+		hitCount++;
+		if ((hitPoints[cell] & 0xFF) > 1) {
+			hitPoints[cell]--;
+			cellChanged(cell);
+			return;
+		}
+		hitsByCode[strategyCode & 0xFF]++;
+		strategyTable.strategyFor(strategyCode).onCollision(brick, other);
+	}
+
+	/**
+	 * @param cell Index of a cell.
+	 * @return true if the cell holds a brick, whether or not its game object is created.
+	 */
+	public boolean hasBrick(int cell) {
+		return hitPoints[cell] != 0;
+	}
+
+	/**
+	 * @param cell Index of a cell.
+	 * @return Hit points left to the cell's brick, 0 if the cell is empty.
+	 */
+	public int getHitPoints(int cell) {
+		return hitPoints[cell] & 0xFF;
+	}
+
+	/**
+	 * Starts recording the cells whose hit points change, as read by {@link #getChangedCell}.
+	 */
+	public void trackChanges() {
+		trackingChanges = true;
+	}
+
+	/**
+	 * Records a cell whose hit points changed, if changes are tracked.
+	 *
+	 * @param cell Index of the cell.
+	 */
+	private void cellChanged(int cell) {
+		if (!trackingChanges) return;
+		if (changedCount == changedCells.length) {
+			changedCells = Arrays.copyOf(changedCells, 2 * changedCells.length);
+		}
+		changedCells[changedCount++] = cell;
+	}
+
+	/**
+	 * @return Number of cell changes recorded since they were last cleared.
+	 */
+	public int getChangedCellCount() {
+		return changedCount;
+	}
+
+	/**
+	 * @param i Index of a recorded change, in the order the changes happened.
+	 * @return Index of the cell that changed; a cell changed twice is recorded twice.
+	 */
+	public int getChangedCell(int i) {
+		return changedCells[i];
+	}
+
+	/**
+	 * Forgets the recorded cell changes.
+	 */
+	public void clearChangedCells() {
+		changedCount = 0;
+	}
+
+	/**
+	 * Returns the strategy code stored for a cell.
+	 *
+	 * @param row Row of the cell.
+	 * @param col Column of the cell.
+	 * @return The cell's strategy code.
+	 */
+	public byte getStrategyCode(int row, int col) {
+		return strategyCodes[row * cols + col];
+	}
+
+	/**
+	 * Removes a brick from the grid at once, and queues its removal from the game and
+	 * the bricks counter's decrement. Removing a brick that is no longer in the grid
+	 * does nothing, so a brick hit twice in a frame is neither hit nor counted again.
+	 *
+	 * @param brick The brick to remove.
+	 * @return true if the brick was removed by this call.
+	 */
+	public boolean removeBrick(GameObject brick) {
+		int index = indexOf(brick);
+		if (index < 0) return false;
+		chunks[index / (chunkRows * cols)][index % (chunkRows * cols)] = null;
+		hitPoints[index] = 0;
+		cellChanged(index);
+		brickObjectCount--;
+		if (wallRenderable != null) {
+			wallRenderable.invalidateCell(index);
+		}
+		if (commands.remove(brick, layer)) {
+			commands.decrement(bricksCounter);
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the cell holding a brick.
+	 *
+	 * @param brick The brick to look up.
+	 * @return The cell index, or -1 if the brick is not in the grid.
+	 */
+	private int indexOf(GameObject brick) {
+		if (!(brick instanceof Brick)) return -1;
+		int index = ((Brick) brick).getCell();
+		if (index >= hitPoints.length || hitPoints[index] == 0) return -1;
+		Brick[] chunk = chunks[index / (chunkRows * cols)];
+		return chunk != null && chunk[index % (chunkRows * cols)] == brick ? index : -1;
+	}
+
+	/**
+	 * Tests every bouncing object among the given objects against the bricks it overlaps.
+	 * A hit brick runs its collision strategy, and the object bounces off the first brick it hit.
+	 *
+	 * @param layers Objects to test, typically the default and puck layers.
+	 */
+	@SafeVarargs
+	public final void dispatchCollisions(Iterable<GameObject>... layers) {
+		// Copy first, since strategies may add objects to the layers being iterated
+		movers.clear();
+		for (Iterable<GameObject> objects : layers) {
+			for (GameObject object : objects) {
+				if (object instanceof Bounceable) {
+					movers.add(object);
+				}
+			}
+		}
+		for (int i = 0; i < movers.size(); i++) {
+			dispatchCollisions(movers.get(i));
+		}
+		movers.clear();
+	}
+
+	/**
+	 * Tests a single moving object against the cells covered by its bounding box.
+	 *
+	 * @param mover The moving object.
+	 */
+	private void dispatchCollisions(GameObject mover) {
+		Vector2 topLeft = mover.getTopLeftCorner();
+		Vector2 size = mover.getDimensions();
+		float left = topLeft.x();
+		float top = topLeft.y();
+		float right = left + size.x();
+		float bottom = top + size.y();
+
+		int firstCol = Math.max(0, (int) Math.floor((left - originX) / cellWidth));
+		int lastCol = Math.min(cols - 1, (int) Math.floor((right - originX) / cellWidth));
+		int firstRow = Math.max(0, (int) Math.floor((top - originY) / cellHeight));
+		int lastRow = Math.min(rows - 1, (int) Math.floor((bottom - originY) / cellHeight));
+
+		boolean bounced = false;
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int col = firstCol; col <= lastCol; col++) {
+				int index = row * cols + col;
+				if (hitPoints[index] == 0) continue;
+				float brickLeft = originX + col * cellWidth;
+				float brickTop = originY + row * cellHeight;
+				float overlapX = Math.min(right - brickLeft, brickLeft + brickWidth - left);
+				float overlapY = Math.min(bottom - brickTop, brickTop + brickHeight - top);
+				if (overlapX <= 0 || overlapY <= 0) continue;
+
+				if (!bounced && isMovingInto(mover, overlapX < overlapY,
+						left + right < 2 * brickLeft + brickWidth,
+						top + bottom < 2 * brickTop + brickHeight)) {
+					((Bounceable) mover).bounce(overlapX < overlapY ? Vector2.RIGHT : Vector2.DOWN);
+					bounced = true;
+				}
+				brickAt(index).hit(mover);
+			}
+		}
+	}
+
+	/**
+	 * Finds when a moving box first touches a brick during a step.
+	 * Only the cells covered by the box's whole path are tested.
+	 *
+	 * @param left   Left edge of the moving box.
+	 * @param top    Top edge of the moving box.
+	 * @param width  Width of the moving box.
+	 * @param height Height of the moving box.
+	 * @param dx     Horizontal motion of the box during the step.
+	 * @param dy     Vertical motion of the box during the step.
+	 * @return Fraction of the step at which the earliest brick is touched,
+	 * or {@link SweptCollisions#NO_HIT}.
+	 */
+	public float timeOfImpact(float left, float top, float width, float height, float dx, float dy) {
+		float pathLeft = Math.min(left, left + dx);
+		float pathTop = Math.min(top, top + dy);
+		float pathRight = Math.max(left, left + dx) + width;
+		float pathBottom = Math.max(top, top + dy) + height;
+		int firstCol = Math.max(0, (int) Math.floor((pathLeft - originX) / cellWidth));
+		int lastCol = Math.min(cols - 1, (int) Math.floor((pathRight - originX) / cellWidth));
+		int firstRow = Math.max(0, (int) Math.floor((pathTop - originY) / cellHeight));
+		int lastRow = Math.min(rows - 1, (int) Math.floor((pathBottom - originY) / cellHeight));
+
+		float earliest = SweptCollisions.NO_HIT;
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int col = firstCol; col <= lastCol; col++) {
+				if (hitPoints[row * cols + col] == 0) continue;
+				earliest = Math.min(earliest, SweptCollisions.timeOfImpact(
+						left, top, width, height, dx, dy,
+						originX + col * cellWidth, originY + row * cellHeight,
+						brickWidth, brickHeight));
+			}
+		}
+		return earliest;
+	}
+
+	/**
+	 * Checks whether an object is moving into a brick along the axis of least overlap,
+	 * so an object that already bounced away is not flipped back into the wall.
+	 *
+	 * @param mover         The moving object.
+	 * @param horizontal    true if the brick is hit on its left or right side.
+	 * @param leftOfBrick   true if the object's center is left of the brick's center.
+	 * @param aboveBrick    true if the object's center is above the brick's center.
+	 * @return true if the object should bounce.
+	 */
+	private static boolean isMovingInto(GameObject mover, boolean horizontal,
+										boolean leftOfBrick, boolean aboveBrick) {
+		Vector2 velocity = mover.getVelocity();
+		if (horizontal) {
+			return leftOfBrick ? velocity.x() > 0 : velocity.x() < 0;
+		}
+		return aboveBrick ? velocity.y() > 0 : velocity.y() < 0;
+	}
+
+	/**
+	 * @return Number of brick rows.
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return Number of brick columns.
+	 */
+	public int getCols() {
+		return cols;
+	}
+
+	/**
+	 * @return Size of a single brick.
+	 */
+	public Vector2 getBrickSize() {
+		return brickSize;
+	}
+
+	/**
+	 * @return Number of brick game objects currently created, which is less than the number
+	 * of bricks left when chunks out of reach are released.
+	 */
+	public int getBrickObjectCount() {
+		return brickObjectCount;
+	}
+
+	/**
+	 * @return Number of brick hits so far, including hits that only took a hit point.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @param strategyCode A strategy code.
+	 * @return Number of times bricks with the given strategy code broke and ran it so far.
+	 */
+	public long getHitCount(byte strategyCode) {
+		return hitsByCode[strategyCode & 0xFF];
+	}
+}
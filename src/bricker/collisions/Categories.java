@@ -0,0 +1,98 @@
+package bricker.collisions;
+
+import danogl.GameObject;
+
+/**
+ * Collision categories of the game objects, one bit per object type, and the masks of
+ * categories every type collides with. Filtering a collision is a single bitwise AND of
+ * one object's mask with the other's category. The masks are symmetric, and also decide
+ * which layers the engine tests against each other at all.
+ */
+public final class Categories {
+	/** Category of objects that never collide, such as the background and the UI. */
+	public static final int NONE = 0;
+
+	/** Category of the main ball. */
+	public static final int MAIN_BALL = 1;
+
+	/** Category of the pucks. */
+	public static final int PUCK = 1 << 1;
+
+	/** Category of the player's paddle. */
+	public static final int MAIN_PADDLE = 1 << 2;
+
+	/** Category of the paddle added by the paddle duplicator strategy. */
+	public static final int PADDLE_DUPLICATE = 1 << 3;
+
+	/** Category of the falling hearts. */
+	public static final int FALLING_HEART = 1 << 4;
+
+	/** Category of the bricks. */
+	public static final int BRICK = 1 << 5;
+
+	/** Category of the boundary walls. */
+	public static final int BOUNDARY = 1 << 6;
+
+	/** All the bouncing objects. */
+	public static final int BALLS = MAIN_BALL | PUCK;
+
+	/** All the paddles. */
+	public static final int PADDLES = MAIN_PADDLE | PADDLE_DUPLICATE;
+
+	/** Categories the main ball collides with. Its brick hits are dispatched by the brick grid. */
+	public static final int MAIN_BALL_MASK = PUCK | PADDLES | BOUNDARY;
+
+	/** Categories a puck collides with; pucks never collide with each other. */
+	public static final int PUCK_MASK = MAIN_BALL | PADDLES | BOUNDARY;
+
+	/** Categories the player's paddle collides with. */
+	public static final int MAIN_PADDLE_MASK = BALLS | FALLING_HEART;
+
+	/** Categories the duplicate paddle collides with. */
+	public static final int PADDLE_DUPLICATE_MASK = BALLS;
+
+	/** Categories a falling heart collides with; only the player's paddle collects it. */
+	public static final int FALLING_HEART_MASK = MAIN_PADDLE;
+
+	/** Categories a brick collides with through the engine; the brick grid dispatches its hits instead. */
+	public static final int BRICK_MASK = NONE;
+
+	/** Categories a boundary wall collides with. */
+	public static final int BOUNDARY_MASK = BALLS;
+
+	/**
+	 * Not instantiable.
+	 */
+	private Categories() {
+	}
+
+	/**
+	 * @param object A game object.
+	 * @return The object's category, or {@link #NONE} if it carries none.
+	 */
+	public static int of(GameObject object) {
+		return object instanceof Categorized ? ((Categorized) object).getCategory() : NONE;
+	}
+
+	/**
+	 * @param self  An object deciding whether to collide.
+	 * @param other The other object.
+	 * @return true if the other object's category is in the first object's mask.
+	 */
+	public static boolean collides(Categorized self, GameObject other) {
+		return (self.getCollisionMask() & of(other)) != 0;
+	}
+
+	/**
+	 * Decides whether two groups of objects, such as two layers, may ever collide.
+	 *
+	 * @param categories      Categories of the first group's objects.
+	 * @param masks           Union of the first group's masks.
+	 * @param otherCategories Categories of the second group's objects.
+	 * @param otherMasks      Union of the second group's masks.
+	 * @return true if some object of each group collides with some object of the other.
+	 */
+	public static boolean mayCollide(int categories, int masks, int otherCategories, int otherMasks) {
+		return (masks & otherCategories) != 0 && (otherMasks & categories) != 0;
+	}
+}
@@ -0,0 +1,19 @@
+package bricker.collisions;
+
+/**
+ * A game object carrying a collision category and the categories it collides with.
+ * Collision filters compare these bits instead of the objects' tags.
+ *
+ * @see Categories
+ */
+public interface Categorized {
+	/**
+	 * @return The object's category, a single bit of {@link Categories}.
+	 */
+	int getCategory();
+
+	/**
+	 * @return The categories the object collides with.
+	 */
+	int getCollisionMask();
+}
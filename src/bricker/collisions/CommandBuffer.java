@@ -0,0 +1,128 @@
+package bricker.collisions;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.util.Counter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * A frame-scoped queue of the changes collision strategies make to the game.
+ * Strategies enqueue object spawns, object removals and counter decrements while
+ * collisions are being resolved, and the game applies them all at once by calling
+ * {@link #flush()} after collision resolution, so the object collection is never changed
+ * while it is iterated. Removals of an object that is already queued for removal are
+ * merged, so a brick hit by several objects in one frame is removed once.
+ * On flush, removals are applied first, then counter decrements, then spawns.
+ */
+public class CommandBuffer {
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final GameObjectCollection gameObjects;
+
+	// === Queued commands, reused between frames ===
+	private final ArrayList<GameObject> spawns = new ArrayList<>();
+	private int[] spawnLayers = new int[INITIAL_CAPACITY];
+	private final ArrayList<GameObject> removals = new ArrayList<>();
+	private int[] removalLayers = new int[INITIAL_CAPACITY];
+	private final Set<GameObject> pendingRemovals = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final ArrayList<Counter> decrements = new ArrayList<>();
+
+	private long mergedRemovals = 0;
+
+	/**
+	 * Constructs an empty command buffer.
+	 *
+	 * @param gameObjects The collection the commands are applied to.
+	 */
+	public CommandBuffer(GameObjectCollection gameObjects) {
+		this.gameObjects = gameObjects;
+	}
+
+	/**
+	 * Queues adding an object to the game.
+	 *
+	 * @param object The added object.
+	 * @param layer  The layer to add it to.
+	 */
+	public void spawn(GameObject object, int layer) {
+		if (spawns.size() == spawnLayers.length) {
+			spawnLayers = Arrays.copyOf(spawnLayers, spawnLayers.length * 2);
+		}
+		spawnLayers[spawns.size()] = layer;
+		spawns.add(object);
+	}
+
+	/**
+	 * Queues removing an object from the game.
+	 *
+	 * @param object The removed object.
+	 * @param layer  The layer to remove it from.
+	 * @return false if the object was already queued for removal, in which case nothing is queued.
+	 */
+	public boolean remove(GameObject object, int layer) {
+		if (!pendingRemovals.add(object)) {
+			mergedRemovals++;
+			return false;
+		}
+		if (removals.size() == removalLayers.length) {
+			removalLayers = Arrays.copyOf(removalLayers, removalLayers.length * 2);
+		}
+		removalLayers[removals.size()] = layer;
+		removals.add(object);
+		return true;
+	}
+
+	/**
+	 * Queues decrementing a counter.
+	 *
+	 * @param counter The decremented counter.
+	 */
+	public void decrement(Counter counter) {
+		decrements.add(counter);
+	}
+
+	/**
+	 * Applies every queued command, then empties the queue.
+	 */
+	public void flush() {
+		for (int i = 0; i < removals.size(); i++) {
+			gameObjects.removeGameObject(removals.get(i), removalLayers[i]);
+		}
+		for (int i = 0; i < decrements.size(); i++) {
+			decrements.get(i).decrement();
+		}
+		for (int i = 0; i < spawns.size(); i++) {
+			gameObjects.addGameObject(spawns.get(i), spawnLayers[i]);
+		}
+		removals.clear();
+		pendingRemovals.clear();
+		decrements.clear();
+		spawns.clear();
+	}
+
+	/**
+	 * @return Number of commands waiting for the next flush.
+	 */
+	public int pendingCount() {
+		return spawns.size() + removals.size() + decrements.size();
+	}
+
+	/**
+	 * @return Number of duplicate removals merged so far.
+	 */
+	public long getMergedRemovals() {
+		return mergedRemovals;
+	}
+
+	/**
+	 * @return The collection the commands are applied to.
+	 */
+	public GameObjectCollection getGameObjects() {
+		return gameObjects;
+	}
+}
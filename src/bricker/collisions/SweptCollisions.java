@@ -0,0 +1,167 @@
+package bricker.collisions;
+
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+
+/**
+ * Continuous collision detection for balls and pucks.
+ * Before the engine moves the objects of a step, every bouncing object's box is swept along
+ * its motion against the bricks, the paddles and the boundaries, and the earliest time of
+ * impact is found. An object that would reach an obstacle during the step is stopped just
+ * inside it, so the discrete collision paths (the engine's and the brick grid's) see a
+ * shallow overlap at the end of the step and bounce it off the right side, no matter how
+ * far the object would have moved. The rest of such a step's motion is dropped.
+ */
+public class SweptCollisions {
+	/** Time of impact returned when a swept box hits nothing during the step. */
+	public static final float NO_HIT = Float.POSITIVE_INFINITY;
+
+	private final BrickGrid brickGrid;
+	private long clampedMoves = 0;
+
+	/** Scratch lists of the current step's moving objects and obstacles. */
+	private final ArrayList<GameObject> movers = new ArrayList<>();
+	private final ArrayList<GameObject> obstacles = new ArrayList<>();
+
+	/**
+	 * Constructs continuous collision detection for a game.
+	 *
+	 * @param brickGrid Grid holding the bricks to sweep against.
+	 */
+	public SweptCollisions(BrickGrid brickGrid) {
+		this.brickGrid = brickGrid;
+	}
+
+	/**
+	 * Sweeps every bouncing object along the motion of the coming step,
+	 * and stops those that would hit an obstacle at the obstacle.
+	 * Must be called before the engine moves the objects.
+	 *
+	 * @param staticObjects Objects of the static layer, holding the boundaries.
+	 * @param deltaTime     Duration of the coming step.
+	 * @param dynamicLayers Objects of the default and puck layers, holding the movers and paddles.
+	 */
+	@SafeVarargs
+	public final void sweep(Iterable<GameObject> staticObjects, float deltaTime,
+							Iterable<GameObject>... dynamicLayers) {
+		for (Iterable<GameObject> dynamicObjects : dynamicLayers) {
+			for (GameObject object : dynamicObjects) {
+				int category = Categories.of(object);
+				if ((category & Categories.BALLS) != 0) {
+					movers.add(object);
+				} else if ((category & Categories.PADDLES) != 0) {
+					obstacles.add(object);
+				}
+			}
+		}
+		for (GameObject object : staticObjects) {
+			if ((Categories.of(object) & Categories.BOUNDARY) != 0) {
+				obstacles.add(object);
+			}
+		}
+		for (int i = 0; i < movers.size(); i++) {
+			sweep(movers.get(i), deltaTime);
+		}
+		movers.clear();
+		obstacles.clear();
+	}
+
+	/**
+	 * Sweeps a single object, and stops it just inside its earliest obstacle.
+	 *
+	 * @param mover     The moving object.
+	 * @param deltaTime Duration of the coming step.
+	 */
+	private void sweep(GameObject mover, float deltaTime) {
+		Vector2 velocity = mover.getVelocity();
+		float dx = velocity.x() * deltaTime;
+		float dy = velocity.y() * deltaTime;
+		if (dx == 0 && dy == 0) return;
+		Vector2 topLeft = mover.getTopLeftCorner();
+		Vector2 size = mover.getDimensions();
+
+		float impact = brickGrid.timeOfImpact(topLeft.x(), topLeft.y(), size.x(), size.y(), dx, dy);
+		for (int i = 0; i < obstacles.size(); i++) {
+			GameObject obstacle = obstacles.get(i);
+			Vector2 obstacleVelocity = obstacle.getVelocity();
+			Vector2 obstacleTopLeft = obstacle.getTopLeftCorner();
+			Vector2 obstacleSize = obstacle.getDimensions();
+			// Sweep in the obstacle's frame, since paddles move too
+			impact = Math.min(impact, timeOfImpact(topLeft.x(), topLeft.y(), size.x(), size.y(),
+					dx - obstacleVelocity.x() * deltaTime, dy - obstacleVelocity.y() * deltaTime,
+					obstacleTopLeft.x(), obstacleTopLeft.y(), obstacleSize.x(), obstacleSize.y()));
+		}
+		if (impact >= 1) return;
+
+		float stop = impact + Constants.CONTACT_DEPTH / (float) Math.hypot(dx, dy);
+		if (stop >= 1) return;
+		// The engine then moves the object by a whole step, ending it at the stop point
+		mover.setTopLeftCorner(new Vector2(
+				topLeft.x() + dx * (stop - 1),
+				topLeft.y() + dy * (stop - 1)));
+		clampedMoves++;
+	}
+
+	/**
+	 * Computes when a moving box first touches a static box during a step.
+	 * Boxes that already overlap, or that never meet during the step, have no time of impact.
+	 *
+	 * @param left        Left edge of the moving box.
+	 * @param top         Top edge of the moving box.
+	 * @param width       Width of the moving box.
+	 * @param height      Height of the moving box.
+	 * @param dx          Horizontal motion of the moving box during the step.
+	 * @param dy          Vertical motion of the moving box during the step.
+	 * @param otherLeft   Left edge of the static box.
+	 * @param otherTop    Top edge of the static box.
+	 * @param otherWidth  Width of the static box.
+	 * @param otherHeight Height of the static box.
+	 * @return Fraction of the step at which the boxes touch, in [0, 1), or {@link #NO_HIT}.
+	 */
+	public static float timeOfImpact(float left, float top, float width, float height,
+									 float dx, float dy, float otherLeft, float otherTop,
+									 float otherWidth, float otherHeight) {
+		float entryX;
+		float exitX;
+		if (dx > 0) {
+			entryX = (otherLeft - (left + width)) / dx;
+			exitX = (otherLeft + otherWidth - left) / dx;
+		} else if (dx < 0) {
+			entryX = (otherLeft + otherWidth - left) / dx;
+			exitX = (otherLeft - (left + width)) / dx;
+		} else {
+			if (left + width <= otherLeft || left >= otherLeft + otherWidth) return NO_HIT;
+			entryX = Float.NEGATIVE_INFINITY;
+			exitX = Float.POSITIVE_INFINITY;
+		}
+
+		float entryY;
+		float exitY;
+		if (dy > 0) {
+			entryY = (otherTop - (top + height)) / dy;
+			exitY = (otherTop + otherHeight - top) / dy;
+		} else if (dy < 0) {
+			entryY = (otherTop + otherHeight - top) / dy;
+			exitY = (otherTop - (top + height)) / dy;
+		} else {
+			if (top + height <= otherTop || top >= otherTop + otherHeight) return NO_HIT;
+			entryY = Float.NEGATIVE_INFINITY;
+			exitY = Float.POSITIVE_INFINITY;
+		}
+
+		float entry = Math.max(entryX, entryY);
+		float exit = Math.min(exitX, exitY);
+		if (entry >= exit || entry < 0 || entry >= 1) return NO_HIT;
+		return entry;
+	}
+
+	/**
+	 * @return Number of moves stopped at an obstacle so far.
+	 */
+	public long getClampedMoves() {
+		return clampedMoves;
+	}
+}
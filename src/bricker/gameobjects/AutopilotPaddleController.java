@@ -0,0 +1,131 @@
+package bricker.gameobjects;
+
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+
+/**
+ * A scripted player that moves the paddle to intercept the lowest threatening ball or puck.
+ * The course of the tracked object is extrapolated to the paddle's top, bouncing off the side
+ * walls, and the paddle heads for that point.
+ * <p>A falling ball always comes first, since losing it costs a life. While the ball rises,
+ * the paddle goes for the lowest falling puck it can reach before the ball could be back,
+ * and otherwise follows the ball. Lets headless runs and benchmarks play whole games without
+ * a player or a recorded input log.</p>
+ */
+public class AutopilotPaddleController implements PaddleController {
+	/** Fraction of the paddle's width around its center in which the paddle stays still. */
+	private static final float DEAD_ZONE_FRACTION = 0.25f;
+	private static final float MOVEMENT_SPEED = Constants.MOVEMENT_SPEED;
+	private static final float LEFT_WALL = Constants.BORDER_WIDTH;
+
+	private final GameObjectCollection gameObjects;
+	private final float rightWall;
+
+	/**
+	 * Constructs an autopilot for a game.
+	 *
+	 * @param gameObjects The game's objects, whose balls and pucks are read on every update.
+	 * @param fieldWidth  Width of the playing field, whose side walls the objects bounce off.
+	 */
+	public AutopilotPaddleController(GameObjectCollection gameObjects, float fieldWidth) {
+		this.gameObjects = gameObjects;
+		this.rightWall = fieldWidth - Constants.BORDER_WIDTH;
+	}
+
+	/**
+	 * @param paddle The steered paddle.
+	 * @return The direction towards the tracked object's interception point, or 0 if the
+	 * paddle is already under it or nothing is tracked.
+	 */
+	@Override
+	public int steer(Paddle paddle) {
+		float paddleTop = paddle.getTopLeftCorner().y();
+		float paddleX = paddle.getCenter().x();
+		float paddleHalfWidth = paddle.getDimensions().x() / 2;
+
+		GameObject ball = null;
+		for (GameObject object : gameObjects.objectsInLayer(Layer.DEFAULT)) {
+			if (object instanceof Ball && isAbove(object, paddleTop) && isGreaterThreat(object, ball)) {
+				ball = object;
+			}
+		}
+		float targetX = Float.NaN;
+		if (ball != null && ball.getVelocity().y() > 0) {
+			targetX = interceptX(ball, paddleTop);
+		} else {
+			// The soonest a rising ball could be back, had it just bounced
+			float deadline = ball == null ? Float.POSITIVE_INFINITY
+					: (paddleTop - ball.getCenter().y()) / -ball.getVelocity().y();
+			float puckY = Float.NEGATIVE_INFINITY;
+			for (GameObject puck : gameObjects.objectsInLayer(Constants.PUCK_LAYER)) {
+				if (!(puck instanceof Puck) || !isAbove(puck, paddleTop)
+						|| puck.getVelocity().y() <= 0 || puck.getCenter().y() <= puckY) continue;
+				float arrival = (paddleTop - bottomOf(puck)) / puck.getVelocity().y();
+				float x = interceptX(puck, paddleTop);
+				if (arrival < deadline && Math.abs(x - paddleX) <= paddleHalfWidth + MOVEMENT_SPEED * arrival) {
+					targetX = x;
+					puckY = puck.getCenter().y();
+				}
+			}
+			if (Float.isNaN(targetX) && ball != null) {
+				targetX = ball.getCenter().x();
+			}
+		}
+		if (Float.isNaN(targetX)) return 0;
+
+		float offset = targetX - paddleX;
+		float deadZone = paddle.getDimensions().x() * DEAD_ZONE_FRACTION;
+		return offset < -deadZone ? -1 : offset > deadZone ? 1 : 0;
+	}
+
+	/**
+	 * @param ball    A ball.
+	 * @param tracked The ball tracked so far, or null.
+	 * @return true if the ball is a greater threat than the tracked one: it falls while the
+	 * tracked one rises, or it is lower and both move the same way.
+	 */
+	private static boolean isGreaterThreat(GameObject ball, GameObject tracked) {
+		if (tracked == null) return true;
+		boolean falling = ball.getVelocity().y() > 0;
+		boolean trackedFalling = tracked.getVelocity().y() > 0;
+		return falling != trackedFalling ? falling : ball.getCenter().y() > tracked.getCenter().y();
+	}
+
+	/**
+	 * @param object    A ball or puck.
+	 * @param paddleTop Top of the steered paddle.
+	 * @return true if the object's center is above the paddle, so it may still be intercepted.
+	 */
+	private static boolean isAbove(GameObject object, float paddleTop) {
+		return object.getCenter().y() <= paddleTop;
+	}
+
+	/**
+	 * @param object A ball or puck.
+	 * @return Bottom of the object.
+	 */
+	private static float bottomOf(GameObject object) {
+		return object.getTopLeftCorner().y() + object.getDimensions().y();
+	}
+
+	/**
+	 * Extrapolates a falling object's course to the paddle's top.
+	 *
+	 * @param object    A falling ball or puck.
+	 * @param paddleTop Top of the steered paddle.
+	 * @return The object's center when it reaches the paddle, bouncing off the side walls.
+	 */
+	private float interceptX(GameObject object, float paddleTop) {
+		float x = object.getCenter().x()
+				+ object.getVelocity().x() * (paddleTop - bottomOf(object)) / object.getVelocity().y();
+		float halfWidth = object.getDimensions().x() / 2;
+		float min = LEFT_WALL + halfWidth;
+		float span = rightWall - halfWidth - min;
+		if (span <= 0) return min;
+		float folded = (x - min) % (2 * span);
+		if (folded < 0) folded += 2 * span;
+		return min + (folded > span ? 2 * span - folded : folded);
+	}
+}
@@ -1,8 +1,10 @@
 package bricker.gameobjects;
 
+import bricker.audio.SoundEffect;
+import bricker.collisions.Categories;
+import bricker.collisions.Categorized;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.gui.Sound;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
@@ -10,9 +12,10 @@ import danogl.util.Vector2;
  * A ball object that bounces off other objects and plays a sound on collision.
  * Keeps track of the number of collisions it experienced.
  */
-public class Ball extends GameObject {
-	private Sound collisionSound;
+public class Ball extends GameObject implements Bounceable, Categorized {
+	private SoundEffect collisionSound;
 	private int collisionCounter = 0;
+	private boolean bouncedOffPaddle = false;  // during the current step
 
 	/**
 	 * Constructs a new Ball instance with the specified parameters.
@@ -20,10 +23,10 @@ public class Ball extends GameObject {
 	 * @param topLeftCorner  Top-left position of the ball.
 	 * @param dimensions     Size of the ball.
 	 * @param renderable     Visual representation.
-	 * @param collisionSound Sound to play on collision.
+	 * @param collisionSound Sound to play on collision (null for a silent ball).
 	 */
 	public Ball(Vector2 topLeftCorner, Vector2 dimensions,
-				Renderable renderable, Sound collisionSound) {
+				Renderable renderable, SoundEffect collisionSound) {
 		super(topLeftCorner, dimensions, renderable);
 		this.collisionSound = collisionSound;
 	}
@@ -33,6 +36,8 @@ public class Ball extends GameObject {
 	 * Flips the ball's direction based on the collision,
 	 * increases the number of collisions by one,
 	 * and plays a sound effect.
+	 * The ball bounces off paddles once per step: paddles side by side, such as the paddle
+	 * and its duplicate, would otherwise flip it twice and let it through.
 	 *
 	 * @param other The GameObject with which a collision occurred.
 	 * @param collision Information regarding this collision.
@@ -40,13 +45,66 @@ public class Ball extends GameObject {
 	@Override
 	public void onCollisionEnter(GameObject other, Collision collision) {
 		super.onCollisionEnter(other, collision);
+		if ((Categories.of(other) & Categories.PADDLES) != 0) {
+			if (bouncedOffPaddle) return;
+			bouncedOffPaddle = true;
+		}
+		bounce(collision.getNormal());
+	}
 
+	/**
+	 * Moves the ball, and starts a new step of paddle bounces.
+	 *
+	 * @param deltaTime Time since the last frame.
+	 */
+	@Override
+	public void update(float deltaTime) {
+		super.update(deltaTime);
+		bouncedOffPaddle = false;
+	}
+
+	/**
+	 * Flips the ball's direction along the given normal,
+	 * increases the number of collisions by one,
+	 * and plays a sound effect.
+	 *
+	 * @param normal Normal of the surface that was hit.
+	 */
+	@Override
+	public void bounce(Vector2 normal) {
 		// Reverse direction based on collision normal
-		Vector2 newVal = getVelocity().flipped(collision.getNormal());
+		Vector2 newVal = getVelocity().flipped(normal);
 		setVelocity(newVal);
 
 		collisionCounter++;
-		collisionSound.play();
+		if (collisionSound != null) {
+			collisionSound.play();
+		}
+	}
+
+	/**
+	 * @param other The other object.
+	 * @return true if the other object is a puck, a paddle or a boundary.
+	 */
+	@Override
+	public boolean shouldCollideWith(GameObject other) {
+		return Categories.collides(this, other);
+	}
+
+	/**
+	 * @return {@link Categories#MAIN_BALL}.
+	 */
+	@Override
+	public int getCategory() {
+		return Categories.MAIN_BALL;
+	}
+
+	/**
+	 * @return {@link Categories#MAIN_BALL_MASK}.
+	 */
+	@Override
+	public int getCollisionMask() {
+		return Categories.MAIN_BALL_MASK;
 	}
 
 	/**
@@ -57,4 +115,13 @@ public class Ball extends GameObject {
 	public int getCollisionCounter() {
 		return collisionCounter;
 	}
+
+	/**
+	 * Sets the number of collisions this ball has experienced, as when a saved game is restored.
+	 *
+	 * @param collisionCounter Collision count.
+	 */
+	public void setCollisionCounter(int collisionCounter) {
+		this.collisionCounter = collisionCounter;
+	}
 }
\ No newline at end of file
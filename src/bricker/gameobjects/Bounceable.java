@@ -0,0 +1,17 @@
+package bricker.gameobjects;
+
+import danogl.util.Vector2;
+
+/**
+ * A moving object that bounces off whatever it hits.
+ * Lets collision code outside the engine (such as the brick grid) bounce balls and pucks
+ * exactly like the engine's own collision callbacks do.
+ */
+public interface Bounceable {
+	/**
+	 * Bounces the object off a surface.
+	 *
+	 * @param normal Normal of the surface that was hit.
+	 */
+	void bounce(Vector2 normal);
+}
@@ -0,0 +1,46 @@
+package bricker.gameobjects;
+
+import bricker.collisions.Categories;
+import bricker.collisions.Categorized;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * An invisible wall at the edge of the playing area, which balls and pucks bounce off.
+ */
+public class Boundary extends GameObject implements Categorized {
+	/**
+	 * Constructs a boundary wall.
+	 *
+	 * @param topLeftCorner Top-left position of the wall.
+	 * @param dimensions    Size of the wall.
+	 */
+	public Boundary(Vector2 topLeftCorner, Vector2 dimensions) {
+		super(topLeftCorner, dimensions, null);
+	}
+
+	/**
+	 * @param other The other object.
+	 * @return true if the other object is a ball or a puck.
+	 */
+	@Override
+	public boolean shouldCollideWith(GameObject other) {
+		return Categories.collides(this, other);
+	}
+
+	/**
+	 * @return {@link Categories#BOUNDARY}.
+	 */
+	@Override
+	public int getCategory() {
+		return Categories.BOUNDARY;
+	}
+
+	/**
+	 * @return {@link Categories#BOUNDARY_MASK}.
+	 */
+	@Override
+	public int getCollisionMask() {
+		return Categories.BOUNDARY_MASK;
+	}
+}
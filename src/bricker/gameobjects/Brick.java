@@ -1,6 +1,8 @@
 package bricker.gameobjects;
 
-import bricker.brick_strategies.CollisionStrategy;
+import bricker.collisions.BrickGrid;
+import bricker.collisions.Categories;
+import bricker.collisions.Categorized;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
@@ -8,33 +10,71 @@ import danogl.util.Vector2;
 
 /**
  * A brick object that executes a collision strategy upon impact.
+ * The brick does not hold its strategy; it only knows its cell in the brick grid,
+ * which stores a compact strategy code per cell and resolves it when the brick is hit.
  */
-public class Brick extends GameObject {
-	private CollisionStrategy collisionStrategy;
+public class Brick extends GameObject implements Categorized {
+	private final BrickGrid brickGrid;
+	private final int cell;
 
 	/**
 	 * Construct a new Brick instance.
 	 *
-	 * @param topLeftCorner      Top-left position of the brick.
-	 * @param dimensions         Size of the brick.
-	 * @param renderable         Visual representation.
-	 * @param collisionStrategy  Strategy to execute on collision.
+	 * @param topLeftCorner Top-left position of the brick.
+	 * @param dimensions    Size of the brick.
+	 * @param renderable    Visual representation.
+	 * @param brickGrid     Grid holding the brick and its strategy code.
+	 * @param cell          Index of the brick's cell in the grid.
 	 */
 	public Brick(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-				 CollisionStrategy collisionStrategy) {
+				 BrickGrid brickGrid, int cell) {
 		super(topLeftCorner, dimensions, renderable);
-		this.collisionStrategy = collisionStrategy;
+		this.brickGrid = brickGrid;
+		this.cell = cell;
 	}
 
 	/**
 	 * Called when the brick collides with another object.
-	 * Delegates the collision handling to the assigned collision strategy.
+	 * Delegates the collision handling to the brick's collision strategy.
 	 *
 	 * @param other The GameObject with which a collision occurred.
 	 * @param collision Information regarding this collision.
 	 */
 	@Override
 	public void onCollisionEnter(GameObject other, Collision collision) {
-		collisionStrategy.onCollision(this, other);
+		hit(other);
+	}
+
+	/**
+	 * Called when the brick is hit by another object, either through the engine
+	 * or through the brick grid. Runs the strategy stored for the brick's cell.
+	 *
+	 * @param other The GameObject that hit the brick.
+	 */
+	public void hit(GameObject other) {
+		brickGrid.hitBrick(this, other);
+	}
+
+	/**
+	 * @return {@link Categories#BRICK}.
+	 */
+	@Override
+	public int getCategory() {
+		return Categories.BRICK;
+	}
+
+	/**
+	 * @return {@link Categories#BRICK_MASK}; the brick grid dispatches brick hits instead of the engine.
+	 */
+	@Override
+	public int getCollisionMask() {
+		return Categories.BRICK_MASK;
+	}
+
+	/**
+	 * @return Index of the brick's cell in the grid.
+	 */
+	public int getCell() {
+		return cell;
 	}
 }
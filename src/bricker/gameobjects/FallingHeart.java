@@ -1,5 +1,7 @@
 package bricker.gameobjects;
 
+import bricker.collisions.Categories;
+import bricker.collisions.Categorized;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.collisions.GameObjectCollection;
@@ -12,10 +14,15 @@ import bricker.main.Constants;
  * A visual heart that falls from a destroyed brick.
  * If collected by the main paddle, it restores one life (if below maximum).
  * Otherwise, it is removed when it leaves the screen bottom.
+ * A pooled heart returns to its pool when it leaves the game, to be reused by later spawns.
  */
-public class FallingHeart extends GameObject {
+public class FallingHeart extends GameObject implements Categorized {
+    /** Constant falling velocity, moved along by the engine. */
+    private static final Vector2 FALL_VELOCITY = new Vector2(0, Constants.FALLING_HEART_SPEED);
+
     private final GameObjectCollection gameObjects;
     private final HeartsPanel heartsPanel;
+    private final GameObjectPool<FallingHeart> pool;
 
     /**
      * Constructs a FallingHeart object of the same size as panel hearts.
@@ -24,17 +31,21 @@ public class FallingHeart extends GameObject {
      * @param renderable    Image representing the heart.
      * @param gameObjects   Collection for adding/removing game objects.
      * @param heartsPanel   The hearts UI panel to update upon pickup.
+     * @param pool          Pool the heart returns to when it leaves the game (null if not pooled).
      */
     public FallingHeart(Vector2 topLeftCorner,
                         Renderable renderable,
                         GameObjectCollection gameObjects,
-                        HeartsPanel heartsPanel) {
+                        HeartsPanel heartsPanel,
+                        GameObjectPool<FallingHeart> pool) {
         super(topLeftCorner,
                 new Vector2(Constants.objectWidth, Constants.objectHeight),
                 renderable);
         this.gameObjects = gameObjects;
         this.heartsPanel = heartsPanel;
+        this.pool = pool;
         setTag(Constants.FALLING_HEART_TAG);
+        setVelocity(FALL_VELOCITY);
     }
 
     /**
@@ -44,7 +55,23 @@ public class FallingHeart extends GameObject {
      */
     @Override
     public boolean shouldCollideWith(GameObject other) {
-        return Constants.MAIN_PADDLE_TAG.equals(other.getTag());
+        return Categories.collides(this, other);
+    }
+
+    /**
+     * @return {@link Categories#FALLING_HEART}.
+     */
+    @Override
+    public int getCategory() {
+        return Categories.FALLING_HEART;
+    }
+
+    /**
+     * @return {@link Categories#FALLING_HEART_MASK}.
+     */
+    @Override
+    public int getCollisionMask() {
+        return Categories.FALLING_HEART_MASK;
     }
 
     /**
@@ -56,27 +83,32 @@ public class FallingHeart extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         if (heartsPanel.getLifeNum() < Constants.MAX_LIFE_NUM) {
-            heartsPanel.addHeart(gameObjects);
+            heartsPanel.addHeart();
         }
-        gameObjects.removeGameObject(this);
+        despawn();
     }
 
     /**
-     * Moves the heart down each frame and removes it if it exits the bottom.
+     * Lets the engine move the heart down each frame and removes it if it exits the bottom.
      *
      * @param deltaTime Time since the last frame.
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
-
-        // Descend at constant speed
-        setTopLeftCorner(getTopLeftCorner().add(
-                new Vector2(0, Constants.FALLING_HEART_SPEED * deltaTime)));
+        super.update(deltaTime);  // descends at FALL_VELOCITY
 
         // Remove when off-screen
         if (getTopLeftCorner().y() > Constants.windowDimensions.y()) {
-            gameObjects.removeGameObject(this);
+            despawn();
+        }
+    }
+
+    /**
+     * Removes the heart from the game and returns it to its pool.
+     */
+    public void despawn() {
+        if (gameObjects.removeGameObject(this) && pool != null) {
+            pool.release(this);
         }
     }
 }
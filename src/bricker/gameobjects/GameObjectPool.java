@@ -0,0 +1,109 @@
+package bricker.gameobjects;
+
+import danogl.GameObject;
+
+import java.util.ArrayDeque;
+import java.util.function.Function;
+
+/**
+ * A bounded pool of reusable game objects.
+ * Objects leaving the game are released back into the pool instead of being dropped,
+ * and later spawns reuse them, so spawning and despawning allocate nothing in steady state.
+ * At most {@code capacity} idle objects are kept; any extra released object is left to the GC.
+ *
+ * @param <T> Type of the pooled objects.
+ */
+public class GameObjectPool<T extends GameObject> {
+	private final int capacity;
+	private final Function<GameObjectPool<T>, T> factory;
+	private final ArrayDeque<T> idle;
+
+	private long acquired = 0;
+	private long hits = 0;
+	private long dropped = 0;
+
+	/**
+	 * Constructs an empty pool.
+	 *
+	 * @param capacity Maximal number of idle objects kept by the pool.
+	 * @param factory  Creates a new object owned by the given pool, when no idle object is left.
+	 */
+	public GameObjectPool(int capacity, Function<GameObjectPool<T>, T> factory) {
+		this.capacity = capacity;
+		this.factory = factory;
+		this.idle = new ArrayDeque<>(capacity);
+	}
+
+	/**
+	 * Returns an idle object, or creates a new one if the pool is empty.
+	 * The caller is responsible for resetting its position and velocity.
+	 *
+	 * @return An object that is not part of the game.
+	 */
+	public T acquire() {
+		acquired++;
+		T object = idle.pollFirst();
+		if (object != null) {
+			hits++;
+			return object;
+		}
+		return factory.apply(this);
+	}
+
+	/**
+	 * Returns an object that left the game to the pool.
+	 *
+	 * @param object The released object.
+	 */
+	public void release(T object) {
+		if (idle.size() < capacity) {
+			idle.addFirst(object);
+		} else {
+			dropped++;
+		}
+	}
+
+	/**
+	 * Empties the pool.
+	 */
+	public void clear() {
+		idle.clear();
+	}
+
+	/**
+	 * @return Number of idle objects currently held.
+	 */
+	public int size() {
+		return idle.size();
+	}
+
+	/**
+	 * @return Maximal number of idle objects kept by the pool.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return Fraction of acquisitions served by an idle object.
+	 */
+	public double getHitRate() {
+		return acquired == 0 ? 0 : (double) hits / acquired;
+	}
+
+	/**
+	 * @return Number of released objects dropped because the pool was full.
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * @return A one-line summary of the pool statistics.
+	 */
+	@Override
+	public String toString() {
+		return String.format("idle=%d/%d acquired=%d hitRate=%.3f dropped=%d",
+				idle.size(), capacity, acquired, getHitRate(), dropped);
+	}
+}
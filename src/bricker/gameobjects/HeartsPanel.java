@@ -3,25 +3,33 @@ package bricker.gameobjects;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
+import danogl.components.CoordinateSpace;
 import danogl.gui.rendering.Renderable;
 import danogl.gui.rendering.TextRenderable;
 import danogl.util.Vector2;
+import bricker.main.AssetSource;
 import bricker.main.Constants;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * A UI component that displays remaining lives using heart icons and a number.
+ * All {@link Constants#MAX_LIFE_NUM} heart icons are created once; a life change only shows
+ * or hides the one icon that changed, and the number's text and color are set only when
+ * they actually change, so adding or removing a life creates no objects.
+ * The panel is placed in camera coordinates, so it stays in the window's corner when the
+ * view follows the ball.
  */
 public class HeartsPanel extends GameObject {
     private static final float HEART_ASPECT_RATIO = 1f;
     private static final float HEART_SCALE = 0.8f;
 
-    private final ArrayList<GameObject> heartObjects = new ArrayList<>();
+    private final GameObject[] heartObjects = new GameObject[Constants.MAX_LIFE_NUM];
+    private final String[] lifeTexts = new String[Constants.MAX_LIFE_NUM + 1];
     private final GameObject textObject;
     private final TextRenderable textRenderable;
+    private Color textColor;
+    private int lifeNum;
 
     private final Vector2 objectSize = new Vector2(Constants.objectWidth, Constants.objectHeight);
     private final Vector2 textPos = new Vector2(
@@ -36,56 +44,63 @@ public class HeartsPanel extends GameObject {
     /**
      * Constructs the heart panel with initial number of lives.
      *
-     * @param imageReader  Used to load the heart image.
+     * @param assets       Used to load the heart image.
      * @param initialLives Initial number of lives.
      * @param game         Game object collection to add the panel into.
      */
-    public HeartsPanel(ImageReader imageReader, int initialLives, GameObjectCollection game) {
+    public HeartsPanel(AssetSource assets, int initialLives, GameObjectCollection game) {
         super(Constants.panelTopLeft, Constants.panelSize, null);
-        this.heartImage = imageReader.readImage(Constants.HEART_IMAGE_PATH, true);
+        this.heartImage = assets.readImage(Constants.HEART_IMAGE_PATH, true);
+        this.lifeNum = Math.max(0, Math.min(initialLives, Constants.MAX_LIFE_NUM));
 
+        setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
         game.addGameObject(this, Layer.UI);
 
         // Set up the numeric text
-        textRenderable = new TextRenderable(Integer.toString(initialLives));
+        for (int i = 0; i < lifeTexts.length; i++) {
+            lifeTexts[i] = Integer.toString(i);
+        }
+        textRenderable = new TextRenderable(lifeTexts[lifeNum]);
         updateTextColor();
         textObject = new GameObject(
                 textPos,
                 new Vector2(objectSize.x() * 0.7f, objectSize.y() * 0.7f),
                 textRenderable);
+        textObject.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
         game.addGameObject(textObject, Layer.UI);
 
-        createHearts(initialLives, game);
+        createHearts(game);
     }
 
     /**
-     * Creates and updates the heart icons based on the current number of lives.
-     * Removes all existing heart icons and creates the given number of new ones.
+     * Creates every heart icon the panel can show, showing those of the current lives.
      *
-     * @param numberOfHeartsToCreate The number of heart icons to display.
-     * @param game Game object collection to update.
+     * @param game Game object collection to add the icons into.
      */
-    private void createHearts(int numberOfHeartsToCreate, GameObjectCollection game) {
+    private void createHearts(GameObjectCollection game) {
         float yCenter = Constants.panelTopLeft.y() + Constants.panelSize.y() / 2f;
         float heartTop = yCenter - heartHeight / 2f;
+        Vector2 heartSize = new Vector2(heartWidth, heartHeight);
 
-        // Remove old hearts
-        for (GameObject heartObject : heartObjects) {
-            game.removeGameObject(heartObject, Layer.UI);
-        }
-        heartObjects.clear();
-
-        // Create new hearts
-        for (int i = 0; i < numberOfHeartsToCreate; i++) {
+        for (int i = 0; i < heartObjects.length; i++) {
             float xPos = textPos.x() + heartWidth + i * (heartWidth + Constants.PADDING);
             Vector2 heartPos = new Vector2(xPos, heartTop);
-            Vector2 heartSize = new Vector2(heartWidth, heartHeight);
-            GameObject heart = new GameObject(heartPos, heartSize, heartImage);
-            heartObjects.add(heart);
-            game.addGameObject(heart, Layer.UI);
+            heartObjects[i] = new GameObject(heartPos, heartSize, i < lifeNum ? heartImage : null);
+            heartObjects[i].setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+            game.addGameObject(heartObjects[i], Layer.UI);
         }
+    }
 
-        textRenderable.setString(Integer.toString(numberOfHeartsToCreate));
+    /**
+     * Sets the number of lives, showing or hiding the single heart icon that changed.
+     *
+     * @param newLifeNum The new number of lives, one more or one less than the current.
+     */
+    private void setLifeNum(int newLifeNum) {
+        int changed = Math.min(lifeNum, newLifeNum);
+        heartObjects[changed].renderer().setRenderable(newLifeNum > lifeNum ? heartImage : null);
+        lifeNum = newLifeNum;
+        textRenderable.setString(lifeTexts[lifeNum]);
         updateTextColor();
     }
 
@@ -95,37 +110,54 @@ public class HeartsPanel extends GameObject {
      * Green = 3+, Yellow = 2, Red = 1.
      */
     private void updateTextColor() {
-        if (heartObjects.size() >= 3)
-            textRenderable.setColor(Color.GREEN);
-        else if (heartObjects.size() == 2)
-            textRenderable.setColor(Color.YELLOW);
+        Color color;
+        if (lifeNum >= 3)
+            color = Color.GREEN;
+        else if (lifeNum == 2)
+            color = Color.YELLOW;
         else
-            textRenderable.setColor(Color.RED);
+            color = Color.RED;
+        if (color != textColor) {
+            textRenderable.setColor(color);
+            textColor = color;
+        }
     }
 
     /**
      * @return Current number of lives.
      */
     public int getLifeNum() {
-        return heartObjects.size();
+        return lifeNum;
     }
 
     /**
      * Adds one life (if not exceeding max).
-     *
-     * @param game The game's object collection, used to add the new heart to the UI layer.
      */
-    public void addHeart(GameObjectCollection game) {
-        if (heartObjects.size() >= Constants.MAX_LIFE_NUM) return;
-        createHearts(heartObjects.size() + 1, game);
+    public void addHeart() {
+        if (lifeNum >= Constants.MAX_LIFE_NUM) return;
+        setLifeNum(lifeNum + 1);
     }
 
     /**
-     * Removes one life.
+     * Removes one life (if any is left).
+     */
+    public void removeHeart() {
+        if (lifeNum == 0) return;
+        setLifeNum(lifeNum - 1);
+    }
+
+    /**
+     * Sets the number of lives at once, as when a saved game is restored.
      *
-     * @param game The game's object collection, used to remove the heart from the UI layer.
+     * @param lives The new number of lives, between 0 and the maximum.
      */
-    public void removeHeart(GameObjectCollection game) {
-        createHearts(heartObjects.size() - 1, game);
+    public void restoreLifeNum(int lives) {
+        int target = Math.max(0, Math.min(lives, Constants.MAX_LIFE_NUM));
+        while (lifeNum < target) {
+            setLifeNum(lifeNum + 1);
+        }
+        while (lifeNum > target) {
+            setLifeNum(lifeNum - 1);
+        }
     }
 }
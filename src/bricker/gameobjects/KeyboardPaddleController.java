@@ -0,0 +1,35 @@
+package bricker.gameobjects;
+
+import bricker.main.InputSource;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Steers a paddle with the left and right arrow keys.
+ */
+public class KeyboardPaddleController implements PaddleController {
+	private final InputSource inputListener;
+
+	/**
+	 * Constructs a keyboard controller.
+	 *
+	 * @param inputListener Source of the player's keyboard state.
+	 */
+	public KeyboardPaddleController(InputSource inputListener) {
+		this.inputListener = inputListener;
+	}
+
+	/**
+	 * @param paddle The steered paddle.
+	 * @return -1 while only the left arrow is pressed, 1 while only the right one is, 0 otherwise.
+	 */
+	@Override
+	public int steer(Paddle paddle) {
+		int direction = 0;
+		if (inputListener.isKeyPressed(KeyEvent.VK_LEFT))
+			direction--;
+		if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT))
+			direction++;
+		return direction;
+	}
+}
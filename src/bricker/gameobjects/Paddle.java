@@ -1,21 +1,26 @@
 package bricker.gameobjects;
 
+import bricker.collisions.Categories;
+import bricker.collisions.Categorized;
 import danogl.GameObject;
-import danogl.gui.UserInputListener;
+import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 import bricker.main.Constants;
 
-import java.awt.event.KeyEvent;
-
 /**
- * A player-controlled paddle that moves horizontally based on user input.
+ * A paddle that moves horizontally, steered by a {@link PaddleController}:
+ * the player's keyboard, or a scripted player.
  */
-public class Paddle extends GameObject {
+public class Paddle extends GameObject implements Categorized {
 	private static final float MOVEMENT_SPEED = Constants.MOVEMENT_SPEED;
-	private static final float WINDOW_WIDTH = Constants.windowDimensions.x();
+	// Velocities for every input, shared so a frame's update allocates nothing
+	private static final Vector2 LEFT_VELOCITY = Vector2.LEFT.mult(MOVEMENT_SPEED);
+	private static final Vector2 RIGHT_VELOCITY = Vector2.RIGHT.mult(MOVEMENT_SPEED);
 
-	private UserInputListener inputListener;
+	private final float fieldWidth;
+	private PaddleController controller;
+	private int returns = 0;
 
 	/**
 	 * Constructs a Paddle instance.
@@ -23,33 +28,85 @@ public class Paddle extends GameObject {
 	 * @param topLeftCorner Top-left position.
 	 * @param dimensions    Paddle size.
 	 * @param renderable    Paddle appearance.
-	 * @param inputListener User input source.
+	 * @param controller    Steers the paddle.
+	 * @param fieldWidth    Width of the playing field, which the paddle stays within.
 	 */
 	public Paddle(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-				  UserInputListener inputListener) {
+				  PaddleController controller, float fieldWidth) {
 		super(topLeftCorner, dimensions, renderable);
-		this.inputListener = inputListener;
+		this.controller = controller;
+		this.fieldWidth = fieldWidth;
+	}
+
+	/**
+	 * @param controller Steers the paddle from its next update on.
+	 */
+	public void setController(PaddleController controller) {
+		this.controller = controller;
+	}
+
+	/**
+	 * @param other The other object.
+	 * @return true if the other object is a ball, a puck or a falling heart.
+	 */
+	@Override
+	public boolean shouldCollideWith(GameObject other) {
+		return Categories.collides(this, other);
 	}
 
 	/**
-	 * Updates the paddle's velocity based on user input.
-	 * Responds to left/right arrow key presses and ensures the paddle stays within screen bounds.
+	 * Counts the main ball bouncing off the paddle.
+	 *
+	 * @param other     The other object.
+	 * @param collision Information regarding this collision.
+	 */
+	@Override
+	public void onCollisionEnter(GameObject other, Collision collision) {
+		super.onCollisionEnter(other, collision);
+		if ((Categories.of(other) & Categories.MAIN_BALL) != 0) {
+			returns++;
+		}
+	}
+
+	/**
+	 * @return Number of times the main ball bounced off the paddle, a player's score in a versus game.
+	 */
+	public int getReturns() {
+		return returns;
+	}
+
+	/**
+	 * @return {@link Categories#MAIN_PADDLE}.
+	 */
+	@Override
+	public int getCategory() {
+		return Categories.MAIN_PADDLE;
+	}
+
+	/**
+	 * @return {@link Categories#MAIN_PADDLE_MASK}.
+	 */
+	@Override
+	public int getCollisionMask() {
+		return Categories.MAIN_PADDLE_MASK;
+	}
+
+	/**
+	 * Updates the paddle's velocity in the direction chosen by its controller,
+	 * and ensures the paddle stays within the playing field.
 	 *
 	 * @param deltaTime Time passed since last frame (to the super implementation).
 	 */
 	@Override
 	public void update(float deltaTime) {
 		super.update(deltaTime);
-		Vector2 movementDir = new Vector2(0, 0);
+		int movementDir = controller.steer(this);
 		float paddleLeft = getTopLeftCorner().x();
 		float paddleRight = paddleLeft + getDimensions().x();
 
-		if (inputListener.isKeyPressed(KeyEvent.VK_LEFT) && paddleLeft > 0)
-			movementDir = movementDir.add(Vector2.LEFT);
-
-		if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT) && paddleRight < WINDOW_WIDTH)
-			movementDir = movementDir.add(Vector2.RIGHT);
+		if (movementDir < 0 && paddleLeft <= 0 || movementDir > 0 && paddleRight >= fieldWidth)
+			movementDir = 0;
 
-		setVelocity(movementDir.mult(MOVEMENT_SPEED));
+		setVelocity(movementDir < 0 ? LEFT_VELOCITY : movementDir > 0 ? RIGHT_VELOCITY : Vector2.ZERO);
 	}
 }
@@ -0,0 +1,16 @@
+package bricker.gameobjects;
+
+/**
+ * Decides where a paddle moves on every update.
+ * Lets the same paddle be steered by the player's keyboard or by a scripted player.
+ */
+@FunctionalInterface
+public interface PaddleController {
+	/**
+	 * Chooses the paddle's direction for the current update.
+	 *
+	 * @param paddle The steered paddle.
+	 * @return Negative to move left, positive to move right, 0 to stay still.
+	 */
+	int steer(Paddle paddle);
+}
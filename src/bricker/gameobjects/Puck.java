@@ -1,19 +1,23 @@
 package bricker.gameobjects;
 
+import bricker.audio.SoundEffect;
+import bricker.collisions.Categories;
+import bricker.collisions.Categorized;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.collisions.GameObjectCollection;
-import danogl.gui.Sound;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 import bricker.main.Constants;
 
 /**
  * A puck behaves like a ball but does not cost a life when falling.
+ * A pooled puck returns to its pool when it leaves the game, to be reused by later spawns.
  */
-public class Puck extends GameObject {
-	private final Sound collisionSound;
+public class Puck extends GameObject implements Bounceable, Categorized {
+	private final SoundEffect collisionSound;
 	private final GameObjectCollection gameObjects;
+	private final GameObjectPool<Puck> pool;
 
 	/**
 	 * Constructs a new puck instance.
@@ -21,15 +25,17 @@ public class Puck extends GameObject {
 	 * @param topLeftCorner   Position of the puck.
 	 * @param dimensions      Size of the puck.
 	 * @param renderable      Appearance.
-	 * @param collisionSound  Sound to play on hit.
+	 * @param collisionSound  Sound to play on hit (null for a silent puck).
 	 * @param gameObjects     Reference to game object collection.
+	 * @param pool            Pool the puck returns to when it leaves the game (null if not pooled).
 	 */
 	public Puck(Vector2 topLeftCorner, Vector2 dimensions,
-				Renderable renderable, Sound collisionSound,
-				GameObjectCollection gameObjects) {
+				Renderable renderable, SoundEffect collisionSound,
+				GameObjectCollection gameObjects, GameObjectPool<Puck> pool) {
 		super(topLeftCorner, dimensions, renderable);
 		this.collisionSound = collisionSound;
 		this.gameObjects = gameObjects;
+		this.pool = pool;
 	}
 
 	/**
@@ -42,8 +48,45 @@ public class Puck extends GameObject {
 	@Override
 	public void onCollisionEnter(GameObject other, Collision collision) {
 		super.onCollisionEnter(other, collision);
-		setVelocity(getVelocity().flipped(collision.getNormal()));
-		collisionSound.play();
+		bounce(collision.getNormal());
+	}
+
+	/**
+	 * Reverses the puck's direction along the given normal and plays a collision sound.
+	 *
+	 * @param normal Normal of the surface that was hit.
+	 */
+	@Override
+	public void bounce(Vector2 normal) {
+		setVelocity(getVelocity().flipped(normal));
+		if (collisionSound != null) {
+			collisionSound.play();
+		}
+	}
+
+	/**
+	 * @param other The other object.
+	 * @return true if the other object is the main ball, a paddle or a boundary; never another puck.
+	 */
+	@Override
+	public boolean shouldCollideWith(GameObject other) {
+		return Categories.collides(this, other);
+	}
+
+	/**
+	 * @return {@link Categories#PUCK}.
+	 */
+	@Override
+	public int getCategory() {
+		return Categories.PUCK;
+	}
+
+	/**
+	 * @return {@link Categories#PUCK_MASK}.
+	 */
+	@Override
+	public int getCollisionMask() {
+		return Categories.PUCK_MASK;
 	}
 
 	/**
@@ -55,9 +98,19 @@ public class Puck extends GameObject {
 	public void update(float deltaTime) {
 		super.update(deltaTime);
 
-		// Remove puck from game when it falls below window
-		if (getCenter().y() > Constants.WINDOW_HEIGHT) {
-			gameObjects.removeGameObject(this);
+		// Remove puck from game when its center falls below window,
+		// computed from the corner since getCenter() allocates
+		if (getTopLeftCorner().y() + getDimensions().y() / 2 > Constants.WINDOW_HEIGHT) {
+			despawn();
+		}
+	}
+
+	/**
+	 * Removes the puck from the game and returns it to its pool.
+	 */
+	public void despawn() {
+		if (gameObjects.removeGameObject(this, Constants.PUCK_LAYER) && pool != null) {
+			pool.release(this);
 		}
 	}
 }
@@ -0,0 +1,148 @@
+package bricker.level;
+
+import bricker.brick_strategies.StrategyCodes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts a human-readable level layout to a binary {@link LevelFile}.
+ * A layout has a line per brick row, and cells separated by whitespace. Blank lines and
+ * lines starting with '#' are ignored, and every row must have the same number of cells.
+ * A cell is either "." for an empty cell, or strategy letters followed by optional hit points:
+ * <ul>
+ *     <li>B - basic strategy,</li>
+ *     <li>E - extra balls, P - paddle duplicator, T - turbo mode, L - life restoration,</li>
+ *     <li>two or three of E, P, T and L - a double strategy of them.</li>
+ * </ul>
+ * For example, "B" is a basic brick, "T3" a turbo brick taking 3 hits and "EL" a double strategy
+ * brick spawning pucks and a heart.
+ */
+public class LevelConverter {
+	private static final String EMPTY_CELL = ".";
+	private static final char COMMENT = '#';
+	private static final char BASIC = 'B';
+	/** Letters of the special strategies, by sub-strategy index. */
+	private static final String SPECIAL_LETTERS = "EPTL";
+	private static final int MAX_HIT_POINTS = 255;
+
+	private LevelConverter() {
+	}
+
+	/**
+	 * Converts a text layout file to a binary level file.
+	 *
+	 * @param textPath  Path of the text layout.
+	 * @param levelPath Path of the written level file.
+	 * @throws IllegalArgumentException If the layout is malformed.
+	 */
+	public static void convert(Path textPath, Path levelPath) {
+		List<String[]> rows = new ArrayList<>();
+		List<Integer> lineNumbers = new ArrayList<>();
+		try {
+			List<String> lines = Files.readAllLines(textPath);
+			for (int i = 0; i < lines.size(); i++) {
+				String line = lines.get(i).trim();
+				if (line.isEmpty() || line.charAt(0) == COMMENT) continue;
+				rows.add(line.split("\\s+"));
+				lineNumbers.add(i + 1);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (rows.isEmpty()) {
+			throw new IllegalArgumentException(textPath + " has no brick rows");
+		}
+
+		int cols = rows.get(0).length;
+		byte[] codes = new byte[rows.size() * cols];
+		byte[] hitPoints = new byte[rows.size() * cols];
+		for (int row = 0; row < rows.size(); row++) {
+			String[] cells = rows.get(row);
+			if (cells.length != cols) {
+				throw new IllegalArgumentException("Line " + lineNumbers.get(row) + ": expected "
+						+ cols + " cells, found " + cells.length);
+			}
+			for (int col = 0; col < cols; col++) {
+				parseCell(cells[col], row * cols + col, codes, hitPoints, lineNumbers.get(row));
+			}
+		}
+		LevelFile.write(levelPath, rows.size(), cols, codes, hitPoints);
+	}
+
+	/**
+	 * Parses a single cell.
+	 *
+	 * @param cell       The cell's text.
+	 * @param index      Index of the cell, row by row.
+	 * @param codes      Strategy codes of the level, filled at the index.
+	 * @param hitPoints  Hit points of the level, filled at the index.
+	 * @param lineNumber Line of the cell, for error messages.
+	 */
+	private static void parseCell(String cell, int index, byte[] codes, byte[] hitPoints,
+								  int lineNumber) {
+		if (cell.equals(EMPTY_CELL)) return;  // 0 hit points
+
+		int lettersEnd = 0;
+		while (lettersEnd < cell.length() && Character.isLetter(cell.charAt(lettersEnd))) {
+			lettersEnd++;
+		}
+		String letters = cell.substring(0, lettersEnd).toUpperCase();
+		int points = 1;
+		if (lettersEnd < cell.length()) {
+			try {
+				points = Integer.parseInt(cell.substring(lettersEnd));
+			} catch (NumberFormatException e) {
+				throw badCell(cell, lineNumber);
+			}
+		}
+		if (points < 1 || points > MAX_HIT_POINTS) throw badCell(cell, lineNumber);
+
+		int[] subs = new int[letters.length()];
+		for (int i = 0; i < letters.length(); i++) {
+			subs[i] = SPECIAL_LETTERS.indexOf(letters.charAt(i));
+		}
+		if (letters.length() == 1 && letters.charAt(0) == BASIC) {
+			codes[index] = StrategyCodes.BASIC;
+		} else if (letters.length() == 1 && subs[0] >= 0) {
+			codes[index] = StrategyCodes.single(subs[0]);
+		} else if (letters.length() == 2 && subs[0] >= 0 && subs[1] >= 0) {
+			codes[index] = StrategyCodes.ofDouble(subs[0], subs[1]);
+		} else if (letters.length() == 3 && subs[0] >= 0 && subs[1] >= 0 && subs[2] >= 0) {
+			codes[index] = StrategyCodes.ofTriple(subs[0], subs[1], subs[2]);
+		} else {
+			throw badCell(cell, lineNumber);
+		}
+		hitPoints[index] = (byte) points;
+	}
+
+	/**
+	 * @param cell       The malformed cell's text.
+	 * @param lineNumber Line of the cell.
+	 * @return An exception describing the malformed cell.
+	 */
+	private static IllegalArgumentException badCell(String cell, int lineNumber) {
+		return new IllegalArgumentException("Line " + lineNumber + ": bad cell \"" + cell + "\"");
+	}
+
+	/**
+	 * Entry point. Converts a text layout to a level file.
+	 *
+	 * @param args Path of the text layout, and path of the written level file.
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("usage: LevelConverter <layout.txt> <level.blvl>");
+			return;
+		}
+		long start = System.nanoTime();
+		convert(Path.of(args[0]), Path.of(args[1]));
+		LevelFile level = LevelFile.open(Path.of(args[1]));
+		System.out.printf("wrote %dx%d level in %.1fms%n", level.getCols(), level.getRows(),
+				(System.nanoTime() - start) / 1e6);
+	}
+}
@@ -0,0 +1,180 @@
+package bricker.main;
+
+import danogl.gui.Sound;
+import danogl.gui.rendering.Renderable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An asset source that decodes every asset of the game once and then hands out shared handles.
+ * All the image and sound paths in {@link Constants} are loaded by {@link #preload()},
+ * so collision frames only perform a map lookup instead of file and decode work.
+ * Assets that were not preloaded are loaded on first request and cached as well.
+ * The registry also keeps simple metrics: time spent loading, and cache hits and misses.
+ */
+public class AssetRegistry implements AssetSource {
+	/** Images loaded with their top-left pixel as the transparent color. */
+	private static final String[] TRANSPARENT_IMAGE_PATHS = {
+			Constants.PADDLE_IMAGE_PATH,
+			Constants.BALL_IMAGE_PATH,
+			Constants.RED_BALL_IMAGE_PATH,
+			Constants.PUCK_IMAGE_PATH,
+			Constants.HEART_IMAGE_PATH
+	};
+
+	/** Images loaded as they are. */
+	private static final String[] OPAQUE_IMAGE_PATHS = {
+			Constants.BRICK_IMAGE_PATH,
+			Constants.BACKGROUND_IMAGE_PATH
+	};
+
+	/** Sounds used by the game. */
+	private static final String[] SOUND_PATHS = {
+			Constants.COLLISION_SOUND_PATH
+	};
+
+	private final AssetSource loader;
+	private final Map<String, Renderable> transparentImages = new HashMap<>();
+	private final Map<String, Renderable> opaqueImages = new HashMap<>();
+	private final Map<String, Sound> sounds = new HashMap<>();
+
+	private long loadNanos = 0;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructs an empty registry.
+	 *
+	 * @param loader The source actually decoding the assets.
+	 */
+	public AssetRegistry(AssetSource loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * Decodes all the images and sounds used by the game.
+	 * Assets that are already cached are not loaded again.
+	 */
+	public void preload() {
+		for (String path : TRANSPARENT_IMAGE_PATHS) {
+			if (!transparentImages.containsKey(path)) {
+				transparentImages.put(path, loadImage(path, true));
+			}
+		}
+		for (String path : OPAQUE_IMAGE_PATHS) {
+			if (!opaqueImages.containsKey(path)) {
+				opaqueImages.put(path, loadImage(path, false));
+			}
+		}
+		for (String path : SOUND_PATHS) {
+			if (!sounds.containsKey(path)) {
+				sounds.put(path, loadSound(path));
+			}
+		}
+	}
+
+	/**
+	 * Returns the shared image stored in the given path, loading it on first use.
+	 *
+	 * @param path                         Path of the image file.
+	 * @param useTopLeftPixelAsTransparent Whether the top-left pixel color is transparent.
+	 * @return The shared image.
+	 */
+	@Override
+	public Renderable readImage(String path, boolean useTopLeftPixelAsTransparent) {
+		Map<String, Renderable> images = useTopLeftPixelAsTransparent ? transparentImages : opaqueImages;
+		Renderable image = images.get(path);
+		if (image != null || images.containsKey(path)) {
+			hits++;
+			return image;
+		}
+		misses++;
+		image = loadImage(path, useTopLeftPixelAsTransparent);
+		images.put(path, image);
+		return image;
+	}
+
+	/**
+	 * Returns the shared sound stored in the given path, loading it on first use.
+	 *
+	 * @param path Path of the sound file.
+	 * @return The shared sound.
+	 */
+	@Override
+	public Sound readSound(String path) {
+		Sound sound = sounds.get(path);
+		if (sound != null || sounds.containsKey(path)) {
+			hits++;
+			return sound;
+		}
+		misses++;
+		sound = loadSound(path);
+		sounds.put(path, sound);
+		return sound;
+	}
+
+	/**
+	 * Decodes a single image and records the time it took.
+	 *
+	 * @param path                         Path of the image file.
+	 * @param useTopLeftPixelAsTransparent Whether the top-left pixel color is transparent.
+	 * @return The decoded image.
+	 */
+	private Renderable loadImage(String path, boolean useTopLeftPixelAsTransparent) {
+		long start = System.nanoTime();
+		Renderable image = loader.readImage(path, useTopLeftPixelAsTransparent);
+		loadNanos += System.nanoTime() - start;
+		return image;
+	}
+
+	/**
+	 * Decodes a single sound and records the time it took.
+	 *
+	 * @param path Path of the sound file.
+	 * @return The decoded sound.
+	 */
+	private Sound loadSound(String path) {
+		long start = System.nanoTime();
+		Sound sound = loader.readSound(path);
+		loadNanos += System.nanoTime() - start;
+		return sound;
+	}
+
+	/**
+	 * @return Total time spent decoding assets, in nanoseconds.
+	 */
+	public long getLoadNanos() {
+		return loadNanos;
+	}
+
+	/**
+	 * @return Number of requests answered from the cache.
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return Number of requests for assets that were not preloaded.
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return Number of distinct assets held by the registry.
+	 */
+	public int size() {
+		return transparentImages.size() + opaqueImages.size() + sounds.size();
+	}
+
+	/**
+	 * @return A one-line summary of the registry metrics.
+	 */
+	@Override
+	public String toString() {
+		return String.format("assets=%d load=%.2fms hits=%d misses=%d",
+				size(), loadNanos / 1e6, hits, misses);
+	}
+}
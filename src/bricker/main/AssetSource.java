@@ -0,0 +1,41 @@
+package bricker.main;
+
+import danogl.gui.Sound;
+import danogl.gui.rendering.Renderable;
+
+/**
+ * Provides the images and sounds used by game objects and strategies.
+ * Game code asks this interface for assets instead of holding danogl readers,
+ * so the game can also run without a window or an audio device.
+ */
+public interface AssetSource {
+	/** An asset source for headless runs: no images are drawn and no sounds are played. */
+	AssetSource NONE = new AssetSource() {
+		@Override
+		public Renderable readImage(String path, boolean useTopLeftPixelAsTransparent) {
+			return null;
+		}
+
+		@Override
+		public Sound readSound(String path) {
+			return null;
+		}
+	};
+
+	/**
+	 * Returns the image stored in the given path.
+	 *
+	 * @param path                         Path of the image file.
+	 * @param useTopLeftPixelAsTransparent Whether the top-left pixel color is transparent.
+	 * @return The image, or null if nothing should be drawn.
+	 */
+	Renderable readImage(String path, boolean useTopLeftPixelAsTransparent);
+
+	/**
+	 * Returns the sound stored in the given path.
+	 *
+	 * @param path Path of the sound file.
+	 * @return The sound, or null if nothing should be played.
+	 */
+	Sound readSound(String path);
+}
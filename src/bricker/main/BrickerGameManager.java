@@ -6,24 +6,39 @@
  */
 package bricker.main;
 
+import bricker.audio.AudioManager;
+import bricker.audio.SoundEffect;
 import bricker.brick_strategies.BrickFactory;
-import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.StrategyTable;
+import bricker.collisions.BrickGrid;
+import bricker.collisions.Categories;
+import bricker.collisions.CommandBuffer;
+import bricker.collisions.SweptCollisions;
+import bricker.level.LevelFile;
+import bricker.net.LockstepSession;
+import bricker.profiling.FrameProfiler;
+import bricker.rendering.BrickWallRenderable;
 import danogl.GameManager;
 import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
+import danogl.collisions.LayerManager;
 import danogl.components.CoordinateSpace;
 import danogl.gui.ImageReader;
 import danogl.gui.SoundReader;
 import danogl.gui.UserInputListener;
 import danogl.gui.WindowController;
-import danogl.gui.Sound;
+import danogl.gui.rendering.Camera;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 import danogl.util.Counter;
 import bricker.gameobjects.*;
 
 import java.awt.event.KeyEvent;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Random;
+import java.util.zip.CRC32;
 
 /**
  * The central game manager class for the Bricker game.
@@ -37,6 +52,7 @@ public class BrickerGameManager extends GameManager {
 	// === Constants ===
 	private final int BORDER_WIDTH = Constants.BORDER_WIDTH;
 	private final float BALL_SPEED = Constants.BALL_SPEED;
+	private static final String LEVEL_ARG = "--level";
 
 	// === Life tracking ===
 	private int CUR_LIFE_NUM = Constants.CUR_LIFE_NUM;
@@ -45,19 +61,68 @@ public class BrickerGameManager extends GameManager {
 	// === Brick grid dimensions ===
 	private int rowBricksNum;
 	private int colBricksNum;
+	private LevelFile level;
 
 	private Vector2 windowDimensions;
 
+	// === Playing field, larger than the window when the wall does not fit it ===
+	private Vector2 fieldTopLeft;
+	private Vector2 fieldDimensions;
+	private GameObject viewFocus;  // followed by the camera, null while the field fits the window
+
+	// === Randomness ===
+	private final Random seedSource;
+	private long gameSeed;
+	private GameRandom random;
+	private InputRecorder inputRecorder;
+	private UserInputListener windowInput;
+
+	// === Two-player lockstep, null in a single-player game ===
+	private LockstepSession lockstep;
+	private ByteBuffer checksumBuffer;
+	private final CRC32 checksum = new CRC32();
+
+	// === Fixed time step, null to simulate every frame with its own delta ===
+	private FixedStepLoop fixedStepLoop;
+
+	// === Profiling, null when off ===
+	private FrameProfiler frameProfiler;
+
 	// === Game dependencies ===
-	private ImageReader imageReader;
-	private SoundReader soundReader;
+	private AssetRegistry assetRegistry;  // kept across resets, so each asset is decoded once per session
+	private AssetSource assets;
 	private WindowController windowController;
-	private UserInputListener userInputListener;
+	private InputSource userInputListener;
+	private DialogPolicy dialogPolicy;
+
+	// === Headless state ===
+	private boolean headless = false;
+	private boolean resetRequested = false;
+	private boolean closed = false;
 
 	// === Game objects ===
 	private Ball ball;
+	private Paddle paddle;
+	private Paddle playerTwoPaddle;
+	private boolean autopilot = false;
+	private PaddleController paddleController;
+	private int livesLost = 0;
 	private HeartsPanel heartsPanel;
 	private Counter BRICKS_NUM;
+	private BrickGrid brickGrid;
+	private boolean chunkedBricks = Constants.CHUNKED_BRICKS;
+	private int pucksPerHit = Constants.EXTRA_BALLS_PUCKS_PER_HIT;
+	private GameParameters parameters = GameParameters.DEFAULTS;
+	private CommandBuffer commandBuffer;
+	private boolean continuousCollisions = Constants.CONTINUOUS_COLLISIONS;
+	private SweptCollisions sweptCollisions;
+	private final AudioManager audioManager = new AudioManager(
+			Constants.AUDIO_VOICES, Constants.AUDIO_VOICE_DURATION, Constants.AUDIO_MIN_INTERVAL);
+	private StrategyTable strategyTable;
+	private GameObjectPool<Puck> puckPool;
+	private GameObjectPool<FallingHeart> heartPool;
+	private boolean rewind = Constants.REWIND_ENABLED;
+	private RewindBuffer rewindBuffer;
 
 	/**
 	 * Constructs the Bricker game manager with the given game configuration.
@@ -69,11 +134,81 @@ public class BrickerGameManager extends GameManager {
 	 */
 	public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
 							  int rowBricksNum, int colBricksNum) {
+		this(windowTitle, windowDimensions, rowBricksNum, colBricksNum, new Random());
+	}
+
+	/**
+	 * Constructs the Bricker game manager with a given source of game seeds.
+	 * Every new game, including restarts, draws its seed from the source,
+	 * so a seeded source makes the whole session reproducible.
+	 *
+	 * @param windowTitle      The title of the game window.
+	 * @param windowDimensions The dimensions of the window.
+	 * @param rowBricksNum     Number of brick rows.
+	 * @param colBricksNum     Number of brick columns.
+	 * @param seedSource       Source of the seeds of the games played.
+	 */
+	public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
+							  int rowBricksNum, int colBricksNum, Random seedSource) {
 		super(windowTitle, windowDimensions);
+		this.seedSource = seedSource;
 		this.windowDimensions = windowDimensions;
 		this.rowBricksNum = rowBricksNum;
 		this.colBricksNum = colBricksNum;
 		this.BRICKS_NUM = new Counter(colBricksNum * rowBricksNum);
+		layOutField();
+	}
+
+	/**
+	 * Constructs the Bricker game manager playing a level file.
+	 * The bricks, their strategies and hit points are read from the level
+	 * instead of being chosen at random.
+	 *
+	 * @param windowTitle      The title of the game window.
+	 * @param windowDimensions The dimensions of the window.
+	 * @param level            The played level.
+	 * @param seedSource       Source of the seeds of the games played.
+	 */
+	public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
+							  LevelFile level, Random seedSource) {
+		this(windowTitle, windowDimensions, level.getRows(), level.getCols(), seedSource);
+		this.level = level;
+	}
+
+	/**
+	 * Lays out the playing field around the wall. The field of a wall that fits the window is
+	 * the window itself. Rows that do not fit extend the field upwards, so the space between
+	 * the wall and the paddle is kept, and columns that would make bricks narrower than
+	 * {@link Constants#MIN_BRICK_WIDTH} extend it to the right.
+	 */
+	private void layOutField() {
+		int extraRows = Math.max(0, rowBricksNum - maxRowBricksNum(windowDimensions));
+		float fieldWidth = colBricksNum <= maxColBricksNum(windowDimensions) ? windowDimensions.x()
+				: 2 * BORDER_WIDTH + colBricksNum * (Constants.MIN_BRICK_WIDTH + Constants.SPACING)
+				- Constants.SPACING;
+		fieldTopLeft = new Vector2(0, -extraRows * (Constants.BRICK_HEIGHT + Constants.SPACING));
+		fieldDimensions = new Vector2(fieldWidth, windowDimensions.y() - fieldTopLeft.y());
+	}
+
+	/**
+	 * @param windowDimensions The dimensions of the window.
+	 * @return The largest number of brick columns that fit the window with bricks at least
+	 * {@link Constants#MIN_BRICK_WIDTH} wide.
+	 */
+	private static int maxColBricksNum(Vector2 windowDimensions) {
+		float availableWidth = windowDimensions.x() - 2 * Constants.BORDER_WIDTH;
+		return (int) ((availableWidth + Constants.SPACING) / (Constants.MIN_BRICK_WIDTH + Constants.SPACING));
+	}
+
+	/**
+	 * @param windowDimensions The dimensions of the window.
+	 * @return The largest number of brick rows that fit the window, with the bottom row leaving
+	 * room for the ball above the paddle.
+	 */
+	private static int maxRowBricksNum(Vector2 windowDimensions) {
+		float paddleTop = windowDimensions.y() - Constants.PADDLE_OFFSET_Y - Constants.paddleDimensions.y() / 2;
+		float wallHeight = paddleTop - Constants.ballDimensions.y() - Constants.BORDER_WIDTH;
+		return (int) ((wallHeight + Constants.SPACING) / (Constants.BRICK_HEIGHT + Constants.SPACING));
 	}
 
 	/**
@@ -88,129 +223,467 @@ public class BrickerGameManager extends GameManager {
 	public void initializeGame(ImageReader imageReader, SoundReader soundReader,
 							   UserInputListener inputListener, WindowController windowController) {
 		super.initializeGame(imageReader, soundReader, inputListener, windowController);
-		this.imageReader = imageReader;
-		this.soundReader = soundReader;
+		if (assetRegistry == null) {
+			assetRegistry = new AssetRegistry(new ReaderAssetSource(imageReader, soundReader));
+			assetRegistry.preload();  // decode every asset once, before the first frame
+		}
+		this.assets = assetRegistry;
 		this.windowController = windowController;
-		this.userInputListener = inputListener;
+		this.windowInput = inputListener;
+		this.userInputListener = lockstep != null ? lockstep.getPlayerInput(LockstepSession.HOST)
+				: inputRecorder != null ? inputRecorder : inputListener::isKeyPressed;
+		this.dialogPolicy = agreedPolicy(windowController::openYesNoDialog);
+		createGameObjects();
+		createCamera();
+	}
+
+	/**
+	 * Initializes the game without a window, rendering or audio.
+	 * Game objects are created without images and sounds, and the end-of-game
+	 * dialogs are answered by the given policy instead of the player.
+	 * Frames are then advanced by calling {@link #update(float)} directly.
+	 *
+	 * @param inputListener Source of the keyboard state, unused in a lockstep game.
+	 * @param dialogPolicy  Policy answering the win/lose dialogs.
+	 */
+	public void initializeHeadless(InputSource inputListener, DialogPolicy dialogPolicy) {
+		this.headless = true;
+		this.assets = AssetSource.NONE;
+		this.userInputListener = lockstep != null ? lockstep.getPlayerInput(LockstepSession.HOST) : inputListener;
+		this.dialogPolicy = agreedPolicy(dialogPolicy);
+		createGameObjects();
+	}
+
+	/**
+	 * Makes both peers of a lockstep game answer the win/lose dialogs alike: the host's player
+	 * answers, and the guest takes the host's answer instead of showing the dialog.
+	 *
+	 * @param policy Policy answering the dialogs on this side.
+	 * @return The policy, or in a lockstep game, a policy agreeing with the peer.
+	 */
+	private DialogPolicy agreedPolicy(DialogPolicy policy) {
+		return lockstep == null ? policy : message -> lockstep.decide(() -> policy.answer(message));
+	}
+
+	/**
+	 * Records the keyboard of every game played in the window.
+	 * Must be called before the game is run.
+	 *
+	 * @param inputRecorder Recorder of the session, reading keys from the window.
+	 */
+	public void setInputRecorder(InputRecorder inputRecorder) {
+		this.inputRecorder = inputRecorder;
+	}
+
+	/**
+	 * Plays a two-player game in lockstep with a remote peer. Each player steers a paddle with
+	 * the keys exchanged by the session, every tick waits for the peer's keys, and the state's
+	 * checksum is handed to the session after every tick. The autopilot and rewinding are off.
+	 * Must be called before the game is initialized.
+	 *
+	 * @param lockstep The session with the peer.
+	 */
+	public void setLockstep(LockstepSession lockstep) {
+		this.lockstep = lockstep;
+	}
+
+	/**
+	 * Simulates the game at a fixed tick rate, independent of the rendered frame rate.
+	 * Moving objects are displayed interpolated between ticks.
+	 *
+	 * @param tickRate        Simulated ticks per second.
+	 * @param maxCatchUpTicks Maximal number of ticks simulated in a single frame.
+	 */
+	public void setFixedTimeStep(int tickRate, int maxCatchUpTicks) {
+		this.fixedStepLoop = new FixedStepLoop(tickRate, maxCatchUpTicks);
+	}
+
+	/**
+	 * Turns continuous collision detection of balls and pucks on or off.
+	 * Takes effect when the next game is created.
+	 *
+	 * @param continuousCollisions true to sweep balls and pucks against obstacles.
+	 */
+	public void setContinuousCollisions(boolean continuousCollisions) {
+		this.continuousCollisions = continuousCollisions;
+	}
+
+	/**
+	 * Chooses whether brick game objects are created for the whole wall when a game starts,
+	 * or only for the chunks of the wall near a ball or puck.
+	 * Takes effect when the next game is created.
+	 *
+	 * @param chunkedBricks true to create bricks only for the chunks within reach.
+	 */
+	public void setChunkedBricks(boolean chunkedBricks) {
+		this.chunkedBricks = chunkedBricks;
+	}
+
+	/**
+	 * Sets the number of pucks the extra balls strategy spawns per destroyed brick.
+	 * Takes effect when the next game is created.
+	 *
+	 * @param pucksPerHit Number of pucks spawned per destroyed brick.
+	 */
+	public void setPucksPerHit(int pucksPerHit) {
+		this.pucksPerHit = pucksPerHit;
+	}
+
+	/**
+	 * Sets the gameplay parameters of the game, instead of those of {@link Constants}.
+	 * Takes effect when the next game is created.
+	 *
+	 * @param parameters The gameplay parameters.
+	 */
+	public void setParameters(GameParameters parameters) {
+		this.parameters = parameters;
+	}
+
+	/**
+	 * @return The gameplay parameters of the current game, unless others were set for the next one.
+	 */
+	public GameParameters getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Chooses whether the paddles are steered by the keyboard or by an autopilot intercepting
+	 * the balls and pucks, so unattended runs can play whole games.
+	 * Takes effect when the next game is created.
+	 *
+	 * @param autopilot true to steer the paddles with an {@link AutopilotPaddleController}.
+	 */
+	public void setAutopilot(boolean autopilot) {
+		this.autopilot = autopilot;
+	}
+
+	/**
+	 * Turns recording the last ticks of the game for rewinding on or off.
+	 * Takes effect when the next game is created.
+	 *
+	 * @param rewind true to record the game, and rewind it while {@link Constants#REWIND_KEY} is held.
+	 */
+	public void setRewind(boolean rewind) {
+		this.rewind = rewind;
+	}
+
+	/**
+	 * Records the cost of every frame of this game.
+	 *
+	 * @param frameProfiler The profiler, or null to stop profiling.
+	 */
+	public void setFrameProfiler(FrameProfiler frameProfiler) {
+		this.frameProfiler = frameProfiler;
+	}
+
+	/**
+	 * Creates a profiler if profiling was requested through {@link Constants#PROFILE_PROPERTY}.
+	 *
+	 * @return The profiler, or null if profiling was not requested.
+	 */
+	static FrameProfiler requestedFrameProfiler() {
+		String csvPath = System.getProperty(Constants.PROFILE_PROPERTY);
+		return csvPath == null ? null : new FrameProfiler(Path.of(csvPath));
+	}
+
+	/**
+	 * @return The keyboard state of the window, for recording it.
+	 */
+	public InputSource windowInput() {
+		return keyCode -> windowInput.isKeyPressed(keyCode);
+	}
 
+	/**
+	 * Creates all the game objects of a new game.
+	 */
+	private void createGameObjects() {
+		if (fixedStepLoop != null) {
+			fixedStepLoop.clear();
+		}
+		gameSeed = seedSource.nextLong();
+		random = new GameRandom(gameSeed);  // all of the game's randomness comes from here
+		commandBuffer = new CommandBuffer(gameObjects());
+		audioManager.clearEffects();  // the last game's effects hold its sounds
 		createBackground();   // set background image
 		createHeartsPanel();  // set up lives UI panel
+		createPools();        // pools for spawned pucks and hearts
 		createBall();         // creat main ball
 		createPaddle();       // creat player paddle
 		createBoundaries();   // add invisible walls
+		configureLayers();    // which layers the engine tests against each other
 		createBricks();       // creat brick grid
+		boolean rewound = rewind && lockstep == null;  // lockstep peers cannot rewind alone
+		rewindBuffer = rewound ? new RewindBuffer(this, Constants.REWIND_SECONDS, Constants.REWIND_MAX_BYTES,
+				Constants.REWIND_KEYFRAME_TICKS, Constants.REWIND_POSITION_TOLERANCE) : null;
 	}
 
 	/**
 	 * Creates the hearts panel representing player lives.
 	 */
 	private void createHeartsPanel() {
-		heartsPanel = new HeartsPanel(imageReader, IN_LIFE_NUM, gameObjects());
+		heartsPanel = new HeartsPanel(assets, IN_LIFE_NUM, gameObjects());
 		heartsPanel.setTag(Constants.HEART_PANEL_TAG);
 	}
 
+	/**
+	 * Creates the pools reused by strategies that spawn pucks and falling hearts.
+	 */
+	private void createPools() {
+		Renderable puckImage = assets.readImage(Constants.PUCK_IMAGE_PATH, true);
+		Renderable heartImage = assets.readImage(Constants.HEART_IMAGE_PATH, true);
+		SoundEffect collisionSound = audioManager.effect(assets.readSound(Constants.COLLISION_SOUND_PATH));
+		Vector2 puckSize = Constants.ballDimensions.mult(Constants.PUCK_PROPORTION_SIZE);
+
+		puckPool = new GameObjectPool<>(Constants.PUCK_POOL_CAPACITY, pool -> {
+			Puck puck = new Puck(Vector2.ZERO, puckSize, puckImage, collisionSound, gameObjects(), pool);
+			puck.setTag(Constants.MINI_BALL_TAG);
+			return puck;
+		});
+		heartPool = new GameObjectPool<>(Constants.HEART_POOL_CAPACITY,
+				pool -> new FallingHeart(Vector2.ZERO, heartImage, gameObjects(), heartsPanel, pool));
+	}
+
 	/**
 	 * Adds the static background image to the game.
 	 */
 	private void createBackground() {
-		Renderable backgroundImage = imageReader.readImage(Constants.BACKGROUND_IMAGE_PATH, false);
+		Renderable backgroundImage = assets.readImage(Constants.BACKGROUND_IMAGE_PATH, false);
 		GameObject background = new GameObject(
 				new Vector2(0, 0),
-				windowController.getWindowDimensions(),
+				windowDimensions,
 				backgroundImage);
 		background.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
 		background.setTag(Constants.BACKGROUND_TAG);
 		gameObjects().addGameObject(background, Layer.BACKGROUND);
 	}
 
+	/**
+	 * Makes the view follow the ball when the playing field is larger than the window,
+	 * so every brick can be seen as the ball reaches it.
+	 */
+	private void createCamera() {
+		if (fieldDimensions.x() <= windowDimensions.x() && fieldDimensions.y() <= windowDimensions.y()) {
+			return;
+		}
+		viewFocus = new GameObject(Vector2.ZERO, Vector2.ZERO, null);
+		followBall();
+		setCamera(new Camera(viewFocus, Vector2.ZERO, windowDimensions, windowDimensions));
+	}
+
+	/**
+	 * Centers the view on the ball, as far as the playing field allows.
+	 */
+	private void followBall() {
+		Vector2 center = ball.getCenter();
+		float halfWidth = windowDimensions.x() / 2;
+		float halfHeight = windowDimensions.y() / 2;
+		float x = Math.max(fieldTopLeft.x() + halfWidth,
+				Math.min(center.x(), fieldTopLeft.x() + fieldDimensions.x() - halfWidth));
+		float y = Math.max(fieldTopLeft.y() + halfHeight,
+				Math.min(center.y(), fieldTopLeft.y() + fieldDimensions.y() - halfHeight));
+		viewFocus.setCenter(new Vector2(x, y));
+	}
+
 	/**
 	 * Initializes the main ball and adds it to the game.
 	 */
 	private void createBall() {
-		Renderable ballImage = imageReader.readImage(Constants.BALL_IMAGE_PATH, true);
-		Sound collisionSound = soundReader.readSound(Constants.COLLISION_SOUND_PATH);
+		Renderable ballImage = assets.readImage(Constants.BALL_IMAGE_PATH, true);
+		SoundEffect collisionSound = audioManager.effect(assets.readSound(Constants.COLLISION_SOUND_PATH));
 		ball = new Ball(new Vector2(0, 0), Constants.ballDimensions, ballImage, collisionSound);
 		ball.setCenter(windowDimensions.mult(0.5f));
 		ball.setTag(Constants.MAIN_BALL_TAG);
 		gameObjects().addGameObject(ball, Layer.DEFAULT);
 
 		// Randomize initial direction
-		Random rand = new Random();
-		float ballVelX = BALL_SPEED * (rand.nextBoolean() ? -1 : 1);
-		float ballVelY = BALL_SPEED * (rand.nextBoolean() ? -1 : 1);
+		float ballVelX = BALL_SPEED * (random.nextBoolean() ? -1 : 1);
+		float ballVelY = BALL_SPEED * (random.nextBoolean() ? -1 : 1);
 		ball.setVelocity(new Vector2(ballVelX, ballVelY));
 	}
 
 	/**
-	 * Creates the paddle controlled by the player.
+	 * Creates the paddle, steered by the player or by the autopilot.
+	 * A lockstep game has a paddle for each player, side by side.
 	 */
 	private void createPaddle() {
-		Renderable paddleImage = imageReader.readImage(Constants.PADDLE_IMAGE_PATH, true);
-		GameObject paddle = new Paddle(
+		Renderable paddleImage = assets.readImage(Constants.PADDLE_IMAGE_PATH, true);
+		paddleController = autopilot && lockstep == null
+				? new AutopilotPaddleController(gameObjects(), fieldDimensions.x())
+				: new KeyboardPaddleController(userInputListener);
+		float offsetX = lockstep != null ? Constants.LOCKSTEP_PADDLE_OFFSET_X : 0;
+		paddle = createPaddle(paddleImage, paddleController, windowDimensions.x() / 2 - offsetX);
+		playerTwoPaddle = lockstep != null ? createPaddle(paddleImage,
+				new KeyboardPaddleController(lockstep.getPlayerInput(LockstepSession.GUEST)),
+				windowDimensions.x() / 2 + offsetX) : null;
+	}
+
+	/**
+	 * Creates a paddle at the bottom of the window and adds it to the game.
+	 *
+	 * @param paddleImage Paddle appearance.
+	 * @param controller  Steers the paddle.
+	 * @param centerX     Horizontal center of the paddle.
+	 * @return The paddle.
+	 */
+	private Paddle createPaddle(Renderable paddleImage, PaddleController controller, float centerX) {
+		Paddle created = new Paddle(
 				new Vector2(0, 0),
 				Constants.paddleDimensions,
 				paddleImage,
-				userInputListener);
-		paddle.setCenter(new Vector2(
-				windowDimensions.x() / 2,
-				windowDimensions.y() - Constants.PADDLE_OFFSET_Y));
-		paddle.setTag(Constants.MAIN_PADDLE_TAG);
-		gameObjects().addGameObject(paddle, Layer.DEFAULT);
+				controller,
+				fieldDimensions.x());
+		created.setCenter(new Vector2(centerX, windowDimensions.y() - Constants.PADDLE_OFFSET_Y));
+		created.setTag(Constants.MAIN_PADDLE_TAG);
+		gameObjects().addGameObject(created, Layer.DEFAULT);
+		return created;
 	}
 
 	/**
-	 * Adds invisible boundaries to the game to prevent objects from leaving the screen.
+	 * Adds invisible boundaries to the game to prevent objects from leaving the playing field.
 	 */
 	private void createBoundaries() {
-		GameObject rightBoundary = new GameObject(
-				new Vector2(windowDimensions.x() - BORDER_WIDTH, 0),
-				new Vector2(BORDER_WIDTH, windowDimensions.y()),
-				null);
+		GameObject rightBoundary = new Boundary(
+				new Vector2(fieldDimensions.x() - BORDER_WIDTH, fieldTopLeft.y()),
+				new Vector2(BORDER_WIDTH, fieldDimensions.y()));
 		rightBoundary.setTag(Constants.BOUNDARY_TAG);
 		gameObjects().addGameObject(rightBoundary, Layer.STATIC_OBJECTS);
 
-		GameObject leftBoundary = new GameObject(
-				new Vector2(0, 0),
-				new Vector2(BORDER_WIDTH, windowDimensions.y()),
-				null);
+		GameObject leftBoundary = new Boundary(
+				fieldTopLeft,
+				new Vector2(BORDER_WIDTH, fieldDimensions.y()));
 		leftBoundary.setTag(Constants.BOUNDARY_TAG);
 		gameObjects().addGameObject(leftBoundary, Layer.STATIC_OBJECTS);
 
-		GameObject topBoundary = new GameObject(
-				new Vector2(0, 0),
-				new Vector2(windowDimensions.x(), BORDER_WIDTH),
-				null);
+		GameObject topBoundary = new Boundary(
+				fieldTopLeft,
+				new Vector2(fieldDimensions.x(), BORDER_WIDTH));
 		topBoundary.setTag(Constants.BOUNDARY_TAG);
 		gameObjects().addGameObject(topBoundary, Layer.STATIC_OBJECTS);
 	}
 
 	/**
-	 * Generates a grid of bricks with a collision strategy.
+	 * Sets which layers the engine tests for collisions, from the collision categories of
+	 * the objects each layer holds. Layer pairs whose objects can never collide, such as
+	 * pucks with pucks, or bricks with anything since the brick grid dispatches their
+	 * collisions, are skipped by the engine altogether.
+	 */
+	private void configureLayers() {
+		int[] layerIds = {Layer.STATIC_OBJECTS, Layer.DEFAULT, Constants.PUCK_LAYER, Constants.BRICK_LAYER};
+		int[] categories = {
+				Categories.BOUNDARY,
+				Categories.MAIN_BALL | Categories.PADDLES | Categories.FALLING_HEART,
+				Categories.PUCK,
+				Categories.BRICK};
+		int[] masks = {
+				Categories.BOUNDARY_MASK,
+				Categories.MAIN_BALL_MASK | Categories.MAIN_PADDLE_MASK
+						| Categories.PADDLE_DUPLICATE_MASK | Categories.FALLING_HEART_MASK,
+				Categories.PUCK_MASK,
+				Categories.BRICK_MASK};
+		LayerManager layers = gameObjects().layers();
+		for (int i = 0; i < layerIds.length; i++) {
+			for (int j = i; j < layerIds.length; j++) {
+				layers.shouldLayersCollide(layerIds[i], layerIds[j],
+						Categories.mayCollide(categories[i], masks[i], categories[j], masks[j]));
+			}
+		}
+	}
+
+	/**
+	 * Generates a grid of bricks with a collision strategy, read from the level file
+	 * if one is played, or chosen at random otherwise.
+	 * Bricks are indexed by a brick grid, which dispatches their collisions
+	 * instead of the engine, and counts the bricks it holds. With chunked bricks, the grid
+	 * only stores the wall, and creates the bricks within reach.
+	 * The bricks are not drawn one by one; a single object draws the wall from a cached image.
 	 */
 	private void createBricks() {
-		Renderable brickImage = imageReader.readImage(Constants.BRICK_IMAGE_PATH, false);
+		Renderable brickImage = assets.readImage(Constants.BRICK_IMAGE_PATH, false);
 
 		float spacing = Constants.SPACING;
 		float brickHeight = Constants.BRICK_HEIGHT;
-		float availableWidth = windowDimensions.x() - 2 * BORDER_WIDTH;
+		float availableWidth = fieldDimensions.x() - 2 * BORDER_WIDTH;
 		float brickWidth = (availableWidth - (colBricksNum - 1) * spacing) / colBricksNum;
+		Vector2 brickSize = new Vector2(brickWidth, brickHeight);
+
+		BRICKS_NUM = new Counter();  // incremented by every added brick
+		brickGrid = new BrickGrid(rowBricksNum, colBricksNum,
+				fieldTopLeft.add(new Vector2(BORDER_WIDTH, BORDER_WIDTH)), brickSize, spacing,
+				Constants.BRICK_LAYER, commandBuffer, BRICKS_NUM);
+
+		strategyTable = new StrategyTable(commandBuffer, brickGrid, assets, paddleController,
+				fieldDimensions.x(), puckPool, heartPool, random, parameters);
+		brickGrid.setStrategyTable(strategyTable);
+		strategyTable.getExtraBalls().setPucksPerHit(pucksPerHit);
+		sweptCollisions = continuousCollisions ? new SweptCollisions(brickGrid) : null;
+		createBrickWall(brickImage);
+		if (level != null) {
+			addLevelBricks();
+		} else {
+			BrickFactory factory = new BrickFactory(strategyTable, random, parameters);
+			for (int row = 0; row < rowBricksNum; row++) {
+				for (int col = 0; col < colBricksNum; col++) {
+					addBrick(row, col, factory.nextStrategyCode(), 1);
+				}
+			}
+		}
+		if (chunkedBricks) {
+			updateBricksReach();
+		}
+	}
+
+	/**
+	 * Creates the object drawing the wall from a cached image of its part in view,
+	 * behind the bricks' own invisible game objects.
+	 *
+	 * @param brickImage Visual representation of a single brick.
+	 */
+	private void createBrickWall(Renderable brickImage) {
+		Vector2 origin = brickGrid.cellTopLeft(0, 0);
+		Vector2 wallSize = new Vector2(fieldDimensions.x() - 2 * BORDER_WIDTH,
+				rowBricksNum * (Constants.BRICK_HEIGHT + Constants.SPACING));
+		BrickWallRenderable wallRenderable =
+				new BrickWallRenderable(brickGrid, brickImage, origin, wallSize, windowDimensions);
+		brickGrid.setWallRenderable(wallRenderable);
+		GameObject wall = new GameObject(origin, wallSize, wallRenderable);
+		wall.setTag(Constants.BRICK_WALL_TAG);
+		gameObjects().addGameObject(wall, Constants.BRICK_LAYER);
+	}
 
-		BrickFactory factory = new BrickFactory(
-				gameObjects(), BRICKS_NUM, imageReader, soundReader, userInputListener, heartsPanel);
+	/**
+	 * Adds an invisible brick to the grid, or only stores it when bricks are chunked.
+	 *
+	 * @param row          Row of the cell.
+	 * @param col          Column of the cell.
+	 * @param strategyCode Code of the brick's collision strategy.
+	 * @param hitPoints    Number of hits the brick takes.
+	 */
+	private void addBrick(int row, int col, byte strategyCode, int hitPoints) {
+		if (chunkedBricks) {
+			brickGrid.defineBrick(row, col, strategyCode, hitPoints);
+		} else {
+			brickGrid.addBrick(row, col, strategyCode, hitPoints, null);
+		}
+	}
 
+	/**
+	 * Creates the bricks near a ball or puck, and releases the others.
+	 */
+	private void updateBricksReach() {
+		brickGrid.updateReach(gameObjects().objectsInLayer(Layer.DEFAULT),
+				gameObjects().objectsInLayer(Constants.PUCK_LAYER));
+	}
+
+	/**
+	 * Adds the bricks of the played level, skipping its empty cells.
+	 * Their strategy codes were checked when the level was opened.
+	 */
+	private void addLevelBricks() {
 		for (int row = 0; row < rowBricksNum; row++) {
 			for (int col = 0; col < colBricksNum; col++) {
-				CollisionStrategy strategy = factory.getStrategy();
-				Vector2 topLeft = new Vector2(
-						BORDER_WIDTH + col * (brickWidth + spacing),
-						BORDER_WIDTH + row * (brickHeight + spacing)
-				);
-				Brick brick = new Brick(topLeft,
-						new Vector2(brickWidth, brickHeight),
-						brickImage,
-						strategy);
-				brick.setTag(Constants.BRICK_TAG);
-				gameObjects().addGameObject(brick, Layer.STATIC_OBJECTS);
+				int hitPoints = level.getHitPoints(row, col);
+				if (hitPoints == 0) continue;
+				addBrick(row, col, level.getStrategyCode(row, col), hitPoints);
 			}
 		}
 	}
@@ -220,55 +693,487 @@ public class BrickerGameManager extends GameManager {
 	 */
 	public void checkEndGame() {
 		if (BRICKS_NUM.value() == 0 || userInputListener.isKeyPressed(KeyEvent.VK_W)) {
-			if (windowController.openYesNoDialog(Constants.WIN_MESSAGE)) {
+			if (dialogPolicy.answer(Constants.WIN_MESSAGE)) {
 				CUR_LIFE_NUM = IN_LIFE_NUM;
-				BRICKS_NUM = new Counter(rowBricksNum * colBricksNum);
-				windowController.resetGame();
+				resetGame();
 			} else {
-				windowController.closeWindow();
+				closeWindow();
 			}
 		} else if (ball.getCenter().y() > windowDimensions.y()) {
-			heartsPanel.removeHeart(gameObjects());
+			heartsPanel.removeHeart();
+			livesLost++;
 			CUR_LIFE_NUM = heartsPanel.getLifeNum();
 			createBall();
 			if (CUR_LIFE_NUM == 0) {
-				if (windowController.openYesNoDialog(Constants.LOSE_MESSAGE)) {
+				if (dialogPolicy.answer(Constants.LOSE_MESSAGE)) {
 					CUR_LIFE_NUM = IN_LIFE_NUM;
-					windowController.resetGame();
+					resetGame();
 				} else {
-					windowController.closeWindow();
+					closeWindow();
 				}
 			}
 		}
 	}
 
 	/**
-	 * Called once per frame. Updates game state.
+	 * Restarts the game. A headless game only records the request,
+	 * since rebuilding the world is left to its driver.
+	 */
+	private void resetGame() {
+		if (headless) {
+			resetRequested = true;
+		} else {
+			windowController.resetGame();
+		}
+	}
+
+	/**
+	 * Ends the game, and the lockstep session with it. A headless game only records that it was closed.
+	 */
+	private void closeWindow() {
+		if (inputRecorder != null) {
+			inputRecorder.close();
+		}
+		if (lockstep != null) {
+			lockstep.close();
+		}
+		if (headless) {
+			closed = true;
+		} else {
+			windowController.closeWindow();
+		}
+	}
+
+	/**
+	 * @return The collection holding all the game objects of this game.
+	 */
+	public GameObjectCollection getGameObjects() {
+		return gameObjects();
+	}
+
+	/**
+	 * @return Counter tracking the remaining bricks.
+	 */
+	public Counter getBricksCounter() {
+		return BRICKS_NUM;
+	}
+
+	/**
+	 * @return Manager limiting the sounds played by the game.
+	 */
+	public AudioManager getAudioManager() {
+		return audioManager;
+	}
+
+	/**
+	 * @return Size of the playing field: the window, or larger when the wall does not fit it.
+	 */
+	public Vector2 getFieldDimensions() {
+		return fieldDimensions;
+	}
+
+	/**
+	 * @return Grid indexing the bricks of the wall.
+	 */
+	public BrickGrid getBrickGrid() {
+		return brickGrid;
+	}
+
+	/**
+	 * @return Buffer of the changes queued by collision strategies.
+	 */
+	public CommandBuffer getCommandBuffer() {
+		return commandBuffer;
+	}
+
+	/**
+	 * @return Table of the strategies shared by this game's bricks.
+	 */
+	public StrategyTable getStrategyTable() {
+		return strategyTable;
+	}
+
+	/**
+	 * @return Pool of the pucks spawned by strategies.
+	 */
+	public GameObjectPool<Puck> getPuckPool() {
+		return puckPool;
+	}
+
+	/**
+	 * @return Pool of the falling hearts spawned by strategies.
+	 */
+	public GameObjectPool<FallingHeart> getHeartPool() {
+		return heartPool;
+	}
+
+	/**
+	 * @return The panel displaying the player's lives.
+	 */
+	public HeartsPanel getHeartsPanel() {
+		return heartsPanel;
+	}
+
+	/**
+	 * @return The main ball.
+	 */
+	public Ball getBall() {
+		return ball;
+	}
+
+	/**
+	 * @return The player's paddle, the first player's in a lockstep game.
+	 */
+	public Paddle getPaddle() {
+		return paddle;
+	}
+
+	/**
+	 * @return The second player's paddle, or null in a single-player game.
+	 */
+	public Paddle getPlayerTwoPaddle() {
+		return playerTwoPaddle;
+	}
+
+	/**
+	 * @return Number of balls lost since the game started.
+	 */
+	public int getLivesLost() {
+		return livesLost;
+	}
+
+	/**
+	 * @return The assets used by this game.
+	 */
+	public AssetSource getAssets() {
+		return assets;
+	}
+
+	/**
+	 * @return The registry of the assets decoded for the window, or null in a headless game.
+	 */
+	public AssetRegistry getAssetRegistry() {
+		return assetRegistry;
+	}
+
+	/**
+	 * @return Controller steering the paddles of this game.
+	 */
+	public PaddleController getPaddleController() {
+		return paddleController;
+	}
+
+	/**
+	 * @return The keyboard state source of this game.
+	 */
+	public InputSource getInputSource() {
+		return userInputListener;
+	}
+
+	/**
+	 * @return The random source of the current game.
+	 */
+	public Random getRandom() {
+		return random;
+	}
+
+	/**
+	 * @return The random source of the current game, whose state snapshots capture.
+	 */
+	GameRandom gameRandom() {
+		return random;
+	}
+
+	/**
+	 * @return The seed of the current game.
+	 */
+	public long getGameSeed() {
+		return gameSeed;
+	}
+
+	/**
+	 * @return Size of a snapshot of the game at this point, in bytes.
+	 */
+	public int getSnapshotSize() {
+		return GameSnapshot.size(this);
+	}
+
+	/**
+	 * Saves the full state of the game into a new buffer.
+	 *
+	 * @return The snapshot, as read by {@link #restoreSnapshot}.
+	 */
+	public byte[] saveSnapshot() {
+		byte[] snapshot = new byte[getSnapshotSize()];
+		saveSnapshot(ByteBuffer.wrap(snapshot));
+		return snapshot;
+	}
+
+	/**
+	 * Saves the full state of the game into a buffer, from its position.
+	 * The format is described by {@link GameSnapshot}. Interpolated objects are saved at their
+	 * simulated positions.
+	 *
+	 * @param out Buffer with at least {@link #getSnapshotSize()} bytes left.
+	 */
+	public void saveSnapshot(ByteBuffer out) {
+		if (fixedStepLoop != null) {
+			fixedStepLoop.restore();
+		}
+		commandBuffer.flush();
+		GameSnapshot.write(this, out);
+	}
+
+	/**
+	 * Computes a checksum of the game's state: its snapshot, and the second player's paddle.
+	 * Lockstep peers compare it after every tick, so it covers everything a tick depends on.
+	 *
+	 * @return CRC-32 of the game's state.
+	 */
+	public int getStateChecksum() {
+		int size = getSnapshotSize() + 4 * Float.BYTES;
+		if (checksumBuffer == null || checksumBuffer.capacity() < size) {
+			checksumBuffer = ByteBuffer.allocate(2 * size);  // room for the pucks still to come
+		}
+		checksumBuffer.clear();
+		saveSnapshot(checksumBuffer);
+		if (playerTwoPaddle != null) {
+			GameSnapshot.putVector(checksumBuffer, playerTwoPaddle.getTopLeftCorner());
+			GameSnapshot.putVector(checksumBuffer, playerTwoPaddle.getVelocity());
+		}
+		checksumBuffer.flip();
+		checksum.reset();
+		checksum.update(checksumBuffer);
+		return (int) checksum.getValue();
+	}
+
+	/**
+	 * Restores the game to a saved state, reusing its objects instead of rebuilding the world.
+	 * Must be called between frames, on a game playing a wall of the same size.
+	 *
+	 * @param snapshot A snapshot saved by {@link #saveSnapshot}.
+	 */
+	public void restoreSnapshot(byte[] snapshot) {
+		restoreSnapshot(ByteBuffer.wrap(snapshot));
+	}
+
+	/**
+	 * Restores the game to a saved state read from a buffer, from its position.
+	 * Must be called between frames, on a game playing a wall of the same size.
+	 *
+	 * @param in Buffer holding a snapshot saved by {@link #saveSnapshot}.
+	 * @throws IllegalArgumentException If the buffer does not hold a snapshot of this game's wall.
+	 */
+	public void restoreSnapshot(ByteBuffer in) {
+		applySnapshot(in);
+		if (rewindBuffer != null) {
+			rewindBuffer.clear();
+		}
+	}
+
+	/**
+	 * Restores the game to a saved state read from a buffer, keeping its recorded ticks,
+	 * as when the game is rewound.
+	 *
+	 * @param in Buffer holding a snapshot.
+	 */
+	void applySnapshot(ByteBuffer in) {
+		if (fixedStepLoop != null) {
+			fixedStepLoop.clear();
+		}
+		commandBuffer.flush();
+		GameSnapshot.read(this, in);
+		if (chunkedBricks) {
+			updateBricksReach();
+		} else {
+			brickGrid.materializeAll();
+		}
+	}
+
+	/**
+	 * @return The last ticks of the game, or null if rewinding is off.
+	 */
+	public RewindBuffer getRewindBuffer() {
+		return rewindBuffer;
+	}
+
+	/**
+	 * Sets the lives at once, as when a snapshot is restored.
+	 *
+	 * @param lifeNum   Number of lives left.
+	 * @param livesLost Number of balls lost since the game started.
+	 */
+	void restoreLives(int lifeNum, int livesLost) {
+		heartsPanel.restoreLifeNum(lifeNum);
+		CUR_LIFE_NUM = heartsPanel.getLifeNum();
+		this.livesLost = livesLost;
+	}
+
+	/**
+	 * @return true if a headless game asked to be restarted.
+	 */
+	public boolean isResetRequested() {
+		return resetRequested;
+	}
+
+	/**
+	 * @return true if a headless game asked to be closed.
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Called once per frame. Simulates the frame, either as a single step of its own delta,
+	 * or as the whole ticks accumulated so far when a fixed time step is set, then moves the
+	 * view after the ball if the playing field is larger than the window.
 	 *
 	 * @param delta Time since last frame.
 	 */
 	@Override
 	public void update(float delta) {
+		if (frameProfiler != null) {
+			frameProfiler.beginFrame(brickGrid.getHitCount());
+		}
+		if (fixedStepLoop == null) {
+			tick(delta);
+		} else {
+			simulateTicks(delta);
+		}
+		if (viewFocus != null) {
+			followBall();  // after interpolation, so the view moves as smoothly as the ball is drawn
+		}
+		if (frameProfiler != null) {
+			frameProfiler.endFrame(gameObjects(), brickGrid.getHitCount(), BRICKS_NUM.value());
+		}
+	}
+
+	/**
+	 * Simulates the whole ticks accumulated so far, and interpolates the moving objects.
+	 *
+	 * @param delta Time since last frame.
+	 */
+	private void simulateTicks(float delta) {
+		int ticks = fixedStepLoop.beginFrame(delta);
+		for (int i = 0; i < ticks; i++) {
+			if (i == ticks - 1) {
+				fixedStepLoop.snapshot(gameObjects().objectsInLayer(Layer.DEFAULT),
+						gameObjects().objectsInLayer(Constants.PUCK_LAYER));
+			}
+			tick(fixedStepLoop.getTickDuration());
+		}
+		fixedStepLoop.interpolate();
+	}
+
+	/**
+	 * Simulates a single step. Creates the bricks within reach when bricks are chunked,
+	 * sweeps balls and pucks against obstacles when continuous collisions are on,
+	 * updates game state, dispatches brick collisions through the brick grid,
+	 * applies the changes strategies queued during collision resolution,
+	 * plays the step's sounds, checks for the game's end and records the step for rewinding.
+	 * While the rewind key is held, the step moves the game back instead.
+	 * A lockstep game first waits for the peer's keys, and ends when the session does.
+	 *
+	 * @param delta Duration of the step.
+	 */
+	private void tick(float delta) {
+		if (lockstep != null && !lockstep.beginTick()) {
+			closeWindow();
+			return;
+		}
+		if (rewindBuffer != null && userInputListener.isKeyPressed(Constants.REWIND_KEY)) {
+			rewindBuffer.scrub(Constants.REWIND_SPEED);
+			userInputListener.endFrame(delta);
+			return;
+		}
+		if (chunkedBricks) {
+			updateBricksReach();
+		}
+		if (sweptCollisions != null) {
+			sweptCollisions.sweep(gameObjects().objectsInLayer(Layer.STATIC_OBJECTS), delta,
+					gameObjects().objectsInLayer(Layer.DEFAULT),
+					gameObjects().objectsInLayer(Constants.PUCK_LAYER));
+		}
 		super.update(delta);
-		checkEndGame();
+		brickGrid.dispatchCollisions(gameObjects().objectsInLayer(Layer.DEFAULT),
+				gameObjects().objectsInLayer(Constants.PUCK_LAYER));
+		commandBuffer.flush();
+		audioManager.endFrame(delta);
+		if (frameProfiler != null) {
+			frameProfiler.beginCheckEnd();
+			checkEndGame();
+			frameProfiler.endCheckEnd();
+		} else {
+			checkEndGame();
+		}
+		if (rewindBuffer != null) {
+			rewindBuffer.record(delta);
+		}
+		if (lockstep != null) {
+			lockstep.endTick(getStateChecksum());
+		}
+		userInputListener.endFrame(delta);
 	}
 
 	/**
 	 * Entry point. Launches the game with optional arguments for brick dimensions.
+	 * A seed fixes the games played, and a record path logs the session's
+	 * keyboard so it can be replayed by {@link HeadlessSimulation}.
+	 * With {@code --level <file>}, plays a level file instead of a random wall.
 	 *
-	 * @param args Command line arguments for brick rows and columns.
+	 * @param args Command line arguments: brick columns and rows,
+	 *             then optionally a seed and a record file path;
+	 *             or --level, a level file path and optionally a seed.
 	 */
 	public static void main(String[] args) {
+		if (args.length >= 2 && args[0].equals(LEVEL_ARG)) {
+			LevelFile level = LevelFile.open(Path.of(args[1]));
+			long seed = args.length >= 3 ? Long.parseLong(args[2]) : new Random().nextLong();
+			runWindowed(new BrickerGameManager(
+					Constants.GAME_TITLE, Constants.windowDimensions, level, new Random(seed)));
+			return;
+		}
 		int rowBricksNum = Constants.ROW_BRICKS_NUM;
 		int colBricksNum = Constants.COL_BRICKS_NUM;
-		if (args.length == 2) {
+		if (args.length >= 2) {
 			colBricksNum = Integer.parseInt(args[0]);
 			rowBricksNum = Integer.parseInt(args[1]);
 		}
-		new BrickerGameManager(
+		long seed = args.length >= 3 ? Long.parseLong(args[2]) : new Random().nextLong();
+		BrickerGameManager game = new BrickerGameManager(
 				Constants.GAME_TITLE,
 				Constants.windowDimensions,
 				rowBricksNum,
-				colBricksNum).run();
+				colBricksNum,
+				new Random(seed));
+		if (args.length >= 4) {
+			InputRecorder recorder = new InputRecorder(
+					game.windowInput(), Path.of(args[3]), seed, rowBricksNum, colBricksNum);
+			game.setInputRecorder(recorder);
+			// the window may be closed without answering a dialog
+			Runtime.getRuntime().addShutdownHook(new Thread(recorder::close));
+		}
+		runWindowed(game);
+	}
+
+	/**
+	 * Runs a game in a window, at the fixed tick rate and profiled if requested.
+	 * The asset registry's load time and cache hits are printed on exit if requested through
+	 * {@link Constants#ASSET_STATS_PROPERTY}.
+	 *
+	 * @param game The game to run.
+	 */
+	private static void runWindowed(BrickerGameManager game) {
+		game.setFixedTimeStep(Constants.FIXED_TICK_RATE, Constants.MAX_CATCH_UP_TICKS);
+		if (Boolean.getBoolean(Constants.ASSET_STATS_PROPERTY)) {
+			Runtime.getRuntime().addShutdownHook(new Thread(
+					() -> System.out.println("assets: " + game.getAssetRegistry())));
+		}
+		FrameProfiler profiler = requestedFrameProfiler();
+		if (profiler != null) {
+			game.setFrameProfiler(profiler);
+			Runtime.getRuntime().addShutdownHook(new Thread(profiler::close));
+		}
+		game.run();
 	}
 }
\ No newline at end of file
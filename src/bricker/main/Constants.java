@@ -1,7 +1,10 @@
 package bricker.main;
 
+import danogl.collisions.Layer;
 import danogl.util.Vector2;
 
+import java.awt.event.KeyEvent;
+
 /**
  * A class for holding constant values used throughout the Bricker game.
  * These include dimensions, speeds, asset paths, object tags, and configuration values.
@@ -90,6 +93,14 @@ public class Constants {
     /** Constant to make the falling heart apear in the middle of the broke brick. */
     public static float HeartPosPositionDiscounting = 0.5f;
 
+    /*** Object Pool Settings ***/
+
+    /** Maximal number of idle pucks kept for reuse. */
+    public static final int PUCK_POOL_CAPACITY = 64;
+
+    /** Maximal number of idle falling hearts kept for reuse. */
+    public static final int HEART_POOL_CAPACITY = 16;
+
     /*** Brick Grid Settings ***/
 
     /** Number of brick rows in the initial game grid. */
@@ -104,11 +115,51 @@ public class Constants {
     /** Height of each individual brick in the grid. */
     public static final float BRICK_HEIGHT = 15f;
 
+    /**
+     * Minimal width (in pixels) of a brick. A wall with more columns than fit the window at
+     * this width makes the playing field wider than the window, and the view follows the ball.
+     */
+    public static final float MIN_BRICK_WIDTH = 1f;
+
+    /**
+     * Layer holding the bricks. The engine never tests it against moving objects;
+     * brick collisions are dispatched by the brick grid instead.
+     */
+    public static final int BRICK_LAYER = Layer.STATIC_OBJECTS + 1;
+
+    /*** Brick Chunk Settings ***/
+
+    /** Whether brick game objects are only created for the parts of the wall within reach. */
+    public static final boolean CHUNKED_BRICKS = true;
+
+    /** Number of brick rows whose game objects are created and released together. */
+    public static final int BRICK_CHUNK_ROWS = 8;
+
+    /** Distance (in pixels) above and below a ball or puck within which bricks are kept created. */
+    public static final float BRICK_CHUNK_REACH = 100f;
+
+    /**
+     * Layer holding the pucks. Pucks collide with the default and static layers,
+     * but never with each other, so their collision cost grows linearly with their number.
+     */
+    public static final int PUCK_LAYER = Layer.DEFAULT + 1;
+
+    /*** Continuous Collision Settings ***/
+
+    /** Whether balls and pucks are swept against obstacles, so fast objects cannot tunnel. */
+    public static final boolean CONTINUOUS_COLLISIONS = true;
+
+    /** Depth (in pixels) an object swept into an obstacle is stopped at, so the overlap is detected. */
+    public static final float CONTACT_DEPTH = 0.5f;
+
     /*** Strategy Settings ***/
 
     /** Max number (exclusive) for random selection of strategies. */
     public static final int STRATEGY_ROLL_BOUND = 10;
 
+    /** Default number of pucks spawned by the extra balls strategy per destroyed brick. */
+    public static final int EXTRA_BALLS_PUCKS_PER_HIT = 2;
+
     /** Number of basic strategies available non-double strategies. */
     public static final int DOUBLE_STRATEGY_INDEX_BOUND = 4;
 
@@ -123,6 +174,17 @@ public class Constants {
     /** Number of collisions after which turbo mode ends. */
     public static final int TURBO_COLLISION_LIMIT = 6;
 
+    /*** Audio Settings ***/
+
+    /** Maximal number of sounds playing at once. */
+    public static final int AUDIO_VOICES = 8;
+
+    /** Time (in seconds) a started sound holds its voice, about the length of the collision sound. */
+    public static final float AUDIO_VOICE_DURATION = 0.15f;
+
+    /** Minimal time (in seconds) between two plays of the same sound. */
+    public static final float AUDIO_MIN_INTERVAL = 0.05f;
+
     /*** Asset Paths ***/
 
     /** File path for the paddle image. */
@@ -169,12 +231,134 @@ public class Constants {
     /** Tag used to identify brick objects. */
     public static final String BRICK_TAG = "Brick";
 
+    /** Tag used to identify the object drawing the brick wall. */
+    public static final String BRICK_WALL_TAG = "BrickWall";
+
     /** Tag used to identify boundary walls. */
     public static final String BOUNDARY_TAG = "Boundary";
 
     /** Tag used to identify the UI panel showing lives. */
     public static final String HEART_PANEL_TAG = "Heart Panel";
 
+    /*** Headless Simulation Settings ***/
+
+    /** Fixed time step (in seconds) of a single headless frame. */
+    public static final float HEADLESS_TIME_STEP = 1f / 60;
+
+    /** Default number of frames simulated by a headless run. */
+    public static final long HEADLESS_DEFAULT_FRAMES = 100_000;
+
+    /*** Fixed Time Step Settings ***/
+
+    /** Simulation ticks per second of the windowed game. */
+    public static final int FIXED_TICK_RATE = 60;
+
+    /** Maximal number of ticks simulated in a single rendered frame. */
+    public static final int MAX_CATCH_UP_TICKS = 5;
+
+    /*** Rewind Settings ***/
+
+    /** Whether games keep a rewind buffer of their recent ticks. */
+    public static final boolean REWIND_ENABLED = true;
+
+    /** Game time (in seconds) the rewind buffer keeps. */
+    public static final float REWIND_SECONDS = 60f;
+
+    /** Memory (in bytes) the rewind buffer may use; older ticks are dropped beyond it. */
+    public static final long REWIND_MAX_BYTES = 8L << 20;
+
+    /** Number of ticks between two keyframes of the rewind buffer. */
+    public static final int REWIND_KEYFRAME_TICKS = 120;
+
+    /** Distance (in pixels) a rewound puck may be off its recorded position. */
+    public static final float REWIND_POSITION_TOLERANCE = 0.125f;
+
+    /** Key held to scrub the game backwards. */
+    public static final int REWIND_KEY = KeyEvent.VK_R;
+
+    /** Number of recorded ticks scrubbed back per simulated tick while rewinding. */
+    public static final int REWIND_SPEED = 2;
+
+    /*** Batch Simulation Settings ***/
+
+    /** Default number of games played by a batch simulation. */
+    public static final int BATCH_DEFAULT_GAMES = 1_000;
+
+    /** Frames after which a batch game that was neither won nor lost is stopped. */
+    public static final long BATCH_MAX_FRAMES = 60 * 60 * 30;
+
+    /*** Parameter Tuning Settings ***/
+
+    /** Default number of parameter sets drawn by the tuner, the defaults included. */
+    public static final int TUNING_DEFAULT_CONFIGURATIONS = 100;
+
+    /** Default number of games played per parameter set by the tuner. */
+    public static final int TUNING_DEFAULT_GAMES_PER_CONFIGURATION = 20;
+
+    /** Frames after which a tuning game that was neither won nor lost is stopped. */
+    public static final long TUNING_MAX_FRAMES = 60 * 60 * 10;
+
+    /** Smallest strategy roll bound drawn by the tuner. */
+    public static final int TUNING_MIN_STRATEGY_ROLL_BOUND = 5;
+
+    /** Largest strategy roll bound drawn by the tuner. */
+    public static final int TUNING_MAX_STRATEGY_ROLL_BOUND = 20;
+
+    /** Smallest turbo factor drawn by the tuner. */
+    public static final float TUNING_MIN_TURBO_FACTOR = 1f;
+
+    /** Largest turbo factor drawn by the tuner. */
+    public static final float TUNING_MAX_TURBO_FACTOR = 2.5f;
+
+    /** Smallest turbo collision limit drawn by the tuner. */
+    public static final int TUNING_MIN_TURBO_COLLISION_LIMIT = 1;
+
+    /** Largest turbo collision limit drawn by the tuner. */
+    public static final int TUNING_MAX_TURBO_COLLISION_LIMIT = 15;
+
+    /** Smallest number of duplicate paddle hits drawn by the tuner. */
+    public static final int TUNING_MIN_HITS_PADDLE_DUPLICATOR = 1;
+
+    /** Largest number of duplicate paddle hits drawn by the tuner. */
+    public static final int TUNING_MAX_HITS_PADDLE_DUPLICATOR = 10;
+
+    /** Smallest puck speed drawn by the tuner. */
+    public static final float TUNING_MIN_PUCK_SPEED = BALL_SPEED / 3;
+
+    /** Largest puck speed drawn by the tuner. */
+    public static final float TUNING_MAX_PUCK_SPEED = 2 * BALL_SPEED;
+
+    /*** Lockstep Settings ***/
+
+    /** Default number of frames between sampling a player's keys and applying them. */
+    public static final int LOCKSTEP_DEFAULT_INPUT_DELAY = 3;
+
+    /** Largest input delay (in frames) of a lockstep session. */
+    public static final int LOCKSTEP_MAX_INPUT_DELAY = 60;
+
+    /** Time (in milliseconds) a lockstep peer waits for the other's input before giving up. */
+    public static final long LOCKSTEP_TIMEOUT_MILLIS = 10_000;
+
+    /** Number of frames between two round trip measurements of a lockstep session. */
+    public static final int LOCKSTEP_PING_INTERVAL = 30;
+
+    /** Size (in bytes) of the send and receive buffers of a lockstep session. */
+    public static final int LOCKSTEP_BUFFER_BYTES = 1 << 16;
+
+    /** Default number of frames played by a loopback versus match. */
+    public static final long LOCKSTEP_DEFAULT_FRAMES = 60 * 60 * 5;
+
+    /** Horizontal distance of each player's paddle from the window's middle when a versus game starts. */
+    public static final float LOCKSTEP_PADDLE_OFFSET_X = windowDimensions.x() / 4;
+
+    /*** Profiling Settings ***/
+
+    /** System property holding the path of the frame profiler's CSV; profiling is off when unset. */
+    public static final String PROFILE_PROPERTY = "bricker.profile";
+
+    /** System property printing the asset registry's load time and cache hits on exit when set to true. */
+    public static final String ASSET_STATS_PROPERTY = "bricker.assetStats";
+
     /*** Messages ***/
 
     /** Message shown to the player upon winning. */
@@ -0,0 +1,23 @@
+package bricker.main;
+
+/**
+ * Decides how a yes/no dialog shown by the game is answered.
+ * In a windowed game the player answers through the window controller,
+ * while headless runs plug in a fixed policy instead.
+ */
+@FunctionalInterface
+public interface DialogPolicy {
+	/** Always answers "yes" (the game restarts after a win or a loss). */
+	DialogPolicy ALWAYS_YES = message -> true;
+
+	/** Always answers "no" (the game closes after a win or a loss). */
+	DialogPolicy ALWAYS_NO = message -> false;
+
+	/**
+	 * Answers a yes/no question.
+	 *
+	 * @param message The message shown in the dialog.
+	 * @return true for "yes", false for "no".
+	 */
+	boolean answer(String message);
+}
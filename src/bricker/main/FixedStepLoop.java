@@ -0,0 +1,152 @@
+package bricker.main;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+
+/**
+ * Drives a simulation at a fixed tick rate, independent of the rendered frame rate.
+ * Every rendered frame adds its duration to an accumulator, and whole ticks are simulated
+ * out of it. When frames are too slow, at most a fixed number of ticks are simulated and
+ * the rest of the backlog is dropped, so a slow frame slows the game down instead of
+ * stalling it further.
+ * Between ticks, moving objects are displayed interpolated between their positions before
+ * and after the last tick; their true positions are restored before the next tick.
+ */
+public class FixedStepLoop {
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final float tickDuration;
+	private final int maxCatchUpTicks;
+	private float accumulator = 0;
+
+	// === Interpolated objects, with their positions before and after the last tick ===
+	private GameObject[] objects = new GameObject[INITIAL_CAPACITY];
+	private float[] previousX = new float[INITIAL_CAPACITY];
+	private float[] previousY = new float[INITIAL_CAPACITY];
+	private float[] currentX = new float[INITIAL_CAPACITY];
+	private float[] currentY = new float[INITIAL_CAPACITY];
+	private int objectsCount = 0;
+	private boolean interpolated = false;
+
+	/**
+	 * Constructs a fixed step loop.
+	 *
+	 * @param tickRate        Simulated ticks per second.
+	 * @param maxCatchUpTicks Maximal number of ticks simulated in a single frame.
+	 */
+	public FixedStepLoop(int tickRate, int maxCatchUpTicks) {
+		if (tickRate <= 0 || maxCatchUpTicks <= 0) {
+			throw new IllegalArgumentException("Tick rate and catch-up ticks must be positive");
+		}
+		this.tickDuration = 1f / tickRate;
+		this.maxCatchUpTicks = maxCatchUpTicks;
+	}
+
+	/**
+	 * Adds a rendered frame's duration to the accumulator.
+	 *
+	 * @param deltaTime Duration of the rendered frame.
+	 * @return The number of ticks to simulate in this frame.
+	 */
+	public int beginFrame(float deltaTime) {
+		restore();
+		accumulator += deltaTime;
+		int ticks = (int) (accumulator / tickDuration);
+		if (ticks > maxCatchUpTicks) {
+			ticks = maxCatchUpTicks;
+			accumulator = 0;  // drop the backlog
+		} else {
+			accumulator -= ticks * tickDuration;
+		}
+		return ticks;
+	}
+
+	/**
+	 * Records the positions of the given objects before the frame's last tick.
+	 *
+	 * @param layers The objects to display interpolated.
+	 */
+	@SafeVarargs
+	public final void snapshot(Iterable<GameObject>... layers) {
+		objectsCount = 0;
+		for (Iterable<GameObject> movers : layers) {
+			for (GameObject mover : movers) {
+				if (objectsCount == objects.length) grow();
+				Vector2 topLeft = mover.getTopLeftCorner();
+				objects[objectsCount] = mover;
+				previousX[objectsCount] = topLeft.x();
+				previousY[objectsCount] = topLeft.y();
+				objectsCount++;
+			}
+		}
+	}
+
+	/**
+	 * Displays the snapshotted objects between their positions before and after the last tick,
+	 * according to the time accumulated towards the next tick.
+	 */
+	public void interpolate() {
+		float alpha = getAlpha();
+		for (int i = 0; i < objectsCount; i++) {
+			Vector2 topLeft = objects[i].getTopLeftCorner();
+			currentX[i] = topLeft.x();
+			currentY[i] = topLeft.y();
+			objects[i].setTopLeftCorner(new Vector2(
+					previousX[i] + (currentX[i] - previousX[i]) * alpha,
+					previousY[i] + (currentY[i] - previousY[i]) * alpha));
+		}
+		interpolated = true;
+	}
+
+	/**
+	 * Moves the interpolated objects back to their simulated positions.
+	 * Does nothing if they are not displayed interpolated.
+	 */
+	public void restore() {
+		if (!interpolated) return;
+		for (int i = 0; i < objectsCount; i++) {
+			objects[i].setTopLeftCorner(new Vector2(currentX[i], currentY[i]));
+		}
+		interpolated = false;
+	}
+
+	/**
+	 * Forgets the snapshotted objects, when the game they belong to is rebuilt.
+	 */
+	public void clear() {
+		restore();
+		for (int i = 0; i < objectsCount; i++) {
+			objects[i] = null;
+		}
+		objectsCount = 0;
+		accumulator = 0;
+	}
+
+	/**
+	 * Doubles the capacity of the snapshot arrays.
+	 */
+	private void grow() {
+		int capacity = objects.length * 2;
+		objects = Arrays.copyOf(objects, capacity);
+		previousX = Arrays.copyOf(previousX, capacity);
+		previousY = Arrays.copyOf(previousY, capacity);
+		currentX = Arrays.copyOf(currentX, capacity);
+		currentY = Arrays.copyOf(currentY, capacity);
+	}
+
+	/**
+	 * @return Duration (in seconds) of a single tick.
+	 */
+	public float getTickDuration() {
+		return tickDuration;
+	}
+
+	/**
+	 * @return Fraction of a tick accumulated towards the next tick.
+	 */
+	public float getAlpha() {
+		return accumulator / tickDuration;
+	}
+}
@@ -0,0 +1,177 @@
+package bricker.main;
+
+/**
+ * The gameplay parameters of a single game, which used to be read from {@link Constants}:
+ * how often bricks get a special strategy, how strong and long turbo mode is, how many hits
+ * a duplicate paddle takes and how fast pucks fly. Parameters are immutable and held by each
+ * game, so games with different parameters can run side by side in one JVM.
+ */
+public final class GameParameters {
+	/** Names of the parameters, by index, as read by {@link #get(int)}. */
+	public static final String[] NAMES = {
+			"strategyRollBound", "turboFactor", "turboCollisionLimit", "maxHitsPaddleDuplicator", "puckSpeed"};
+	/** The parameters of {@link Constants}. */
+	public static final GameParameters DEFAULTS = new GameParameters(
+			Constants.STRATEGY_ROLL_BOUND,
+			Constants.TURBO_FACTOR,
+			Constants.TURBO_COLLISION_LIMIT,
+			Constants.MAX_HITS_PADDLE_DUPLICATOR,
+			Constants.MINIS_BALLS_SPEED);
+
+	private final int strategyRollBound;
+	private final float turboFactor;
+	private final int turboCollisionLimit;
+	private final int maxHitsPaddleDuplicator;
+	private final float puckSpeed;
+
+	/**
+	 * Constructs a set of gameplay parameters.
+	 *
+	 * @param strategyRollBound       Bound (exclusive) of a brick's strategy roll; rolls from 5 up
+	 *                                give a basic brick, so a higher bound means fewer special bricks.
+	 * @param turboFactor             Speed multiplier of a ball in turbo mode.
+	 * @param turboCollisionLimit     Number of collisions after which turbo mode ends.
+	 * @param maxHitsPaddleDuplicator Number of hits a duplicate paddle takes before disappearing.
+	 * @param puckSpeed               Speed of the pucks spawned by the extra balls strategy.
+	 * @throws IllegalArgumentException If a parameter is out of its range.
+	 */
+	public GameParameters(int strategyRollBound, float turboFactor, int turboCollisionLimit,
+						  int maxHitsPaddleDuplicator, float puckSpeed) {
+		if (strategyRollBound <= 0 || !(turboFactor > 0) || turboCollisionLimit < 0
+				|| maxHitsPaddleDuplicator <= 0 || !(puckSpeed > 0)) {
+			throw new IllegalArgumentException("Invalid game parameters: " + describe(strategyRollBound,
+					turboFactor, turboCollisionLimit, maxHitsPaddleDuplicator, puckSpeed));
+		}
+		this.strategyRollBound = strategyRollBound;
+		this.turboFactor = turboFactor;
+		this.turboCollisionLimit = turboCollisionLimit;
+		this.maxHitsPaddleDuplicator = maxHitsPaddleDuplicator;
+		this.puckSpeed = puckSpeed;
+	}
+
+	/**
+	 * @return Bound (exclusive) of a brick's strategy roll.
+	 */
+	public int getStrategyRollBound() {
+		return strategyRollBound;
+	}
+
+	/**
+	 * @return Speed multiplier of a ball in turbo mode.
+	 */
+	public float getTurboFactor() {
+		return turboFactor;
+	}
+
+	/**
+	 * @return Number of collisions after which turbo mode ends.
+	 */
+	public int getTurboCollisionLimit() {
+		return turboCollisionLimit;
+	}
+
+	/**
+	 * @return Number of hits a duplicate paddle takes before disappearing.
+	 */
+	public int getMaxHitsPaddleDuplicator() {
+		return maxHitsPaddleDuplicator;
+	}
+
+	/**
+	 * @return Speed of the pucks spawned by the extra balls strategy.
+	 */
+	public float getPuckSpeed() {
+		return puckSpeed;
+	}
+
+	/**
+	 * @param index Index of a parameter in {@link #NAMES}.
+	 * @return The parameter's value.
+	 */
+	public double get(int index) {
+		switch (index) {
+			case 0:
+				return strategyRollBound;
+			case 1:
+				return turboFactor;
+			case 2:
+				return turboCollisionLimit;
+			case 3:
+				return maxHitsPaddleDuplicator;
+			case 4:
+				return puckSpeed;
+			default:
+				throw new IndexOutOfBoundsException("No game parameter " + index);
+		}
+	}
+
+	/**
+	 * @param strategyRollBound Bound (exclusive) of a brick's strategy roll.
+	 * @return These parameters, with the given strategy roll bound.
+	 */
+	public GameParameters withStrategyRollBound(int strategyRollBound) {
+		return new GameParameters(strategyRollBound, turboFactor, turboCollisionLimit,
+				maxHitsPaddleDuplicator, puckSpeed);
+	}
+
+	/**
+	 * @param turboFactor Speed multiplier of a ball in turbo mode.
+	 * @return These parameters, with the given turbo factor.
+	 */
+	public GameParameters withTurboFactor(float turboFactor) {
+		return new GameParameters(strategyRollBound, turboFactor, turboCollisionLimit,
+				maxHitsPaddleDuplicator, puckSpeed);
+	}
+
+	/**
+	 * @param turboCollisionLimit Number of collisions after which turbo mode ends.
+	 * @return These parameters, with the given turbo collision limit.
+	 */
+	public GameParameters withTurboCollisionLimit(int turboCollisionLimit) {
+		return new GameParameters(strategyRollBound, turboFactor, turboCollisionLimit,
+				maxHitsPaddleDuplicator, puckSpeed);
+	}
+
+	/**
+	 * @param maxHitsPaddleDuplicator Number of hits a duplicate paddle takes before disappearing.
+	 * @return These parameters, with the given duplicate paddle hits.
+	 */
+	public GameParameters withMaxHitsPaddleDuplicator(int maxHitsPaddleDuplicator) {
+		return new GameParameters(strategyRollBound, turboFactor, turboCollisionLimit,
+				maxHitsPaddleDuplicator, puckSpeed);
+	}
+
+	/**
+	 * @param puckSpeed Speed of the pucks spawned by the extra balls strategy.
+	 * @return These parameters, with the given puck speed.
+	 */
+	public GameParameters withPuckSpeed(float puckSpeed) {
+		return new GameParameters(strategyRollBound, turboFactor, turboCollisionLimit,
+				maxHitsPaddleDuplicator, puckSpeed);
+	}
+
+	/**
+	 * @return The parameters as name=value pairs.
+	 */
+	@Override
+	public String toString() {
+		return describe(strategyRollBound, turboFactor, turboCollisionLimit, maxHitsPaddleDuplicator, puckSpeed);
+	}
+
+	/**
+	 * Formats parameters as name=value pairs.
+	 *
+	 * @param strategyRollBound       Bound (exclusive) of a brick's strategy roll.
+	 * @param turboFactor             Speed multiplier of a ball in turbo mode.
+	 * @param turboCollisionLimit     Number of collisions after which turbo mode ends.
+	 * @param maxHitsPaddleDuplicator Number of hits a duplicate paddle takes before disappearing.
+	 * @param puckSpeed               Speed of the spawned pucks.
+	 * @return The formatted parameters.
+	 */
+	private static String describe(int strategyRollBound, float turboFactor, int turboCollisionLimit,
+								   int maxHitsPaddleDuplicator, float puckSpeed) {
+		return String.format("%s=%d %s=%.2f %s=%d %s=%d %s=%.1f",
+				NAMES[0], strategyRollBound, NAMES[1], turboFactor, NAMES[2], turboCollisionLimit,
+				NAMES[3], maxHitsPaddleDuplicator, NAMES[4], puckSpeed);
+	}
+}
@@ -0,0 +1,66 @@
+package bricker.main;
+
+import java.util.Random;
+
+/**
+ * The random source of a game, whose state can be read and set, so a snapshot of the game
+ * also captures its randomness. It draws exactly the same sequence as a {@link Random}
+ * built with the same seed, so recorded sessions replay unchanged.
+ */
+class GameRandom extends Random {
+	private static final long serialVersionUID = 1L;
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	/** The 48-bit state of the linear congruential generator, as kept by {@link Random}. */
+	private long state;
+
+	/**
+	 * Constructs a random source with the given seed.
+	 *
+	 * @param seed The initial seed.
+	 */
+	GameRandom(long seed) {
+		super(seed);  // calls setSeed
+	}
+
+	/**
+	 * Sets the seed, scrambled as {@link Random#setSeed} does.
+	 *
+	 * @param seed The new seed.
+	 */
+	@Override
+	public synchronized void setSeed(long seed) {
+		super.setSeed(seed);  // also resets the cached Gaussian
+		state = (seed ^ MULTIPLIER) & MASK;
+	}
+
+	/**
+	 * Advances the generator and returns its next bits, as {@link Random#next} does.
+	 *
+	 * @param bits Number of random bits.
+	 * @return The next random bits.
+	 */
+	@Override
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (state >>> (48 - bits));
+	}
+
+	/**
+	 * @return The generator's current state.
+	 */
+	long getState() {
+		return state;
+	}
+
+	/**
+	 * Sets the generator's state, as read by {@link #getState}.
+	 *
+	 * @param state The state to continue from.
+	 */
+	void setState(long state) {
+		this.state = state & MASK;
+	}
+}
@@ -0,0 +1,281 @@
+package bricker.main;
+
+import bricker.brick_strategies.PaddleDuplicatorStrategy;
+import bricker.brick_strategies.TurboModeStrategy;
+import bricker.collisions.BrickGrid;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.FallingHeart;
+import bricker.gameobjects.Puck;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * The binary format of a game's saved state, written and read by
+ * {@link BrickerGameManager#saveSnapshot} and {@link BrickerGameManager#restoreSnapshot}.
+ * A snapshot starts with a header: magic, format version, rows and columns of the wall.
+ * Then follow the state of the game's random source, the lives left and lost, the main
+ * ball's position, velocity and collision count, the paddle's position and velocity, the turbo and
+ * duplicate paddle state, the position and velocity of every live puck, the position of
+ * every falling heart, and last the wall: a bitset of the cells holding a brick, then the
+ * strategy code and hit points of each brick.
+ * <p>Restoring reuses the game's objects: the ball and paddle are moved, and pucks and
+ * hearts are taken from their pools, so the cost of a restore is dominated by the wall,
+ * and grows linearly with its number of bricks. Balls already lost below the window are
+ * not part of a snapshot, and are removed on restore.</p>
+ */
+public final class GameSnapshot {
+	/** Magic number opening every snapshot ("BSNP"). */
+	public static final int MAGIC = 0x42534E50;
+	/** Version of the snapshot format. */
+	public static final int VERSION = 1;
+	/** Size of the header, in bytes. */
+	public static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+	/** Size of the fixed state following the header, up to the pucks, in bytes. */
+	static final int STATE_BYTES = Long.BYTES                    // random state
+			+ 2 * Integer.BYTES                                  // lives left and lost
+			+ 4 * Float.BYTES + Integer.BYTES                    // ball
+			+ 4 * Float.BYTES                                    // paddle
+			+ 1 + Integer.BYTES                                  // turbo
+			+ 1 + 4 * Float.BYTES + Integer.BYTES;               // duplicate paddle
+	/** Size of a puck, in bytes: position and velocity. */
+	static final int BYTES_PER_PUCK = 4 * Float.BYTES;
+	/** Size of a falling heart, in bytes: its position. */
+	static final int BYTES_PER_HEART = 2 * Float.BYTES;
+
+	/**
+	 * Not instantiable.
+	 */
+	private GameSnapshot() {
+	}
+
+	/**
+	 * Computes the size of a game's snapshot.
+	 *
+	 * @param game The game.
+	 * @return Size of the game's snapshot at this point, in bytes.
+	 */
+	static int size(BrickerGameManager game) {
+		GameObjectCollection gameObjects = game.getGameObjects();
+		return HEADER_BYTES + STATE_BYTES
+				+ Integer.BYTES + BYTES_PER_PUCK * count(gameObjects.objectsInLayer(Constants.PUCK_LAYER), Puck.class)
+				+ heartsSize(game)
+				+ game.getBrickGrid().cellsSize();
+	}
+
+	/**
+	 * @param game The game.
+	 * @return Size of the game's falling hearts, as written by {@link #writeHearts}, in bytes.
+	 */
+	static int heartsSize(BrickerGameManager game) {
+		return Integer.BYTES
+				+ BYTES_PER_HEART * count(game.getGameObjects().objectsInLayer(Layer.DEFAULT), FallingHeart.class);
+	}
+
+	/**
+	 * Writes a game's state.
+	 *
+	 * @param game The game.
+	 * @param out  Buffer to write to, from its position.
+	 * @throws java.nio.BufferOverflowException If the buffer has less than {@link #size} bytes left.
+	 */
+	static void write(BrickerGameManager game, ByteBuffer out) {
+		BrickGrid brickGrid = game.getBrickGrid();
+		writeHeader(out, brickGrid.getRows(), brickGrid.getCols());
+		writeState(game, out);
+		Iterable<GameObject> pucks = game.getGameObjects().objectsInLayer(Constants.PUCK_LAYER);
+		out.putInt(count(pucks, Puck.class));
+		for (GameObject object : pucks) {
+			if (object instanceof Puck) {
+				putVector(out, object.getTopLeftCorner());
+				putVector(out, object.getVelocity());
+			}
+		}
+		writeHearts(game, out);
+		brickGrid.writeCells(out);
+	}
+
+	/**
+	 * Writes the header of a snapshot.
+	 *
+	 * @param out  Buffer to write to.
+	 * @param rows Number of brick rows of the wall.
+	 * @param cols Number of brick columns of the wall.
+	 */
+	static void writeHeader(ByteBuffer out, int rows, int cols) {
+		out.putInt(MAGIC);
+		out.putInt(VERSION);
+		out.putInt(rows);
+		out.putInt(cols);
+	}
+
+	/**
+	 * Writes the fixed state of a game, {@link #STATE_BYTES} long: random source, lives,
+	 * ball, paddle, turbo and duplicate paddle.
+	 *
+	 * @param game The game.
+	 * @param out  Buffer to write to.
+	 */
+	static void writeState(BrickerGameManager game, ByteBuffer out) {
+		out.putLong(game.gameRandom().getState());
+		out.putInt(game.getHeartsPanel().getLifeNum());
+		out.putInt(game.getLivesLost());
+
+		Ball ball = game.getBall();
+		putVector(out, ball.getTopLeftCorner());
+		putVector(out, ball.getVelocity());
+		out.putInt(ball.getCollisionCounter());
+		putVector(out, game.getPaddle().getTopLeftCorner());
+		putVector(out, game.getPaddle().getVelocity());  // applied on the next update
+
+		TurboModeStrategy turbo = game.getStrategyTable().getTurboMode();
+		boolean turboActive = turbo.getTurboBall() == ball;  // not a ball lost since
+		out.put((byte) (turboActive ? 1 : 0));
+		out.putInt(turboActive ? turbo.getTurboCollisionStart() : 0);
+		PaddleDuplicatorStrategy duplicator = game.getStrategyTable().getPaddleDuplicator();
+		GameObject duplicate = duplicator.getDuplicatePaddle();
+		out.put((byte) (duplicate != null ? 1 : 0));
+		putVector(out, duplicate != null ? duplicate.getTopLeftCorner() : Vector2.ZERO);
+		putVector(out, duplicate != null ? duplicate.getVelocity() : Vector2.ZERO);
+		out.putInt(duplicator.getDuplicateHits());
+	}
+
+	/**
+	 * Writes the number of falling hearts, then the position of each.
+	 *
+	 * @param game The game.
+	 * @param out  Buffer to write to.
+	 */
+	static void writeHearts(BrickerGameManager game, ByteBuffer out) {
+		Iterable<GameObject> defaultLayer = game.getGameObjects().objectsInLayer(Layer.DEFAULT);
+		out.putInt(count(defaultLayer, FallingHeart.class));
+		for (GameObject object : defaultLayer) {
+			if (object instanceof FallingHeart) {
+				putVector(out, object.getTopLeftCorner());
+			}
+		}
+	}
+
+	/**
+	 * Replaces a game's state with a saved one. Objects are added and removed immediately,
+	 * so a snapshot must be restored between frames.
+	 *
+	 * @param game The game, playing a wall of the same size as the saved one.
+	 * @param in   Buffer to read from, from its position.
+	 * @throws IllegalArgumentException If the buffer does not hold a snapshot of this game's wall.
+	 */
+	static void read(BrickerGameManager game, ByteBuffer in) {
+		GameObjectCollection gameObjects = game.getGameObjects();
+		BrickGrid brickGrid = game.getBrickGrid();
+		if (in.remaining() < HEADER_BYTES + STATE_BYTES + 2 * Integer.BYTES || in.getInt() != MAGIC) {
+			throw new IllegalArgumentException("Not a game snapshot");
+		}
+		int version = in.getInt();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported snapshot version " + version);
+		}
+		int rows = in.getInt();
+		int cols = in.getInt();
+		if (rows != brickGrid.getRows() || cols != brickGrid.getCols()) {
+			throw new IllegalArgumentException("Snapshot of a " + rows + "x" + cols
+					+ " wall, but the game plays a " + brickGrid.getRows() + "x" + brickGrid.getCols() + " wall");
+		}
+
+		game.gameRandom().setState(in.getLong());
+		int lifeNum = in.getInt();
+		game.restoreLives(lifeNum, in.getInt());
+
+		Ball ball = game.getBall();
+		ArrayList<GameObject> removed = new ArrayList<>();
+		for (GameObject object : gameObjects.objectsInLayer(Layer.DEFAULT)) {
+			if (object instanceof Ball && object != ball || object instanceof FallingHeart) {
+				removed.add(object);
+			}
+		}
+		for (GameObject object : gameObjects.objectsInLayer(Constants.PUCK_LAYER)) {
+			if (object instanceof Puck) {
+				removed.add(object);
+			}
+		}
+		for (GameObject object : removed) {
+			if (object instanceof Puck) {
+				((Puck) object).despawn();
+			} else if (object instanceof FallingHeart) {
+				((FallingHeart) object).despawn();
+			} else {
+				gameObjects.removeGameObject(object, Layer.DEFAULT);
+			}
+		}
+
+		ball.setTopLeftCorner(getVector(in));
+		ball.setVelocity(getVector(in));
+		ball.setCollisionCounter(in.getInt());
+		game.getPaddle().setTopLeftCorner(getVector(in));
+		game.getPaddle().setVelocity(getVector(in));
+
+		boolean turboActive = in.get() != 0;
+		game.getStrategyTable().getTurboMode().restore(ball, turboActive, in.getInt());
+		boolean duplicateActive = in.get() != 0;
+		Vector2 duplicateTopLeft = getVector(in);
+		Vector2 duplicateVelocity = getVector(in);
+		game.getStrategyTable().getPaddleDuplicator().restore(
+				duplicateActive, duplicateTopLeft, duplicateVelocity, in.getInt());
+
+		int pucks = in.getInt();
+		for (int i = 0; i < pucks; i++) {
+			Puck puck = game.getPuckPool().acquire();
+			puck.setTopLeftCorner(getVector(in));
+			puck.setVelocity(getVector(in));
+			gameObjects.addGameObject(puck, Constants.PUCK_LAYER);
+		}
+		int hearts = in.getInt();
+		for (int i = 0; i < hearts; i++) {
+			FallingHeart heart = game.getHeartPool().acquire();
+			heart.setTopLeftCorner(getVector(in));
+			gameObjects.addGameObject(heart, Layer.DEFAULT);
+		}
+
+		brickGrid.readCells(in);
+	}
+
+	/**
+	 * Counts the objects of a given type.
+	 *
+	 * @param objects The objects.
+	 * @param type    The counted type.
+	 * @return Number of objects of that type.
+	 */
+	static int count(Iterable<GameObject> objects, Class<?> type) {
+		int count = 0;
+		for (GameObject object : objects) {
+			if (type.isInstance(object)) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Writes a vector as two floats.
+	 *
+	 * @param out    Buffer to write to.
+	 * @param vector The vector.
+	 */
+	static void putVector(ByteBuffer out, Vector2 vector) {
+		out.putFloat(vector.x());
+		out.putFloat(vector.y());
+	}
+
+	/**
+	 * Reads a vector written by {@link #putVector}.
+	 *
+	 * @param in Buffer to read from.
+	 * @return The vector.
+	 */
+	private static Vector2 getVector(ByteBuffer in) {
+		return new Vector2(in.getFloat(), in.getFloat());
+	}
+}
@@ -0,0 +1,290 @@
+package bricker.main;
+
+import bricker.profiling.FrameProfiler;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Runs Bricker games without a window, rendering or audio.
+ * Every frame advances the game by a fixed time step, as fast as the CPU allows,
+ * so the simulation throughput can be measured on a machine without a display.
+ * When the dialog policy restarts the game, a fresh game replaces the old one,
+ * just like the window controller rebuilds the game on reset.
+ * Games draw their seeds from a single source, so a seeded simulation is reproducible,
+ * and an input log recorded in the window or here can be replayed at full speed.
+ */
+public class HeadlessSimulation {
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+	private static final String REPLAY_ARG = "--replay";
+	private static final String AUTOPILOT_ARG = "--autopilot";
+
+	private final int rowBricksNum;
+	private final int colBricksNum;
+	private final float timeStep;
+	private final InputSource inputSource;
+	private final DialogPolicy dialogPolicy;
+	private final Random seedSource;
+	private final boolean autopilot;
+
+	private BrickerGameManager game;
+	private FrameProfiler frameProfiler;
+	private long framesRun = 0;
+	private long simulationNanos = 0;
+	private int gamesStarted = 0;
+
+	/**
+	 * Constructs a headless simulation and starts its first game.
+	 *
+	 * @param rowBricksNum Number of brick rows.
+	 * @param colBricksNum Number of brick columns.
+	 * @param timeStep     Fixed time step (in seconds) of every frame.
+	 * @param inputSource  Source of the keyboard state.
+	 * @param dialogPolicy Policy answering the win/lose dialogs.
+	 */
+	public HeadlessSimulation(int rowBricksNum, int colBricksNum, float timeStep,
+							  InputSource inputSource, DialogPolicy dialogPolicy) {
+		this(rowBricksNum, colBricksNum, timeStep, inputSource, dialogPolicy, new Random());
+	}
+
+	/**
+	 * Constructs a headless simulation whose games draw their seeds from the given source,
+	 * and starts its first game.
+	 *
+	 * @param rowBricksNum Number of brick rows.
+	 * @param colBricksNum Number of brick columns.
+	 * @param timeStep     Fixed time step (in seconds) of every frame.
+	 * @param inputSource  Source of the keyboard state.
+	 * @param dialogPolicy Policy answering the win/lose dialogs.
+	 * @param seedSource   Source of the seeds of the simulated games.
+	 */
+	public HeadlessSimulation(int rowBricksNum, int colBricksNum, float timeStep,
+							  InputSource inputSource, DialogPolicy dialogPolicy,
+							  Random seedSource) {
+		this(rowBricksNum, colBricksNum, timeStep, inputSource, dialogPolicy, seedSource, false);
+	}
+
+	/**
+	 * Constructs a headless simulation whose games draw their seeds from the given source,
+	 * optionally steered by the paddle autopilot, and starts its first game.
+	 *
+	 * @param rowBricksNum Number of brick rows.
+	 * @param colBricksNum Number of brick columns.
+	 * @param timeStep     Fixed time step (in seconds) of every frame.
+	 * @param inputSource  Source of the keyboard state.
+	 * @param dialogPolicy Policy answering the win/lose dialogs.
+	 * @param seedSource   Source of the seeds of the simulated games.
+	 * @param autopilot    true to steer the paddles with the autopilot instead of the keyboard state.
+	 */
+	public HeadlessSimulation(int rowBricksNum, int colBricksNum, float timeStep,
+							  InputSource inputSource, DialogPolicy dialogPolicy,
+							  Random seedSource, boolean autopilot) {
+		this.seedSource = seedSource;
+		this.autopilot = autopilot;
+		this.rowBricksNum = rowBricksNum;
+		this.colBricksNum = colBricksNum;
+		this.timeStep = timeStep;
+		this.inputSource = inputSource;
+		this.dialogPolicy = dialogPolicy;
+		startGame();
+	}
+
+	/**
+	 * Creates and initializes a new headless game.
+	 */
+	private void startGame() {
+		game = new BrickerGameManager(
+				Constants.GAME_TITLE,
+				Constants.windowDimensions,
+				rowBricksNum,
+				colBricksNum,
+				seedSource);
+		game.setAutopilot(autopilot);
+		game.initializeHeadless(inputSource, dialogPolicy);
+		game.setFrameProfiler(frameProfiler);
+		gamesStarted++;
+	}
+
+	/**
+	 * Records the cost of every frame of the current and future games.
+	 *
+	 * @param frameProfiler The profiler, or null to stop profiling.
+	 */
+	public void setFrameProfiler(FrameProfiler frameProfiler) {
+		this.frameProfiler = frameProfiler;
+		game.setFrameProfiler(frameProfiler);
+	}
+
+	/**
+	 * Advances the simulation by a single frame.
+	 * Does nothing once the game was closed.
+	 */
+	public void step() {
+		step(timeStep);
+	}
+
+	/**
+	 * Advances the simulation by a single frame of the given time step.
+	 * Does nothing once the game was closed.
+	 *
+	 * @param deltaTime Time step (in seconds) of the frame.
+	 */
+	public void step(float deltaTime) {
+		if (isFinished()) return;
+		long start = System.nanoTime();
+		game.update(deltaTime);
+		simulationNanos += System.nanoTime() - start;
+		framesRun++;
+		if (game.isResetRequested()) {
+			startGame();
+		}
+	}
+
+	/**
+	 * Advances the simulation until the game is closed or the frame limit is reached.
+	 *
+	 * @param maxFrames Maximal number of frames to run.
+	 * @return The number of frames actually run.
+	 */
+	public long run(long maxFrames) {
+		long before = framesRun;
+		while (!isFinished() && framesRun - before < maxFrames) {
+			step();
+		}
+		return framesRun - before;
+	}
+
+	/**
+	 * Creates a simulation replaying an input log from its first frame.
+	 * The win/lose dialogs are answered positively, so the recorded session
+	 * should not end with a declined dialog. Run it with {@link #runReplay(InputReplay)}.
+	 *
+	 * @param replay The replayed log.
+	 * @return A simulation of the recorded session.
+	 */
+	public static HeadlessSimulation replay(InputReplay replay) {
+		return new HeadlessSimulation(replay.getRowBricksNum(), replay.getColBricksNum(),
+				Constants.HEADLESS_TIME_STEP, replay, DialogPolicy.ALWAYS_YES,
+				new Random(replay.getSeed()));
+	}
+
+	/**
+	 * Simulates every remaining frame of an input log, with its recorded time steps.
+	 *
+	 * @param replay The replayed log, whose input this simulation uses.
+	 * @return The number of frames run.
+	 */
+	public long runReplay(InputReplay replay) {
+		long before = framesRun;
+		while (!isFinished() && replay.nextFrame()) {
+			step(replay.getDelta());
+		}
+		return framesRun - before;
+	}
+
+	/**
+	 * @return true if the dialog policy closed the game.
+	 */
+	public boolean isFinished() {
+		return game.isClosed();
+	}
+
+	/**
+	 * @return The game currently being simulated.
+	 */
+	public BrickerGameManager getGame() {
+		return game;
+	}
+
+	/**
+	 * @return Total number of frames simulated.
+	 */
+	public long getFramesRun() {
+		return framesRun;
+	}
+
+	/**
+	 * @return Number of games started, including restarts.
+	 */
+	public int getGamesStarted() {
+		return gamesStarted;
+	}
+
+	/**
+	 * @return Simulated frames per second of wall-clock time spent in updates.
+	 */
+	public double getFramesPerSecond() {
+		if (simulationNanos == 0) return 0;
+		return framesRun * (double) NANOS_PER_SECOND / simulationNanos;
+	}
+
+	/**
+	 * Entry point. Runs a headless simulation and prints its throughput.
+	 * With {@code --replay <log>}, replays an input log at full speed instead.
+	 * With a leading {@code --autopilot}, the paddle autopilot plays the games, which cannot
+	 * then be recorded.
+	 *
+	 * @param args Optional brick columns, brick rows, number of frames, seed and record file path.
+	 */
+	public static void main(String[] args) {
+		if (args.length == 2 && args[0].equals(REPLAY_ARG)) {
+			InputReplay replay = new InputReplay(Path.of(args[1]));
+			HeadlessSimulation simulation = replay(replay);
+			FrameProfiler profiler = BrickerGameManager.requestedFrameProfiler();
+			simulation.setFrameProfiler(profiler);
+			simulation.runReplay(replay);
+			if (profiler != null) {
+				profiler.close();
+			}
+			System.out.printf("replayed frames=%d games=%d fps=%.1f bricks left=%d%n",
+					simulation.getFramesRun(),
+					simulation.getGamesStarted(),
+					simulation.getFramesPerSecond(),
+					simulation.getGame().getBricksCounter().value());
+			return;
+		}
+		boolean autopilot = args.length > 0 && args[0].equals(AUTOPILOT_ARG);
+		if (autopilot) {
+			args = Arrays.copyOfRange(args, 1, args.length);
+		}
+		int rowBricksNum = Constants.ROW_BRICKS_NUM;
+		int colBricksNum = Constants.COL_BRICKS_NUM;
+		long frames = Constants.HEADLESS_DEFAULT_FRAMES;
+		if (args.length >= 2) {
+			colBricksNum = Integer.parseInt(args[0]);
+			rowBricksNum = Integer.parseInt(args[1]);
+		}
+		if (args.length >= 3) {
+			frames = Long.parseLong(args[2]);
+		}
+		long seed = args.length >= 4 ? Long.parseLong(args[3]) : new Random().nextLong();
+		InputSource input = InputSource.IDLE;
+		InputRecorder recorder = null;
+		if (args.length >= 5) {
+			if (autopilot) {
+				throw new IllegalArgumentException("An autopilot session cannot be recorded");
+			}
+			recorder = new InputRecorder(input, Path.of(args[4]), seed, rowBricksNum, colBricksNum);
+			input = recorder;
+		}
+		HeadlessSimulation simulation = new HeadlessSimulation(
+				rowBricksNum, colBricksNum, Constants.HEADLESS_TIME_STEP,
+				input, DialogPolicy.ALWAYS_YES, new Random(seed), autopilot);
+		FrameProfiler profiler = BrickerGameManager.requestedFrameProfiler();
+		simulation.setFrameProfiler(profiler);
+		simulation.run(frames);
+		if (recorder != null) {
+			recorder.close();
+		}
+		if (profiler != null) {
+			profiler.close();
+		}
+		System.out.printf("frames=%d games=%d fps=%.1f%n",
+				simulation.getFramesRun(),
+				simulation.getGamesStarted(),
+				simulation.getFramesPerSecond());
+		System.out.println("audio of the last game: " + simulation.getGame().getAudioManager());
+		System.out.println("rewind of the last game: " + simulation.getGame().getRewindBuffer());
+	}
+}
@@ -0,0 +1,37 @@
+package bricker.main;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Layout of the input log files written by {@link InputRecorder} and read by {@link InputReplay}.
+ * A log starts with a header: magic, format version, session seed, brick rows and brick columns.
+ * Then follows a single byte per frame, holding a bit per tracked key. When the frame's
+ * time step differs from the previous frame's, its byte also has the delta flag set
+ * and is followed by the new time step as a float.
+ */
+final class InputLog {
+	/** Magic number opening every input log ("BRKR"). */
+	static final int MAGIC = 0x42524B52;
+	/** Version of the log format. */
+	static final byte VERSION = 1;
+	/** Set in a frame's byte when a new time step follows it. */
+	static final int DELTA_FLAG = 0x80;
+	/** Keys recorded in the log; a key's bit is its index in this array. */
+	static final int[] TRACKED_KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_W, Constants.REWIND_KEY};
+
+	private InputLog() {
+	}
+
+	/**
+	 * @param keyCode The key code of a key.
+	 * @return The key's bit in a frame's byte, or 0 if the key is not recorded.
+	 */
+	static int bitOf(int keyCode) {
+		for (int i = 0; i < TRACKED_KEYS.length; i++) {
+			if (TRACKED_KEYS[i] == keyCode) {
+				return 1 << i;
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,116 @@
+package bricker.main;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An input source that logs the keyboard state of every frame to a file.
+ * The keys are sampled once per frame, on the frame's first query, and every query of
+ * that frame is answered from the sample. The game therefore sees exactly the state
+ * that was logged, and replaying the log with {@link InputReplay} reproduces the session.
+ * Keys not listed in the log format are reported as released.
+ */
+public class InputRecorder implements InputSource {
+	private final InputSource source;
+	private final DataOutputStream out;
+
+	private int frameMask = 0;
+	private boolean sampled = false;
+	private float lastDelta = Float.NaN;
+	private long framesRecorded = 0;
+	private boolean closed = false;
+
+	/**
+	 * Constructs a recorder and writes the log's header.
+	 *
+	 * @param source       The recorded keyboard state.
+	 * @param path         Path of the log file, overwritten if it exists.
+	 * @param seed         Seed of the recorded session.
+	 * @param rowBricksNum Number of brick rows of the recorded games.
+	 * @param colBricksNum Number of brick columns of the recorded games.
+	 */
+	public InputRecorder(InputSource source, Path path, long seed, int rowBricksNum, int colBricksNum) {
+		this.source = source;
+		try {
+			out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+			out.writeInt(InputLog.MAGIC);
+			out.writeByte(InputLog.VERSION);
+			out.writeLong(seed);
+			out.writeInt(rowBricksNum);
+			out.writeInt(colBricksNum);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reads the tracked keys of the current frame from the source.
+	 */
+	private void sample() {
+		frameMask = 0;
+		for (int i = 0; i < InputLog.TRACKED_KEYS.length; i++) {
+			if (source.isKeyPressed(InputLog.TRACKED_KEYS[i])) {
+				frameMask |= 1 << i;
+			}
+		}
+		sampled = true;
+	}
+
+	/**
+	 * @param keyCode The key code of the queried key.
+	 * @return true if the key is pressed in the current frame's sample.
+	 */
+	@Override
+	public boolean isKeyPressed(int keyCode) {
+		if (!sampled) sample();
+		return (frameMask & InputLog.bitOf(keyCode)) != 0;
+	}
+
+	/**
+	 * Writes the current frame to the log.
+	 *
+	 * @param deltaTime The time step the frame was simulated with.
+	 */
+	@Override
+	public synchronized void endFrame(float deltaTime) {
+		if (closed) return;
+		if (!sampled) sample();
+		try {
+			if (deltaTime != lastDelta) {
+				out.writeByte(frameMask | InputLog.DELTA_FLAG);
+				out.writeFloat(deltaTime);
+				lastDelta = deltaTime;
+			} else {
+				out.writeByte(frameMask);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		sampled = false;
+		framesRecorded++;
+	}
+
+	/**
+	 * Flushes and closes the log. Further frames are not recorded.
+	 */
+	public synchronized void close() {
+		if (closed) return;
+		closed = true;
+		try {
+			out.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return Number of frames written to the log.
+	 */
+	public long getFramesRecorded() {
+		return framesRecorded;
+	}
+}
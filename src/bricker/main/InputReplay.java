@@ -0,0 +1,107 @@
+package bricker.main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An input source playing back a log written by {@link InputRecorder}.
+ * The driver calls {@link #nextFrame()} before simulating every frame, then simulates
+ * it with {@link #getDelta()}; the game's queries are answered from the frame's logged keys.
+ */
+public class InputReplay implements InputSource {
+	private final ByteBuffer log;
+	private final long seed;
+	private final int rowBricksNum;
+	private final int colBricksNum;
+
+	private int frameMask = 0;
+	private float delta = 0;
+	private long framesRead = 0;
+
+	/**
+	 * Reads an input log and its header.
+	 *
+	 * @param path Path of the log file.
+	 * @throws IllegalArgumentException If the file is not an input log of a known version.
+	 */
+	public InputReplay(Path path) {
+		try {
+			log = ByteBuffer.wrap(Files.readAllBytes(path));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (log.remaining() < Integer.BYTES + 1 || log.getInt() != InputLog.MAGIC) {
+			throw new IllegalArgumentException(path + " is not an input log");
+		}
+		byte version = log.get();
+		if (version != InputLog.VERSION) {
+			throw new IllegalArgumentException("Unsupported input log version " + version);
+		}
+		seed = log.getLong();
+		rowBricksNum = log.getInt();
+		colBricksNum = log.getInt();
+	}
+
+	/**
+	 * Moves to the next logged frame.
+	 *
+	 * @return false if the log has no more frames.
+	 */
+	public boolean nextFrame() {
+		if (!log.hasRemaining()) return false;
+		int record = log.get() & 0xFF;
+		if ((record & InputLog.DELTA_FLAG) != 0) {
+			delta = log.getFloat();
+		}
+		frameMask = record & ~InputLog.DELTA_FLAG;
+		framesRead++;
+		return true;
+	}
+
+	/**
+	 * @param keyCode The key code of the queried key.
+	 * @return true if the key was pressed in the current frame.
+	 */
+	@Override
+	public boolean isKeyPressed(int keyCode) {
+		return (frameMask & InputLog.bitOf(keyCode)) != 0;
+	}
+
+	/**
+	 * @return The time step of the current frame.
+	 */
+	public float getDelta() {
+		return delta;
+	}
+
+	/**
+	 * @return Seed of the recorded session.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return Number of brick rows of the recorded games.
+	 */
+	public int getRowBricksNum() {
+		return rowBricksNum;
+	}
+
+	/**
+	 * @return Number of brick columns of the recorded games.
+	 */
+	public int getColBricksNum() {
+		return colBricksNum;
+	}
+
+	/**
+	 * @return Number of frames read so far.
+	 */
+	public long getFramesRead() {
+		return framesRead;
+	}
+}
@@ -0,0 +1,28 @@
+package bricker.main;
+
+/**
+ * A source of keyboard state that the game polls every frame.
+ * Decouples the game logic from danogl's UserInputListener, so the same game
+ * can be driven by a real window, by a script, or by nothing at all (headless runs).
+ */
+@FunctionalInterface
+public interface InputSource {
+	/** An input source on which no key is ever pressed. */
+	InputSource IDLE = keyCode -> false;
+
+	/**
+	 * Checks whether a key is currently held down.
+	 *
+	 * @param keyCode A java.awt.event.KeyEvent key code.
+	 * @return true if the key is pressed in the current frame.
+	 */
+	boolean isKeyPressed(int keyCode);
+
+	/**
+	 * Called by the game once a frame was simulated.
+	 *
+	 * @param deltaTime The time step the frame was simulated with.
+	 */
+	default void endFrame(float deltaTime) {
+	}
+}
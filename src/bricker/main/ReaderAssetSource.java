@@ -0,0 +1,48 @@
+package bricker.main;
+
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.Renderable;
+
+/**
+ * An asset source that reads every request through danogl's image and sound readers.
+ */
+public class ReaderAssetSource implements AssetSource {
+	private final ImageReader imageReader;
+	private final SoundReader soundReader;
+
+	/**
+	 * Constructs an asset source backed by danogl readers.
+	 *
+	 * @param imageReader Reader for image assets.
+	 * @param soundReader Reader for sound assets.
+	 */
+	public ReaderAssetSource(ImageReader imageReader, SoundReader soundReader) {
+		this.imageReader = imageReader;
+		this.soundReader = soundReader;
+	}
+
+	/**
+	 * Reads the image through the image reader.
+	 *
+	 * @param path                         Path of the image file.
+	 * @param useTopLeftPixelAsTransparent Whether the top-left pixel color is transparent.
+	 * @return The decoded image.
+	 */
+	@Override
+	public Renderable readImage(String path, boolean useTopLeftPixelAsTransparent) {
+		return imageReader.readImage(path, useTopLeftPixelAsTransparent);
+	}
+
+	/**
+	 * Reads the sound through the sound reader.
+	 *
+	 * @param path Path of the sound file.
+	 * @return The decoded sound.
+	 */
+	@Override
+	public Sound readSound(String path) {
+		return soundReader.readSound(path);
+	}
+}
@@ -0,0 +1,729 @@
+package bricker.main;
+
+import bricker.collisions.BrickGrid;
+import bricker.gameobjects.Puck;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Keeps the recent ticks of a game in memory, so the player can scrub the game backwards,
+ * for instance right after losing a ball.
+ * <p>Ticks are stored in segments of up to {@link Constants#REWIND_KEYFRAME_TICKS} entries.
+ * Each entry holds what changed during its tick rather than the whole world:
+ * <ul>
+ *     <li>the time step, and the game's fixed state in the snapshot layout of {@link GameSnapshot}:
+ *     random source, lives, ball, paddles and turbo;</li>
+ *     <li>the cells whose hit points changed, with their new hit points;</li>
+ *     <li>the falling hearts;</li>
+ *     <li>the pucks, as a delta against the previous entry of the segment: the indices of the
+ *     pucks that left, two flag bits per remaining puck, the position of the pucks that strayed
+ *     more than {@link Constants#REWIND_POSITION_TOLERANCE} from the position predicted by
+ *     their velocity, the velocity of the pucks that bounced, and the full state of new pucks.</li>
+ * </ul>
+ * The first entry of a segment is a keyframe, where every puck is new. A puck moving straight
+ * therefore costs two bits per tick. The wall is kept once, as it was before the oldest entry,
+ * and is brought forward by the cell changes of the entries.</p>
+ * <p>A rewound tick is rebuilt from its segment's keyframe and restored as a snapshot. Rewound
+ * pucks are within the position tolerance of where they were. Once the game resumes, the
+ * ticks after the rewound one are dropped. Whole segments are dropped from the front once the
+ * buffer holds more than {@link Constants#REWIND_SECONDS} of game time, or uses more than
+ * {@link Constants#REWIND_MAX_BYTES}; with very many pucks, less time is kept.</p>
+ */
+public class RewindBuffer {
+	/** Set in a puck's flags when its position is stored, because it strayed from the predicted one. */
+	private static final int POSITION_FLAG = 1;
+	/** Set in a puck's flags when its velocity is stored, because it changed. */
+	private static final int VELOCITY_FLAG = 2;
+	private static final int FLAG_BITS = 2;
+	private static final int FLAG_MASK = (1 << FLAG_BITS) - 1;
+	private static final int FLAGS_PER_BYTE = Byte.SIZE / FLAG_BITS;
+	private static final int MAX_VARINT_BYTES = 5;
+	private static final int VARINT_MASK = 0x7F;
+	private static final int VARINT_CONTINUE = 0x80;
+	private static final int INITIAL_SEGMENT_BYTES = 4096;
+	private static final int INITIAL_SCRATCH_BYTES = 1024;
+	private static final int INITIAL_SCRATCH_CAPACITY = 16;
+
+	private final BrickerGameManager game;
+	private final BrickGrid brickGrid;
+	private final float maxSeconds;
+	private final long maxBytes;
+	private final int keyframeTicks;
+	private final float tolerance;
+
+	// The wall before the oldest entry, and the wall of a rewound tick
+	private final byte[] baseCodes;
+	private final byte[] baseHitPoints;
+	private final byte[] wallHitPoints;
+
+	private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+	private Segment spareSegment;
+	private long segmentBytes = 0;
+	private int frames = 0;
+	private float seconds = 0;
+	private int cursor = -1;
+	private boolean keyframeDue = true;
+
+	// Pucks as of the newest entry, with their game objects, and as decoded for a rewind
+	private final PuckTrack recorded = new PuckTrack(true);
+	private final PuckTrack decoded = new PuckTrack(false);
+
+	// Scratch state reused by every tick
+	private final ArrayList<GameObject> newPucks = new ArrayList<>();
+	private int[] removedPucks = new int[INITIAL_SCRATCH_CAPACITY];
+	private byte[] flags = new byte[INITIAL_SCRATCH_CAPACITY];
+	private ByteBuffer entry = ByteBuffer.allocate(INITIAL_SCRATCH_BYTES);
+	private ByteBuffer snapshot = ByteBuffer.allocate(INITIAL_SCRATCH_BYTES);
+
+	/**
+	 * Constructs an empty rewind buffer over a game, and starts tracking its wall's changes.
+	 * Must be created once the game's objects are.
+	 *
+	 * @param game          The recorded game.
+	 * @param maxSeconds    Game time kept, in seconds.
+	 * @param maxBytes      Memory the buffer may use, in bytes.
+	 * @param keyframeTicks Number of entries per segment.
+	 * @param tolerance     Distance a rewound puck may be off its recorded position, in pixels.
+	 */
+	public RewindBuffer(BrickerGameManager game, float maxSeconds, long maxBytes,
+						int keyframeTicks, float tolerance) {
+		this.game = game;
+		this.brickGrid = game.getBrickGrid();
+		this.maxSeconds = maxSeconds;
+		this.maxBytes = maxBytes;
+		this.keyframeTicks = keyframeTicks;
+		this.tolerance = tolerance;
+		int cells = brickGrid.getRows() * brickGrid.getCols();
+		baseCodes = new byte[cells];
+		baseHitPoints = new byte[cells];
+		wallHitPoints = new byte[cells];
+		brickGrid.trackChanges();
+		clear();
+	}
+
+	/**
+	 * Forgets every recorded tick, and takes the game's current wall as the new base.
+	 * Called when the game's state is replaced from outside the buffer.
+	 */
+	public void clear() {
+		while (!segments.isEmpty()) {
+			recycle(segments.pollLast());
+		}
+		segmentBytes = 0;
+		frames = 0;
+		seconds = 0;
+		cursor = -1;
+		keyframeDue = true;
+		recorded.clear();
+		brickGrid.copyCells(baseCodes, baseHitPoints);
+		brickGrid.clearChangedCells();
+	}
+
+	/**
+	 * Records the tick that just ended. If the game was rewound, the ticks after the rewound
+	 * one are dropped first. The oldest segments are dropped once the buffer is over its limits.
+	 *
+	 * @param delta Duration of the tick.
+	 */
+	public void record(float delta) {
+		if (cursor < frames - 1) {
+			truncate(cursor + 1);
+		}
+		if (keyframeDue || segments.isEmpty() || segments.peekLast().count == keyframeTicks) {
+			openSegment();
+		}
+		Segment segment = segments.peekLast();
+		encode(delta);
+		long memoryBefore = segment.memory();
+		segment.append(entry);
+		segmentBytes += segment.memory() - memoryBefore;
+		segment.seconds += delta;
+		frames++;
+		seconds += delta;
+		cursor = frames - 1;
+		evict();
+	}
+
+	/**
+	 * Moves the game by a number of recorded ticks and restores it there. The ticks after
+	 * the restored one are kept until the game resumes, so scrubbing can go forward again.
+	 *
+	 * @param ticks Number of ticks to go back; negative to go forward.
+	 * @return true if the game was restored, false if nothing is recorded.
+	 */
+	public boolean scrub(int ticks) {
+		if (frames == 0) return false;
+		cursor = Math.max(0, Math.min(frames - 1, cursor - ticks));
+		restore(cursor);
+		return true;
+	}
+
+	/**
+	 * Opens a new segment, whose first entry is a keyframe.
+	 */
+	private void openSegment() {
+		Segment segment = spareSegment != null ? spareSegment : new Segment(keyframeTicks);
+		spareSegment = null;
+		segments.addLast(segment);
+		segmentBytes += segment.memory();
+		recorded.clear();
+		keyframeDue = false;
+	}
+
+	/**
+	 * Drops the oldest segments while the buffer is over its limits, folding their
+	 * cell changes into the base wall. The newest segment is always kept.
+	 */
+	private void evict() {
+		while (segments.size() > 1 && (getMemoryBytes() > maxBytes
+				|| seconds - segments.peekFirst().seconds >= maxSeconds)) {
+			Segment oldest = segments.pollFirst();
+			for (int i = 0; i < oldest.count; i++) {
+				ByteBuffer in = oldest.entry(i);
+				in.position(in.position() + Float.BYTES + GameSnapshot.STATE_BYTES);
+				readBrickChanges(in, baseHitPoints);
+			}
+			segmentBytes -= oldest.memory();
+			frames -= oldest.count;
+			seconds -= oldest.seconds;
+			cursor -= oldest.count;
+			recycle(oldest);
+		}
+	}
+
+	/**
+	 * Drops the entries after the first ones.
+	 *
+	 * @param keep Number of entries kept.
+	 */
+	private void truncate(int keep) {
+		while (frames > keep) {
+			Segment newest = segments.peekLast();
+			int dropped = Math.min(newest.count, frames - keep);
+			for (int i = newest.count - dropped; i < newest.count; i++) {
+				float delta = newest.entry(i).getFloat();
+				newest.seconds -= delta;
+				seconds -= delta;
+			}
+			newest.count -= dropped;
+			frames -= dropped;
+			if (newest.count == 0) {
+				segments.pollLast();
+				segmentBytes -= newest.memory();
+				recycle(newest);
+			}
+		}
+		keyframeDue = true;
+	}
+
+	/**
+	 * Keeps an emptied segment to hold the next one, if none is kept yet.
+	 *
+	 * @param segment The emptied segment.
+	 */
+	private void recycle(Segment segment) {
+		if (spareSegment == null) {
+			segment.reset();
+			spareSegment = segment;
+		}
+	}
+
+	/**
+	 * Encodes the tick that just ended into the scratch entry.
+	 *
+	 * @param delta Duration of the tick.
+	 */
+	private void encode(float delta) {
+		Iterable<GameObject> pucks = game.getGameObjects().objectsInLayer(Constants.PUCK_LAYER);
+		int puckCount = GameSnapshot.count(pucks, Puck.class);
+		int changes = brickGrid.getChangedCellCount();
+		int bound = Float.BYTES + GameSnapshot.STATE_BYTES
+				+ MAX_VARINT_BYTES + changes * (MAX_VARINT_BYTES + 1)
+				+ GameSnapshot.heartsSize(game)
+				+ MAX_VARINT_BYTES * (recorded.count + 2) + flagBytes(recorded.count)
+				+ (recorded.count + puckCount) * GameSnapshot.BYTES_PER_PUCK;
+		if (entry.capacity() < bound) {
+			entry = ByteBuffer.allocate(Math.max(bound, 2 * entry.capacity()));
+		}
+		entry.clear();
+		entry.putFloat(delta);
+		GameSnapshot.writeState(game, entry);
+		putVarint(entry, changes);
+		for (int i = 0; i < changes; i++) {
+			int cell = brickGrid.getChangedCell(i);
+			putVarint(entry, cell);
+			entry.put((byte) brickGrid.getHitPoints(cell));
+		}
+		brickGrid.clearChangedCells();
+		GameSnapshot.writeHearts(game, entry);
+		encodePucks(pucks, delta);
+	}
+
+	/**
+	 * Encodes the pucks as a delta against the recorded ones, and updates the recorded pucks
+	 * to what a decoder will rebuild. The engine keeps a layer's objects in the order they were
+	 * added, so the remaining pucks come in their recorded order, and new pucks after them;
+	 * a puck out of that order is only stored in full.
+	 *
+	 * @param pucks The objects of the puck layer.
+	 * @param delta Duration of the tick.
+	 */
+	private void encodePucks(Iterable<GameObject> pucks, float delta) {
+		int removedCount = 0;
+		int next = 0;
+		for (GameObject puck : pucks) {
+			if (!(puck instanceof Puck)) continue;
+			int match = next;
+			while (match < recorded.count && recorded.objects[match] != puck) {
+				match++;
+			}
+			if (match == recorded.count) {
+				newPucks.add(puck);
+				continue;
+			}
+			for (int i = next; i < match; i++) {
+				removedCount = addRemoved(removedCount, i);
+			}
+			next = match + 1;
+		}
+		for (int i = next; i < recorded.count; i++) {
+			removedCount = addRemoved(removedCount, i);
+		}
+
+		putVarint(entry, removedCount);
+		int previous = 0;
+		for (int i = 0; i < removedCount; i++) {
+			putVarint(entry, removedPucks[i] - previous);
+			previous = removedPucks[i] + 1;
+		}
+		recorded.removeAll(removedPucks, removedCount);
+
+		int remaining = recorded.count;
+		int flagBytes = flagBytes(remaining);
+		if (flags.length < flagBytes) {
+			flags = new byte[Math.max(flagBytes, 2 * flags.length)];
+		}
+		Arrays.fill(flags, 0, flagBytes, (byte) 0);
+		for (int i = 0; i < remaining; i++) {
+			Vector2 position = recorded.objects[i].getTopLeftCorner();
+			Vector2 velocity = recorded.objects[i].getVelocity();
+			float predictedX = recorded.x[i] + recorded.vx[i] * delta;
+			float predictedY = recorded.y[i] + recorded.vy[i] * delta;
+			int flag = 0;
+			if (Math.abs(position.x() - predictedX) > tolerance || Math.abs(position.y() - predictedY) > tolerance) {
+				flag |= POSITION_FLAG;
+				recorded.x[i] = position.x();
+				recorded.y[i] = position.y();
+			} else {
+				recorded.x[i] = predictedX;
+				recorded.y[i] = predictedY;
+			}
+			if (velocity.x() != recorded.vx[i] || velocity.y() != recorded.vy[i]) {
+				flag |= VELOCITY_FLAG;
+				recorded.vx[i] = velocity.x();
+				recorded.vy[i] = velocity.y();
+			}
+			flags[i / FLAGS_PER_BYTE] |= (byte) (flag << (i % FLAGS_PER_BYTE * FLAG_BITS));
+		}
+		entry.put(flags, 0, flagBytes);
+		for (int i = 0; i < remaining; i++) {
+			int flag = flags[i / FLAGS_PER_BYTE] >> (i % FLAGS_PER_BYTE * FLAG_BITS) & FLAG_MASK;
+			if ((flag & POSITION_FLAG) != 0) {
+				entry.putFloat(recorded.x[i]);
+				entry.putFloat(recorded.y[i]);
+			}
+			if ((flag & VELOCITY_FLAG) != 0) {
+				entry.putFloat(recorded.vx[i]);
+				entry.putFloat(recorded.vy[i]);
+			}
+		}
+
+		putVarint(entry, newPucks.size());
+		for (int i = 0; i < newPucks.size(); i++) {
+			GameObject puck = newPucks.get(i);
+			Vector2 position = puck.getTopLeftCorner();
+			Vector2 velocity = puck.getVelocity();
+			entry.putFloat(position.x());
+			entry.putFloat(position.y());
+			entry.putFloat(velocity.x());
+			entry.putFloat(velocity.y());
+			recorded.add(puck, position.x(), position.y(), velocity.x(), velocity.y());
+		}
+		newPucks.clear();
+	}
+
+	/**
+	 * Appends the index of a recorded puck that left the game to the scratch list.
+	 *
+	 * @param removedCount Number of indices in the list.
+	 * @param index        Index of the puck among the recorded ones.
+	 * @return The new number of indices in the list.
+	 */
+	private int addRemoved(int removedCount, int index) {
+		if (removedCount == removedPucks.length) {
+			removedPucks = Arrays.copyOf(removedPucks, 2 * removedPucks.length);
+		}
+		removedPucks[removedCount] = index;
+		return removedCount + 1;
+	}
+
+	/**
+	 * Rebuilds a recorded tick and restores the game to it.
+	 *
+	 * @param frame Index of the tick among the kept ones.
+	 */
+	private void restore(int frame) {
+		System.arraycopy(baseHitPoints, 0, wallHitPoints, 0, wallHitPoints.length);
+		Segment target = null;
+		int first = 0;
+		for (Segment segment : segments) {
+			int entries = Math.min(segment.count, frame - first + 1);
+			for (int i = 0; i < entries; i++) {
+				ByteBuffer in = segment.entry(i);
+				in.position(in.position() + Float.BYTES + GameSnapshot.STATE_BYTES);
+				readBrickChanges(in, wallHitPoints);
+			}
+			if (frame < first + segment.count) {
+				target = segment;
+				break;
+			}
+			first += segment.count;
+		}
+
+		decoded.clear();
+		int stateOffset = 0;
+		int heartsOffset = 0;
+		int heartsLength = 0;
+		for (int i = 0; i <= frame - first; i++) {
+			ByteBuffer in = target.entry(i);
+			float delta = in.getFloat();
+			stateOffset = in.position();
+			in.position(stateOffset + GameSnapshot.STATE_BYTES);
+			readBrickChanges(in, null);
+			heartsOffset = in.position();
+			heartsLength = Integer.BYTES + in.getInt() * GameSnapshot.BYTES_PER_HEART;
+			in.position(heartsOffset + heartsLength);
+			decodePucks(in, delta);
+		}
+
+		int size = GameSnapshot.HEADER_BYTES + GameSnapshot.STATE_BYTES
+				+ Integer.BYTES + decoded.count * GameSnapshot.BYTES_PER_PUCK
+				+ heartsLength + BrickGrid.cellsSize(wallHitPoints);
+		if (snapshot.capacity() < size) {
+			snapshot = ByteBuffer.allocate(Math.max(size, 2 * snapshot.capacity()));
+		}
+		snapshot.clear();
+		GameSnapshot.writeHeader(snapshot, brickGrid.getRows(), brickGrid.getCols());
+		snapshot.put(target.data, stateOffset, GameSnapshot.STATE_BYTES);
+		snapshot.putInt(decoded.count);
+		for (int i = 0; i < decoded.count; i++) {
+			snapshot.putFloat(decoded.x[i]);
+			snapshot.putFloat(decoded.y[i]);
+			snapshot.putFloat(decoded.vx[i]);
+			snapshot.putFloat(decoded.vy[i]);
+		}
+		snapshot.put(target.data, heartsOffset, heartsLength);
+		BrickGrid.writeCells(snapshot, baseCodes, wallHitPoints);
+		snapshot.flip();
+		game.applySnapshot(snapshot);
+		keyframeDue = true;  // the restored pucks are new objects
+	}
+
+	/**
+	 * Reads an entry's cell changes, applying them to a wall.
+	 *
+	 * @param in        The entry, positioned at its cell changes.
+	 * @param hitPoints Hit points of every cell, or null to skip the changes.
+	 */
+	private static void readBrickChanges(ByteBuffer in, byte[] hitPoints) {
+		int changes = getVarint(in);
+		for (int i = 0; i < changes; i++) {
+			int cell = getVarint(in);
+			byte points = in.get();
+			if (hitPoints != null) {
+				hitPoints[cell] = points;
+			}
+		}
+	}
+
+	/**
+	 * Applies an entry's puck delta to the decoded pucks.
+	 *
+	 * @param in    The entry, positioned at its pucks.
+	 * @param delta Duration of the entry's tick.
+	 */
+	private void decodePucks(ByteBuffer in, float delta) {
+		int removedCount = getVarint(in);
+		int previous = 0;
+		for (int i = 0; i < removedCount; i++) {
+			addRemoved(i, previous + getVarint(in));
+			previous = removedPucks[i] + 1;
+		}
+		decoded.removeAll(removedPucks, removedCount);
+
+		int remaining = decoded.count;
+		int flagsOffset = in.position();
+		in.position(flagsOffset + flagBytes(remaining));
+		for (int i = 0; i < remaining; i++) {
+			int flag = in.get(flagsOffset + i / FLAGS_PER_BYTE) >> (i % FLAGS_PER_BYTE * FLAG_BITS) & FLAG_MASK;
+			float predictedX = decoded.x[i] + decoded.vx[i] * delta;
+			float predictedY = decoded.y[i] + decoded.vy[i] * delta;
+			if ((flag & POSITION_FLAG) != 0) {
+				decoded.x[i] = in.getFloat();
+				decoded.y[i] = in.getFloat();
+			} else {
+				decoded.x[i] = predictedX;
+				decoded.y[i] = predictedY;
+			}
+			if ((flag & VELOCITY_FLAG) != 0) {
+				decoded.vx[i] = in.getFloat();
+				decoded.vy[i] = in.getFloat();
+			}
+		}
+
+		int added = getVarint(in);
+		for (int i = 0; i < added; i++) {
+			decoded.add(null, in.getFloat(), in.getFloat(), in.getFloat(), in.getFloat());
+		}
+	}
+
+	/**
+	 * @param pucks Number of pucks.
+	 * @return Number of bytes holding the flags of that many pucks.
+	 */
+	private static int flagBytes(int pucks) {
+		return (pucks + FLAGS_PER_BYTE - 1) / FLAGS_PER_BYTE;
+	}
+
+	/**
+	 * Writes a non-negative int in 7-bit groups, low group first.
+	 *
+	 * @param out   Buffer to write to.
+	 * @param value The value.
+	 */
+	private static void putVarint(ByteBuffer out, int value) {
+		while ((value & ~VARINT_MASK) != 0) {
+			out.put((byte) (value & VARINT_MASK | VARINT_CONTINUE));
+			value >>>= 7;
+		}
+		out.put((byte) value);
+	}
+
+	/**
+	 * Reads an int written by {@link #putVarint}.
+	 *
+	 * @param in Buffer to read from.
+	 * @return The value.
+	 */
+	private static int getVarint(ByteBuffer in) {
+		int value = 0;
+		for (int shift = 0; ; shift += 7) {
+			byte b = in.get();
+			value |= (b & VARINT_MASK) << shift;
+			if ((b & VARINT_CONTINUE) == 0) return value;
+		}
+	}
+
+	/**
+	 * @return Number of ticks kept.
+	 */
+	public int getFrameCount() {
+		return frames;
+	}
+
+	/**
+	 * @return Game time kept, in seconds.
+	 */
+	public float getSeconds() {
+		return seconds;
+	}
+
+	/**
+	 * @return Number of ticks the game is behind the newest recorded tick, while it is rewound.
+	 */
+	public int getTicksBehind() {
+		return frames - 1 - cursor;
+	}
+
+	/**
+	 * @return Memory held by the buffer, in bytes: its segments, base wall and scratch state.
+	 */
+	public long getMemoryBytes() {
+		return segmentBytes
+				+ (spareSegment != null ? spareSegment.memory() : 0)
+				+ baseCodes.length + baseHitPoints.length + wallHitPoints.length
+				+ recorded.memory() + decoded.memory()
+				+ (long) removedPucks.length * Integer.BYTES + flags.length
+				+ entry.capacity() + snapshot.capacity();
+	}
+
+	/**
+	 * @return A one-line summary of the buffer.
+	 */
+	@Override
+	public String toString() {
+		return String.format("frames=%d seconds=%.1f memory=%dKB", frames, seconds, getMemoryBytes() >> 10);
+	}
+
+	/**
+	 * Consecutive entries, the first of which is a keyframe.
+	 */
+	private static final class Segment {
+		private byte[] data = new byte[INITIAL_SEGMENT_BYTES];
+		/** Start of every entry, followed by the end of the last one. */
+		private final int[] offsets;
+		private int count = 0;
+		private float seconds = 0;
+
+		/**
+		 * Constructs an empty segment.
+		 *
+		 * @param capacity Maximal number of entries.
+		 */
+		private Segment(int capacity) {
+			offsets = new int[capacity + 1];
+		}
+
+		/**
+		 * Appends an entry.
+		 *
+		 * @param entry The entry, from the start of its buffer to its position.
+		 */
+		private void append(ByteBuffer entry) {
+			int start = offsets[count];
+			int size = entry.position();
+			if (start + size > data.length) {
+				data = Arrays.copyOf(data, Math.max(start + size, 2 * data.length));
+			}
+			System.arraycopy(entry.array(), 0, data, start, size);
+			offsets[++count] = start + size;
+		}
+
+		/**
+		 * @param i Index of an entry.
+		 * @return A buffer over the entry, positioned at its start.
+		 */
+		private ByteBuffer entry(int i) {
+			return ByteBuffer.wrap(data, offsets[i], offsets[i + 1] - offsets[i]);
+		}
+
+		/**
+		 * Empties the segment, keeping its storage.
+		 */
+		private void reset() {
+			count = 0;
+			seconds = 0;
+		}
+
+		/**
+		 * @return Memory held by the segment, in bytes.
+		 */
+		private long memory() {
+			return data.length + (long) offsets.length * Integer.BYTES;
+		}
+	}
+
+	/**
+	 * The state of a list of pucks, in the order entries refer to them.
+	 */
+	private static final class PuckTrack {
+		private GameObject[] objects;
+		private float[] x = new float[INITIAL_SCRATCH_CAPACITY];
+		private float[] y = new float[INITIAL_SCRATCH_CAPACITY];
+		private float[] vx = new float[INITIAL_SCRATCH_CAPACITY];
+		private float[] vy = new float[INITIAL_SCRATCH_CAPACITY];
+		private int count = 0;
+
+		/**
+		 * Constructs an empty list.
+		 *
+		 * @param withObjects true to also keep the pucks' game objects.
+		 */
+		private PuckTrack(boolean withObjects) {
+			objects = withObjects ? new GameObject[INITIAL_SCRATCH_CAPACITY] : null;
+		}
+
+		/**
+		 * Appends a puck.
+		 *
+		 * @param object The puck's game object, if they are kept.
+		 * @param x      Left of the puck.
+		 * @param y      Top of the puck.
+		 * @param vx     Horizontal velocity of the puck.
+		 * @param vy     Vertical velocity of the puck.
+		 */
+		private void add(GameObject object, float x, float y, float vx, float vy) {
+			if (count == this.x.length) {
+				int capacity = 2 * count;
+				this.x = Arrays.copyOf(this.x, capacity);
+				this.y = Arrays.copyOf(this.y, capacity);
+				this.vx = Arrays.copyOf(this.vx, capacity);
+				this.vy = Arrays.copyOf(this.vy, capacity);
+				if (objects != null) {
+					objects = Arrays.copyOf(objects, capacity);
+				}
+			}
+			if (objects != null) {
+				objects[count] = object;
+			}
+			this.x[count] = x;
+			this.y[count] = y;
+			this.vx[count] = vx;
+			this.vy[count] = vy;
+			count++;
+		}
+
+		/**
+		 * Removes pucks, keeping the others in order.
+		 *
+		 * @param indices      Indices of the removed pucks, ascending.
+		 * @param removedCount Number of removed pucks.
+		 */
+		private void removeAll(int[] indices, int removedCount) {
+			if (removedCount == 0) return;
+			int kept = indices[0];
+			int next = 0;
+			for (int i = indices[0]; i < count; i++) {
+				if (next < removedCount && indices[next] == i) {
+					next++;
+					continue;
+				}
+				if (objects != null) {
+					objects[kept] = objects[i];
+				}
+				x[kept] = x[i];
+				y[kept] = y[i];
+				vx[kept] = vx[i];
+				vy[kept] = vy[i];
+				kept++;
+			}
+			if (objects != null) {
+				Arrays.fill(objects, kept, count, null);
+			}
+			count = kept;
+		}
+
+		/**
+		 * Empties the list.
+		 */
+		private void clear() {
+			if (objects != null) {
+				Arrays.fill(objects, 0, count, null);
+			}
+			count = 0;
+		}
+
+		/**
+		 * @return Memory held by the list, in bytes, not counting the pucks themselves.
+		 */
+		private long memory() {
+			long floats = 4L * x.length * Float.BYTES;
+			return objects != null ? floats + (long) objects.length * Integer.BYTES : floats;
+		}
+	}
+}
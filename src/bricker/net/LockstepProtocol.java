@@ -0,0 +1,78 @@
+package bricker.net;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Layout of the messages exchanged by two {@link LockstepSession} peers over TCP.
+ * Every message is a type byte followed by a body of fixed size:
+ * <ul>
+ *     <li>HELLO: magic, version, session seed, brick rows and columns, input delay and tick
+ *     rate. Sent by the host when the peer connects, and echoed back by the peer.</li>
+ *     <li>INPUT: a frame, the sender's key mask for that frame, and the checksum of the
+ *     sender's state after frame {@code frame - inputDelay - 1}. Sent once per frame.</li>
+ *     <li>PING / PONG: a {@link System#nanoTime()} stamp, echoed back to measure round trips.</li>
+ *     <li>DECISION: a frame, and the host player's answer to the end-of-game dialog shown on
+ *     that frame. Sent by the host only, so both peers restart or end together.</li>
+ *     <li>BYE: the number of frames the sender simulated, and the checksum of its last one.</li>
+ * </ul>
+ */
+final class LockstepProtocol {
+	/** Magic number opening a HELLO ("BLKS"). */
+	static final int MAGIC = 0x424C4B53;
+	/** Version of the protocol. */
+	static final byte VERSION = 2;
+
+	/** Type of the handshake message. */
+	static final byte HELLO = 1;
+	/** Type of a frame's input. */
+	static final byte INPUT = 2;
+	/** Type of a round trip request. */
+	static final byte PING = 3;
+	/** Type of a round trip reply. */
+	static final byte PONG = 4;
+	/** Type of the last message of a session. */
+	static final byte BYE = 5;
+	/** Type of the host's answer to an end-of-game dialog. */
+	static final byte DECISION = 6;
+
+	/** Keys exchanged every frame; a key's bit is its index in this array. */
+	static final int[] TRACKED_KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_W};
+
+	private LockstepProtocol() {
+	}
+
+	/**
+	 * @param type A message type.
+	 * @return Size of the message's body, in bytes, or -1 if the type is unknown.
+	 */
+	static int bodySize(byte type) {
+		switch (type) {
+			case HELLO:
+				return Integer.BYTES + 1 + Long.BYTES + 2 * Integer.BYTES + 1 + Integer.BYTES;
+			case INPUT:
+				return Integer.BYTES + 1 + Integer.BYTES;
+			case PING:
+			case PONG:
+				return Long.BYTES;
+			case BYE:
+				return 2 * Integer.BYTES;
+			case DECISION:
+				return Integer.BYTES + 1;
+			default:
+				return -1;
+		}
+	}
+
+	/**
+	 * @param keyCode The key code of a key.
+	 * @return The key's bit in a key mask, or 0 if the key is not exchanged.
+	 */
+	static int bitOf(int keyCode) {
+		for (int i = 0; i < TRACKED_KEYS.length; i++) {
+			if (TRACKED_KEYS[i] == keyCode) {
+				return 1 << i;
+			}
+		}
+		return 0;
+	}
+}
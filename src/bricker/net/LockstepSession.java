@@ -0,0 +1,580 @@
+package bricker.net;
+
+import bricker.main.Constants;
+import bricker.main.InputSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One side of a two-player game kept in lockstep with a remote peer.
+ * Both peers simulate the same game from the same seed, and only exchange the keys each
+ * player pressed on every frame, never the world's state.
+ * <p>Keys sampled on frame f are applied on frame {@code f + inputDelay} by both peers, so
+ * they have {@code inputDelay} frames to reach the peer before it needs them. A frame is only
+ * simulated once the peer's keys for it arrived, and waits for them otherwise. After every
+ * frame, the game's state checksum is sent along with the next input, and compared with the
+ * peer's checksum of the same frame; the first frame where they differ is reported as a desync.</p>
+ * <p>The end-of-game dialogs are answered by the host's player alone: the host sends its answer,
+ * and the guest waits for it, so both peers restart or end on the same frame. The time spent
+ * answering is not counted toward the input timeout.</p>
+ * <p>The channel is non-blocking: messages are queued in a buffer and written as far as the
+ * socket takes them, and waiting for input polls a selector.</p>
+ */
+public class LockstepSession implements Closeable {
+	/** Player index of the peer that hosts the session. */
+	public static final int HOST = 0;
+	/** Player index of the peer that joins the session. */
+	public static final int GUEST = 1;
+
+	/** Number of frames of inputs and checksums kept, a power of two above twice the delay. */
+	private static final int HISTORY = 256;
+	private static final int HISTORY_MASK = HISTORY - 1;
+	private static final long NANOS_PER_MILLI = 1_000_000L;
+
+	private final SocketChannel channel;
+	private final Selector selector;
+	private final SelectionKey key;
+	private final ByteBuffer in = ByteBuffer.allocate(Constants.LOCKSTEP_BUFFER_BYTES);
+	private final ByteBuffer out = ByteBuffer.allocate(Constants.LOCKSTEP_BUFFER_BYTES);
+	private final int localPlayer;
+	private final LockstepStats stats = new LockstepStats();
+
+	// === Session settings, chosen by the host ===
+	private long seed;
+	private int rowBricksNum;
+	private int colBricksNum;
+	private int inputDelay;
+	private int tickRate;
+	private boolean handshaken = false;
+
+	// === Frames, indexed by frame & HISTORY_MASK ===
+	private final byte[] localInputs = new byte[HISTORY];
+	private final byte[] remoteInputs = new byte[HISTORY];
+	private final int[] localChecksums = new int[HISTORY];
+	private final int[] remoteChecksums = new int[HISTORY];
+	private final int[] decisionFrames = new int[HISTORY];
+	private final boolean[] decisions = new boolean[HISTORY];
+	private int frame = 0;
+	private int remoteInputFrame;
+	private int remoteChecksumFrame = -1;
+
+	private final int[] frameMasks = new int[2];
+	private final InputSource[] playerInputs = {
+			keyCode -> (frameMasks[HOST] & LockstepProtocol.bitOf(keyCode)) != 0,
+			keyCode -> (frameMasks[GUEST] & LockstepProtocol.bitOf(keyCode)) != 0};
+	private InputSource localInput = InputSource.IDLE;
+	private boolean peerClosed = false;
+	private boolean timedOut = false;
+	private boolean outputShut = false;
+	private boolean closed = false;
+
+	/**
+	 * Wraps a connected channel, switching it to non-blocking mode.
+	 *
+	 * @param channel     The connection to the peer.
+	 * @param localPlayer Player index of this side, {@link #HOST} or {@link #GUEST}.
+	 * @throws IOException If the channel cannot be configured.
+	 */
+	private LockstepSession(SocketChannel channel, int localPlayer) throws IOException {
+		this.channel = channel;
+		this.localPlayer = localPlayer;
+		Arrays.fill(decisionFrames, -1);  // no decision received yet
+		channel.configureBlocking(false);
+		channel.setOption(StandardSocketOptions.TCP_NODELAY, true);  // a frame's input is tiny
+		selector = Selector.open();
+		key = channel.register(selector, SelectionKey.OP_READ);
+	}
+
+	/**
+	 * Waits for a peer to connect to a listening socket, and hosts a session with it.
+	 *
+	 * @param server       Socket bound to the port the peer connects to.
+	 * @param seed         Seed of the games played.
+	 * @param rowBricksNum Number of brick rows.
+	 * @param colBricksNum Number of brick columns.
+	 * @param inputDelay   Frames between sampling a player's keys and applying them.
+	 * @param tickRate     Simulated frames per second.
+	 * @return The session, as {@link #HOST}.
+	 * @throws IOException              If the connection or the handshake fails.
+	 * @throws IllegalArgumentException If the input delay is out of range.
+	 */
+	public static LockstepSession host(ServerSocketChannel server, long seed, int rowBricksNum,
+									   int colBricksNum, int inputDelay, int tickRate) throws IOException {
+		if (inputDelay < 0 || inputDelay > Constants.LOCKSTEP_MAX_INPUT_DELAY) {
+			throw new IllegalArgumentException("Input delay must be between 0 and "
+					+ Constants.LOCKSTEP_MAX_INPUT_DELAY + ", got " + inputDelay);
+		}
+		LockstepSession session = new LockstepSession(server.accept(), HOST);
+		session.seed = seed;
+		session.rowBricksNum = rowBricksNum;
+		session.colBricksNum = colBricksNum;
+		session.inputDelay = inputDelay;
+		session.tickRate = tickRate;
+		session.sendHello();
+		session.awaitHandshake();
+		return session;
+	}
+
+	/**
+	 * Connects to a host, and joins its session.
+	 *
+	 * @param address Address of the host.
+	 * @return The session, as {@link #GUEST}, with the host's settings.
+	 * @throws IOException If the connection or the handshake fails.
+	 */
+	public static LockstepSession join(SocketAddress address) throws IOException {
+		LockstepSession session = new LockstepSession(SocketChannel.open(address), GUEST);
+		session.awaitHandshake();
+		return session;
+	}
+
+	/**
+	 * Waits until the handshake completed.
+	 *
+	 * @throws IOException If the peer does not complete it in time.
+	 */
+	private void awaitHandshake() throws IOException {
+		long deadline = System.nanoTime() + Constants.LOCKSTEP_TIMEOUT_MILLIS * NANOS_PER_MILLI;
+		while (!handshaken) {
+			long left = deadline - System.nanoTime();
+			if (peerClosed || left <= 0) {
+				close();
+				throw new IOException("No lockstep handshake from " + channel.getRemoteAddress());
+			}
+			await(left);
+		}
+		flush();  // the guest's echo
+	}
+
+	/**
+	 * Queues a HELLO holding the session's settings.
+	 */
+	private void sendHello() {
+		out.put(LockstepProtocol.HELLO)
+				.putInt(LockstepProtocol.MAGIC)
+				.put(LockstepProtocol.VERSION)
+				.putLong(seed)
+				.putInt(rowBricksNum)
+				.putInt(colBricksNum)
+				.put((byte) inputDelay)
+				.putInt(tickRate);
+		stats.messageSent();
+	}
+
+	/**
+	 * @param localInput Source of this side's keys, sampled once per frame.
+	 */
+	public void setLocalInput(InputSource localInput) {
+		this.localInput = localInput;
+	}
+
+	/**
+	 * @param player A player index, {@link #HOST} or {@link #GUEST}.
+	 * @return The keys of the player on the current frame, the same on both peers.
+	 */
+	public InputSource getPlayerInput(int player) {
+		return playerInputs[player];
+	}
+
+	/**
+	 * Starts a frame: samples the local keys and sends them to the peer, then waits until
+	 * the peer's keys for the frame arrived.
+	 *
+	 * @return false if the session ended instead: it was closed, the peer left, or its
+	 * input did not come within {@link Constants#LOCKSTEP_TIMEOUT_MILLIS}.
+	 */
+	public boolean beginTick() {
+		if (closed) return false;
+		try {
+			int scheduled = frame + inputDelay;
+			byte mask = sample();
+			localInputs[scheduled & HISTORY_MASK] = mask;
+			out.put(LockstepProtocol.INPUT)
+					.putInt(scheduled)
+					.put(mask)
+					.putInt(frame > 0 ? localChecksums[(frame - 1) & HISTORY_MASK] : 0);
+			stats.messageSent();
+			if (frame % Constants.LOCKSTEP_PING_INTERVAL == 0) {
+				out.put(LockstepProtocol.PING).putLong(System.nanoTime());
+				stats.messageSent();
+			}
+			flush();
+			receive();
+			if (remoteInputFrame < frame) {
+				long start = System.nanoTime();
+				long deadline = start + Constants.LOCKSTEP_TIMEOUT_MILLIS * NANOS_PER_MILLI;
+				while (remoteInputFrame < frame) {
+					long left = deadline - System.nanoTime();
+					if (peerClosed || left <= 0) {
+						timedOut = !peerClosed;
+						close();
+						return false;
+					}
+					await(left);
+				}
+				stats.recordStall(System.nanoTime() - start);
+			}
+		} catch (IOException e) {
+			peerClosed = true;
+			close();
+			return false;
+		}
+		frameMasks[localPlayer] = localInputs[frame & HISTORY_MASK];
+		frameMasks[1 - localPlayer] = remoteInputs[frame & HISTORY_MASK];
+		return true;
+	}
+
+	/**
+	 * Ends a frame, and compares its checksum with the peer's if it already arrived.
+	 *
+	 * @param checksum Checksum of the game's state after the frame.
+	 */
+	public void endTick(int checksum) {
+		localChecksums[frame & HISTORY_MASK] = checksum;
+		if (remoteChecksumFrame >= frame) {
+			stats.recordChecksum(frame, remoteChecksums[frame & HISTORY_MASK] == checksum);
+		}
+		stats.frameSimulated();
+		frame++;
+	}
+
+	/**
+	 * Agrees on the answer to an end-of-game dialog shown on the current frame.
+	 * The host asks its player and sends the answer; the guest waits for it, however long
+	 * the host's player takes, as long as the host is connected.
+	 *
+	 * @param hostAnswer Asks the host's player; only called on the host.
+	 * @return The host player's answer, or false if the session ended before it came.
+	 */
+	public boolean decide(BooleanSupplier hostAnswer) {
+		if (closed) return false;
+		try {
+			if (localPlayer == HOST) {
+				boolean answer = hostAnswer.getAsBoolean();
+				out.put(LockstepProtocol.DECISION).putInt(frame).put((byte) (answer ? 1 : 0));
+				stats.messageSent();
+				flush();
+				return answer;
+			}
+			receive();
+			while (decisionFrames[frame & HISTORY_MASK] != frame) {
+				if (peerClosed) {
+					close();
+					return false;
+				}
+				await(Constants.LOCKSTEP_TIMEOUT_MILLIS * NANOS_PER_MILLI);
+			}
+			return decisions[frame & HISTORY_MASK];
+		} catch (IOException e) {
+			peerClosed = true;
+			close();
+			return false;
+		}
+	}
+
+	/**
+	 * @return The local keys, as a mask of {@link LockstepProtocol#TRACKED_KEYS}.
+	 */
+	private byte sample() {
+		int mask = 0;
+		for (int i = 0; i < LockstepProtocol.TRACKED_KEYS.length; i++) {
+			if (localInput.isKeyPressed(LockstepProtocol.TRACKED_KEYS[i])) {
+				mask |= 1 << i;
+			}
+		}
+		return (byte) mask;
+	}
+
+	/**
+	 * Waits until the channel can be read, or written while messages are pending,
+	 * then reads and writes what it can.
+	 *
+	 * @param nanos Longest time to wait.
+	 * @throws IOException If the channel fails.
+	 */
+	private void await(long nanos) throws IOException {
+		key.interestOps(out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+		selector.select(Math.max(1, nanos / NANOS_PER_MILLI));
+		selector.selectedKeys().clear();
+		flush();
+		receive();
+	}
+
+	/**
+	 * Writes as much of the queued messages as the socket takes, without blocking.
+	 *
+	 * @throws IOException If the channel fails.
+	 */
+	private void flush() throws IOException {
+		out.flip();
+		while (out.hasRemaining()) {
+			int written = channel.write(out);
+			if (written == 0) break;
+			stats.addBytesSent(written);
+		}
+		out.compact();
+	}
+
+	/**
+	 * Reads what the socket holds without blocking, and handles every complete message.
+	 *
+	 * @throws IOException If the channel fails or the peer breaks the protocol.
+	 */
+	private void receive() throws IOException {
+		int read;
+		while ((read = channel.read(in)) > 0) {
+			stats.addBytesReceived(read);
+		}
+		if (read < 0) {
+			peerClosed = true;
+		}
+		in.flip();
+		while (in.hasRemaining()) {
+			byte type = in.get(in.position());
+			int bodySize = LockstepProtocol.bodySize(type);
+			if (bodySize < 0) {
+				throw new IOException("Unknown lockstep message type " + type);
+			}
+			if (in.remaining() < 1 + bodySize) break;
+			in.get();
+			handle(type);
+			stats.messageReceived();
+		}
+		in.compact();
+	}
+
+	/**
+	 * Handles a message whose body is next in the receive buffer.
+	 *
+	 * @param type The message's type.
+	 * @throws IOException If the message breaks the protocol.
+	 */
+	private void handle(byte type) throws IOException {
+		switch (type) {
+			case LockstepProtocol.HELLO:
+				handleHello();
+				break;
+			case LockstepProtocol.INPUT:
+				int inputFrame = in.getInt();
+				byte mask = in.get();
+				int checksum = in.getInt();
+				if (!handshaken || inputFrame != remoteInputFrame + 1) {
+					throw new IOException("Unexpected input of frame " + inputFrame);
+				}
+				remoteInputs[inputFrame & HISTORY_MASK] = mask;
+				remoteInputFrame = inputFrame;
+				if (inputFrame - inputDelay - 1 >= 0) {
+					receiveChecksum(inputFrame - inputDelay - 1, checksum);
+				}
+				break;
+			case LockstepProtocol.PING:
+				long sent = in.getLong();
+				if (!outputShut) {
+					out.put(LockstepProtocol.PONG).putLong(sent);
+					stats.messageSent();
+				}
+				break;
+			case LockstepProtocol.PONG:
+				stats.recordRoundTrip(System.nanoTime() - in.getLong());
+				break;
+			case LockstepProtocol.DECISION:
+				int decisionFrame = in.getInt();
+				boolean answer = in.get() != 0;
+				if (localPlayer == HOST) {
+					throw new IOException("Unexpected decision from the guest");
+				}
+				decisionFrames[decisionFrame & HISTORY_MASK] = decisionFrame;
+				decisions[decisionFrame & HISTORY_MASK] = answer;
+				break;
+			case LockstepProtocol.BYE:
+				int frames = in.getInt();
+				int lastChecksum = in.getInt();
+				if (frames > 0 && frames - 1 > remoteChecksumFrame) {
+					receiveChecksum(frames - 1, lastChecksum);
+				}
+				peerClosed = true;
+				break;
+			default:
+				throw new IOException("Unknown lockstep message type " + type);
+		}
+	}
+
+	/**
+	 * Reads a HELLO. The guest takes the host's settings and echoes them back;
+	 * the host checks the echo.
+	 *
+	 * @throws IOException If the peer is not a lockstep peer of this version, or the
+	 *                     echoed settings differ.
+	 */
+	private void handleHello() throws IOException {
+		int magic = in.getInt();
+		byte version = in.get();
+		long helloSeed = in.getLong();
+		int helloRows = in.getInt();
+		int helloCols = in.getInt();
+		int helloDelay = in.get();
+		int helloTickRate = in.getInt();
+		if (magic != LockstepProtocol.MAGIC) {
+			throw new IOException("The peer is not a lockstep peer");
+		}
+		if (version != LockstepProtocol.VERSION) {
+			throw new IOException("Unsupported lockstep protocol version " + version);
+		}
+		if (localPlayer == GUEST) {
+			seed = helloSeed;
+			rowBricksNum = helloRows;
+			colBricksNum = helloCols;
+			inputDelay = helloDelay;
+			tickRate = helloTickRate;
+			sendHello();
+		} else if (helloSeed != seed || helloRows != rowBricksNum || helloCols != colBricksNum
+				|| helloDelay != inputDelay || helloTickRate != tickRate) {
+			throw new IOException("The peer echoed different session settings");
+		}
+		remoteInputFrame = inputDelay - 1;  // the first frames are played without keys
+		handshaken = true;
+	}
+
+	/**
+	 * Stores the peer's checksum of a frame, and compares it with the local one if this side
+	 * already simulated the frame.
+	 *
+	 * @param checksumFrame The frame.
+	 * @param checksum      The peer's checksum of the frame.
+	 */
+	private void receiveChecksum(int checksumFrame, int checksum) {
+		remoteChecksums[checksumFrame & HISTORY_MASK] = checksum;
+		remoteChecksumFrame = checksumFrame;
+		if (checksumFrame < frame) {
+			stats.recordChecksum(checksumFrame, localChecksums[checksumFrame & HISTORY_MASK] == checksum);
+		}
+	}
+
+	/**
+	 * Tells the peer the session ended, with the checksum of the last frame, and closes
+	 * the channel. Further frames are not simulated.
+	 */
+	@Override
+	public void close() {
+		if (closed) return;
+		closed = true;
+		try {
+			if (!peerClosed && handshaken) {
+				out.put(LockstepProtocol.BYE)
+						.putInt(frame)
+						.putInt(frame > 0 ? localChecksums[(frame - 1) & HISTORY_MASK] : 0);
+				stats.messageSent();
+				drain();
+			}
+		} catch (IOException e) {
+			// the peer is gone already, nothing left to tell it
+		} finally {
+			try {
+				selector.close();
+				channel.close();
+			} catch (IOException e) {
+				// closing is best effort
+			}
+		}
+	}
+
+	/**
+	 * Sends the queued messages and stops sending, then handles the peer's last messages
+	 * until it leaves too. Closing a socket the peer still writes to would reset the
+	 * connection, and drop inputs the peer was sent but has not read yet.
+	 *
+	 * @throws IOException If the channel fails.
+	 */
+	private void drain() throws IOException {
+		long deadline = System.nanoTime() + Constants.LOCKSTEP_TIMEOUT_MILLIS * NANOS_PER_MILLI;
+		flush();
+		while (out.position() > 0 && System.nanoTime() < deadline) {
+			await(deadline - System.nanoTime());
+		}
+		channel.shutdownOutput();
+		outputShut = true;
+		while (!peerClosed && System.nanoTime() < deadline) {
+			await(deadline - System.nanoTime());
+		}
+	}
+
+	/**
+	 * @return Player index of this side, {@link #HOST} or {@link #GUEST}.
+	 */
+	public int getLocalPlayer() {
+		return localPlayer;
+	}
+
+	/**
+	 * @return Seed of the games played.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return Number of brick rows.
+	 */
+	public int getRowBricksNum() {
+		return rowBricksNum;
+	}
+
+	/**
+	 * @return Number of brick columns.
+	 */
+	public int getColBricksNum() {
+		return colBricksNum;
+	}
+
+	/**
+	 * @return Frames between sampling a player's keys and applying them.
+	 */
+	public int getInputDelay() {
+		return inputDelay;
+	}
+
+	/**
+	 * @return Simulated frames per second.
+	 */
+	public int getTickRate() {
+		return tickRate;
+	}
+
+	/**
+	 * @return The next frame to simulate, which is also the number of frames simulated.
+	 */
+	public int getFrame() {
+		return frame;
+	}
+
+	/**
+	 * @return true if the session ended because the peer's input did not come in time.
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+
+	/**
+	 * @return true if the peer left the session.
+	 */
+	public boolean isPeerClosed() {
+		return peerClosed;
+	}
+
+	/**
+	 * @return Traffic and timing of the session.
+	 */
+	public LockstepStats getStats() {
+		return stats;
+	}
+}
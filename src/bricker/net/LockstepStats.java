@@ -0,0 +1,158 @@
+package bricker.net;
+
+import bricker.profiling.LatencyHistogram;
+
+/**
+ * Traffic and timing of a {@link LockstepSession}: bytes and messages sent and received,
+ * round trip times, the frames that had to wait for the peer's input, and the outcome of
+ * the state checksum comparisons.
+ */
+public class LockstepStats {
+	private final LatencyHistogram roundTrips = new LatencyHistogram();
+	private final LatencyHistogram stalls = new LatencyHistogram();
+	private long bytesSent = 0;
+	private long bytesReceived = 0;
+	private long messagesSent = 0;
+	private long messagesReceived = 0;
+	private long frames = 0;
+	private long checksumsCompared = 0;
+	private long desyncFrame = -1;
+
+	/**
+	 * Counts the bytes of messages written to the channel.
+	 *
+	 * @param bytes Number of bytes written.
+	 */
+	void addBytesSent(int bytes) {
+		bytesSent += bytes;
+	}
+
+	/**
+	 * Counts the bytes read from the channel.
+	 *
+	 * @param bytes Number of bytes read.
+	 */
+	void addBytesReceived(int bytes) {
+		bytesReceived += bytes;
+	}
+
+	/**
+	 * Counts a message queued for the peer.
+	 */
+	void messageSent() {
+		messagesSent++;
+	}
+
+	/**
+	 * Counts a message received from the peer.
+	 */
+	void messageReceived() {
+		messagesReceived++;
+	}
+
+	/**
+	 * Counts a simulated frame.
+	 */
+	void frameSimulated() {
+		frames++;
+	}
+
+	/**
+	 * Records a frame that had to wait for the peer's input.
+	 *
+	 * @param nanos Time spent waiting.
+	 */
+	void recordStall(long nanos) {
+		stalls.record(nanos);
+	}
+
+	/**
+	 * Records a round trip to the peer.
+	 *
+	 * @param nanos Time between sending a ping and receiving its pong.
+	 */
+	void recordRoundTrip(long nanos) {
+		roundTrips.record(nanos);
+	}
+
+	/**
+	 * Records the comparison of a frame's local and remote checksums.
+	 *
+	 * @param frame   The compared frame.
+	 * @param matched true if both checksums were equal.
+	 */
+	void recordChecksum(long frame, boolean matched) {
+		checksumsCompared++;
+		if (!matched && desyncFrame < 0) {
+			desyncFrame = frame;
+		}
+	}
+
+	/**
+	 * @return Number of bytes written to the channel.
+	 */
+	public long getBytesSent() {
+		return bytesSent;
+	}
+
+	/**
+	 * @return Number of bytes read from the channel.
+	 */
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	/**
+	 * @return Number of frames simulated.
+	 */
+	public long getFrames() {
+		return frames;
+	}
+
+	/**
+	 * @return Round trip times to the peer, in nanoseconds.
+	 */
+	public LatencyHistogram getRoundTrips() {
+		return roundTrips;
+	}
+
+	/**
+	 * @return Time spent waiting for the peer's input, in nanoseconds, by stalled frame.
+	 */
+	public LatencyHistogram getStalls() {
+		return stalls;
+	}
+
+	/**
+	 * @return Number of frames whose local and remote checksums were compared.
+	 */
+	public long getChecksumsCompared() {
+		return checksumsCompared;
+	}
+
+	/**
+	 * @return The first frame whose checksums differed, or -1 if the peers stayed in sync.
+	 */
+	public long getDesyncFrame() {
+		return desyncFrame;
+	}
+
+	/**
+	 * @param tickRate Simulated frames per second of real-time play.
+	 * @return A multi-line report of the statistics, with the bandwidth of real-time play.
+	 */
+	public String report(int tickRate) {
+		double sentPerFrame = frames == 0 ? 0 : (double) bytesSent / frames;
+		double receivedPerFrame = frames == 0 ? 0 : (double) bytesReceived / frames;
+		return String.format("frames=%d stalled=%d (%.1f%%)%n", frames, stalls.getTotalCount(),
+				frames == 0 ? 0 : 100.0 * stalls.getTotalCount() / frames)
+				+ String.format("sent: %d B in %d messages, %.1f B/frame, %.0f B/s at %d ticks/s%n",
+				bytesSent, messagesSent, sentPerFrame, sentPerFrame * tickRate, tickRate)
+				+ String.format("received: %d B in %d messages, %.1f B/frame, %.0f B/s at %d ticks/s%n",
+				bytesReceived, messagesReceived, receivedPerFrame, receivedPerFrame * tickRate, tickRate)
+				+ "round trip: " + roundTrips + System.lineSeparator()
+				+ "stall: " + stalls + System.lineSeparator()
+				+ String.format("checksums compared=%d desync=%s", checksumsCompared,
+				desyncFrame < 0 ? "none" : "at frame " + desyncFrame);
+	}
+}
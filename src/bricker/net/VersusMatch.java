@@ -0,0 +1,270 @@
+package bricker.net;
+
+import bricker.gameobjects.AutopilotPaddleController;
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.PaddleController;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.DialogPolicy;
+import bricker.main.InputSource;
+import danogl.util.Vector2;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A two-player versus match over a {@link LockstepSession}: each player steers a paddle, and a
+ * player scores whenever the ball bounces off their paddle. The match is played in a window,
+ * or headless with the local player's keys pressed by the paddle autopilot.
+ * <p>The {@code loopback} mode plays a headless host and guest against each other over a local
+ * socket, in two threads, and prints both sides' traffic and whether they stayed in sync.</p>
+ */
+public class VersusMatch {
+	private static final String LOOPBACK_ARG = "loopback";
+	private static final String HOST_ARG = "host";
+	private static final String JOIN_ARG = "join";
+
+	private final LockstepSession session;
+	private final Random seedSource;
+	private final long desyncFrame;
+
+	private BrickerGameManager game;
+	private PaddleController autopilot;
+	private int gamesStarted = 0;
+
+	/**
+	 * Constructs a headless match, whose local keys are pressed by the paddle autopilot,
+	 * and starts its first game.
+	 *
+	 * @param session     The session with the peer.
+	 * @param desyncFrame A frame after which the local ball is nudged, to check the desync is
+	 *                    caught, or -1 to play fair.
+	 */
+	public VersusMatch(LockstepSession session, long desyncFrame) {
+		this.session = session;
+		this.seedSource = new Random(session.getSeed());
+		this.desyncFrame = desyncFrame;
+		session.setLocalInput(this::isAutopilotKeyPressed);
+		startGame();
+	}
+
+	/**
+	 * Creates and initializes a new headless game. Both peers start their games on the
+	 * same frame, and draw the same seed.
+	 */
+	private void startGame() {
+		game = new BrickerGameManager(
+				Constants.GAME_TITLE,
+				Constants.windowDimensions,
+				session.getRowBricksNum(),
+				session.getColBricksNum(),
+				seedSource);
+		game.setLockstep(session);
+		game.initializeHeadless(InputSource.IDLE, DialogPolicy.ALWAYS_YES);
+		autopilot = new AutopilotPaddleController(game.getGameObjects(), game.getFieldDimensions().x());
+		gamesStarted++;
+	}
+
+	/**
+	 * Translates the autopilot's steering of the local paddle into arrow keys.
+	 *
+	 * @param keyCode The queried key.
+	 * @return true if the autopilot would move the local paddle in the key's direction.
+	 */
+	private boolean isAutopilotKeyPressed(int keyCode) {
+		if (keyCode != KeyEvent.VK_LEFT && keyCode != KeyEvent.VK_RIGHT) return false;
+		int direction = autopilot.steer(localPaddle());
+		return keyCode == KeyEvent.VK_LEFT ? direction < 0 : direction > 0;
+	}
+
+	/**
+	 * @return The local player's paddle in the current game.
+	 */
+	private Paddle localPaddle() {
+		return session.getLocalPlayer() == LockstepSession.HOST ? game.getPaddle() : game.getPlayerTwoPaddle();
+	}
+
+	/**
+	 * Plays frames until the frame limit is reached or the session ends, then closes the session.
+	 *
+	 * @param maxFrames Number of frames to play.
+	 * @return The number of frames played.
+	 */
+	public long run(long maxFrames) {
+		float timeStep = 1f / session.getTickRate();
+		while (session.getFrame() < maxFrames && !game.isClosed()) {
+			game.update(timeStep);
+			if (session.getFrame() == desyncFrame) {
+				game.getBall().setCenter(game.getBall().getCenter().add(Vector2.RIGHT));
+			}
+			if (game.isResetRequested()) {
+				startGame();
+			}
+		}
+		session.close();
+		return session.getFrame();
+	}
+
+	/**
+	 * @return The game currently played.
+	 */
+	public BrickerGameManager getGame() {
+		return game;
+	}
+
+	/**
+	 * @return Number of games started, including restarts.
+	 */
+	public int getGamesStarted() {
+		return gamesStarted;
+	}
+
+	/**
+	 * @return The session with the peer.
+	 */
+	public LockstepSession getSession() {
+		return session;
+	}
+
+	/**
+	 * @return The match's outcome so far: the scores of both players in the current game.
+	 */
+	public String score() {
+		return String.format("games=%d score of the current game: player one=%d player two=%d",
+				gamesStarted, game.getPaddle().getReturns(), game.getPlayerTwoPaddle().getReturns());
+	}
+
+	/**
+	 * Plays a headless host and guest against each other over the loopback interface.
+	 *
+	 * @param frames      Number of frames each side plays.
+	 * @param seed        Seed of the games played.
+	 * @param inputDelay  Frames between sampling a player's keys and applying them.
+	 * @param desyncFrame A frame after which the guest's ball is nudged, or -1 to play fair.
+	 * @return The host's and the guest's matches, once both ended.
+	 * @throws IOException If the connection fails.
+	 */
+	public static VersusMatch[] playLoopback(long frames, long seed, int inputDelay, long desyncFrame)
+			throws IOException {
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try (ServerSocketChannel server = ServerSocketChannel.open()) {
+			server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+			Future<VersusMatch> host = pool.submit(() -> play(LockstepSession.host(server, seed,
+					Constants.ROW_BRICKS_NUM, Constants.COL_BRICKS_NUM, inputDelay, Constants.FIXED_TICK_RATE),
+					frames, -1));
+			Future<VersusMatch> guest = pool.submit(() -> play(
+					LockstepSession.join(server.getLocalAddress()), frames, desyncFrame));
+			return new VersusMatch[]{host.get(), guest.get()};
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Loopback match interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IllegalStateException("Loopback match failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays a headless match to its end.
+	 *
+	 * @param session     The session with the peer.
+	 * @param frames      Number of frames to play.
+	 * @param desyncFrame A frame after which the local ball is nudged, or -1 to play fair.
+	 * @return The ended match.
+	 */
+	private static VersusMatch play(LockstepSession session, long frames, long desyncFrame) {
+		VersusMatch match = new VersusMatch(session, desyncFrame);
+		match.run(frames);
+		return match;
+	}
+
+	/**
+	 * Plays a match in a window, steered by the keyboard, and prints the session's traffic
+	 * when the window closes.
+	 *
+	 * @param session The session with the peer.
+	 */
+	private static void playWindowed(LockstepSession session) {
+		BrickerGameManager game = new BrickerGameManager(Constants.GAME_TITLE, Constants.windowDimensions,
+				session.getRowBricksNum(), session.getColBricksNum(), new Random(session.getSeed()));
+		game.setLockstep(session);
+		session.setLocalInput(game.windowInput());
+		game.setFixedTimeStep(session.getTickRate(), Constants.MAX_CATCH_UP_TICKS);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			session.close();
+			System.out.println(session.getStats().report(session.getTickRate()));
+		}));
+		game.run();
+	}
+
+	/**
+	 * Entry point. Plays a versus match:
+	 * <ul>
+	 *     <li>{@code loopback [frames [inputDelay [seed [desyncFrame]]]]} plays two headless peers
+	 *     over the loopback interface, and exits with status 1 if they fell out of sync;</li>
+	 *     <li>{@code host port [cols rows [seed [inputDelay]]]} waits for a peer, then plays
+	 *     player one in a window;</li>
+	 *     <li>{@code join address port} plays player two of a hosted session in a window.</li>
+	 * </ul>
+	 *
+	 * @param args The mode, then its arguments.
+	 * @throws IOException If the connection fails.
+	 */
+	public static void main(String[] args) throws IOException {
+		String mode = args.length >= 1 ? args[0] : LOOPBACK_ARG;
+		if (mode.equals(HOST_ARG) && args.length >= 2) {
+			int colBricksNum = args.length >= 4 ? Integer.parseInt(args[2]) : Constants.COL_BRICKS_NUM;
+			int rowBricksNum = args.length >= 4 ? Integer.parseInt(args[3]) : Constants.ROW_BRICKS_NUM;
+			long seed = args.length >= 5 ? Long.parseLong(args[4]) : new Random().nextLong();
+			int inputDelay = args.length >= 6 ? Integer.parseInt(args[5]) : Constants.LOCKSTEP_DEFAULT_INPUT_DELAY;
+			try (ServerSocketChannel server = ServerSocketChannel.open()) {
+				server.bind(new InetSocketAddress(Integer.parseInt(args[1])));
+				System.out.println("waiting for player two on port " + args[1]);
+				playWindowed(LockstepSession.host(server, seed, rowBricksNum, colBricksNum,
+						inputDelay, Constants.FIXED_TICK_RATE));
+			}
+			return;
+		}
+		if (mode.equals(JOIN_ARG) && args.length >= 3) {
+			playWindowed(LockstepSession.join(new InetSocketAddress(args[1], Integer.parseInt(args[2]))));
+			return;
+		}
+		if (!mode.equals(LOOPBACK_ARG)) {
+			throw new IllegalArgumentException("Usage: loopback [frames [inputDelay [seed [desyncFrame]]]]"
+					+ " | host port [cols rows [seed [inputDelay]]] | join address port");
+		}
+		long frames = args.length >= 2 ? Long.parseLong(args[1]) : Constants.LOCKSTEP_DEFAULT_FRAMES;
+		int inputDelay = args.length >= 3 ? Integer.parseInt(args[2]) : Constants.LOCKSTEP_DEFAULT_INPUT_DELAY;
+		long seed = args.length >= 4 ? Long.parseLong(args[3]) : new Random().nextLong();
+		long desyncFrame = args.length >= 5 ? Long.parseLong(args[4]) : -1;
+
+		long start = System.nanoTime();
+		VersusMatch[] matches = playLoopback(frames, seed, inputDelay, desyncFrame);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		boolean inSync = true;
+		for (VersusMatch match : matches) {
+			LockstepSession session = match.getSession();
+			System.out.println(session.getLocalPlayer() == LockstepSession.HOST ? "host:" : "guest:");
+			System.out.println(session.getStats().report(session.getTickRate()));
+			System.out.println(match.score());
+			inSync &= session.getStats().getDesyncFrame() < 0 && !session.isTimedOut();
+		}
+		System.out.printf("seed=%d input delay=%d time=%.1fs (%.0f frames/s) %s%n", seed, inputDelay,
+				seconds, matches[0].getSession().getFrame() / seconds, inSync ? "in sync" : "OUT OF SYNC");
+		if (!inSync) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package bricker.profiling;
+
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records the cost of every frame of a game.
+ * For every frame it records the total update time, the time spent checking for the
+ * game's end, the number of brick hits passed to collision strategies and the number of
+ * objects in every layer. Frames are written as rows of a CSV file, and the update and
+ * end-check times are also kept in latency histograms. When closed, the profiler writes
+ * the histograms next to the CSV and prints their p50, p99 and max.
+ */
+public class FrameProfiler {
+	/** Layers whose objects are counted, in CSV column order. */
+	private static final int[] COUNTED_LAYERS = {
+			Layer.BACKGROUND, Layer.STATIC_OBJECTS, Layer.DEFAULT, Constants.PUCK_LAYER, Layer.UI};
+	private static final String CSV_HEADER =
+			"frame,update_ns,check_end_ns,brick_hits,background,static_objects,bricks,default,pucks,ui";
+	private static final String HISTOGRAM_SUFFIX = ".hist.csv";
+
+	private final Path csvPath;
+	private final PrintWriter csv;
+	private final LatencyHistogram updateHistogram = new LatencyHistogram();
+	private final LatencyHistogram checkEndHistogram = new LatencyHistogram();
+
+	private long frame = 0;
+	private long frameStart;
+	private long checkEndStart;
+	private long checkEndNanos;
+	private long hitsAtFrameStart;
+	private boolean closed = false;
+
+	/**
+	 * Constructs a profiler writing its frames to a CSV file.
+	 *
+	 * @param csvPath Path of the CSV file, or null to keep only the histograms.
+	 */
+	public FrameProfiler(Path csvPath) {
+		this.csvPath = csvPath;
+		if (csvPath == null) {
+			csv = null;
+			return;
+		}
+		try {
+			csv = new PrintWriter(Files.newBufferedWriter(csvPath));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		csv.println(CSV_HEADER);
+	}
+
+	/**
+	 * Starts timing a frame.
+	 *
+	 * @param brickHits Number of brick hits so far.
+	 */
+	public void beginFrame(long brickHits) {
+		hitsAtFrameStart = brickHits;
+		checkEndNanos = 0;
+		frameStart = System.nanoTime();
+	}
+
+	/**
+	 * Starts timing the end-of-game check.
+	 */
+	public void beginCheckEnd() {
+		checkEndStart = System.nanoTime();
+	}
+
+	/**
+	 * Stops timing the end-of-game check. A frame may check several times,
+	 * once per simulated tick, and the checks are summed.
+	 */
+	public void endCheckEnd() {
+		checkEndNanos += System.nanoTime() - checkEndStart;
+	}
+
+	/**
+	 * Stops timing a frame and records it.
+	 *
+	 * @param gameObjects The game's objects, counted per layer.
+	 * @param brickHits   Number of brick hits so far.
+	 * @param bricks      Number of bricks in the wall, counted without walking the brick layer.
+	 */
+	public synchronized void endFrame(GameObjectCollection gameObjects, long brickHits, int bricks) {
+		long updateNanos = System.nanoTime() - frameStart;
+		if (closed) return;
+		updateHistogram.record(updateNanos);
+		checkEndHistogram.record(checkEndNanos);
+		frame++;
+		if (csv == null) return;
+		csv.print(frame);
+		csv.print(',');
+		csv.print(updateNanos);
+		csv.print(',');
+		csv.print(checkEndNanos);
+		csv.print(',');
+		csv.print(brickHits - hitsAtFrameStart);
+		for (int layer : COUNTED_LAYERS) {
+			if (layer == Layer.DEFAULT) {
+				csv.print(',');
+				csv.print(bricks);
+			}
+			csv.print(',');
+			csv.print(countObjects(gameObjects, layer));
+		}
+		csv.println();
+	}
+
+	/**
+	 * @param gameObjects The game's objects.
+	 * @param layer       A layer.
+	 * @return Number of objects in the layer.
+	 */
+	private static int countObjects(GameObjectCollection gameObjects, int layer) {
+		int count = 0;
+		for (GameObject ignored : gameObjects.objectsInLayer(layer)) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Flushes the CSV, writes the histograms and prints their summary.
+	 * Further frames are not recorded.
+	 */
+	public synchronized void close() {
+		if (closed) return;
+		closed = true;
+		if (csv != null) {
+			csv.close();
+			writeHistograms(Path.of(csvPath + HISTOGRAM_SUFFIX));
+		}
+		System.out.println("frames=" + frame);
+		System.out.println("update:    " + updateHistogram);
+		System.out.println("check end: " + checkEndHistogram);
+	}
+
+	/**
+	 * Writes the non-empty buckets of both histograms as CSV rows.
+	 *
+	 * @param path Path of the written file.
+	 */
+	private void writeHistograms(Path path) {
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+			out.println("low_ns,high_ns,update_frames,check_end_frames");
+			for (int bucket = 0; bucket < LatencyHistogram.bucketCount(); bucket++) {
+				long updates = updateHistogram.countAt(bucket);
+				long checks = checkEndHistogram.countAt(bucket);
+				if (updates == 0 && checks == 0) continue;
+				out.println(LatencyHistogram.bucketLowerBound(bucket) + ","
+						+ LatencyHistogram.bucketUpperBound(bucket) + ","
+						+ updates + "," + checks);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return Histogram of the frames' update times.
+	 */
+	public LatencyHistogram getUpdateHistogram() {
+		return updateHistogram;
+	}
+
+	/**
+	 * @return Histogram of the frames' end-of-game check times.
+	 */
+	public LatencyHistogram getCheckEndHistogram() {
+		return checkEndHistogram;
+	}
+}
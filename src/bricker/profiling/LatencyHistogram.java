@@ -0,0 +1,122 @@
+package bricker.profiling;
+
+/**
+ * A histogram of durations in nanoseconds, with a bounded relative error.
+ * Durations below 16ns get a bucket each; above that, every power of two is split
+ * into 8 buckets, so a bucket is at most 12.5% wide. Recording is a few shifts and
+ * an array increment, cheap enough to run every frame.
+ */
+public class LatencyHistogram {
+	private static final int LINEAR_BUCKETS = 16;
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_BITS = 4;
+	private static final int BUCKETS =
+			LINEAR_BUCKETS + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKETS;
+
+	private final long[] counts = new long[BUCKETS];
+	private long totalCount = 0;
+	private long max = 0;
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos The duration, negative values are recorded as 0.
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		counts[bucketOf(value)]++;
+		totalCount++;
+		if (value > max) max = value;
+	}
+
+	/**
+	 * @param value A non-negative duration.
+	 * @return Index of the bucket holding it.
+	 */
+	private static int bucketOf(long value) {
+		if (value < LINEAR_BUCKETS) return (int) value;
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_BUCKETS + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @param bucket Index of a bucket.
+	 * @return Smallest duration held by the bucket.
+	 */
+	public static long bucketLowerBound(int bucket) {
+		if (bucket < LINEAR_BUCKETS) return bucket;
+		int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + LINEAR_BITS;
+		int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * @param bucket Index of a bucket.
+	 * @return Largest duration held by the bucket.
+	 */
+	public static long bucketUpperBound(int bucket) {
+		if (bucket == BUCKETS - 1) return Long.MAX_VALUE;
+		return bucketLowerBound(bucket + 1) - 1;
+	}
+
+	/**
+	 * Returns the duration under which the given fraction of the recorded durations fall.
+	 * The result is the upper bound of the percentile's bucket, but never above the maximum.
+	 *
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return The percentile's duration, or 0 if nothing was recorded.
+	 */
+	public long percentile(double percentile) {
+		if (totalCount == 0) return 0;
+		long rank = (long) Math.ceil(totalCount * percentile / 100);
+		rank = Math.max(rank, 1);
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += counts[bucket];
+			if (seen >= rank) {
+				return Math.min(bucketUpperBound(bucket), max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * @param bucket Index of a bucket.
+	 * @return Number of durations recorded in the bucket.
+	 */
+	public long countAt(int bucket) {
+		return counts[bucket];
+	}
+
+	/**
+	 * @return Number of buckets.
+	 */
+	public static int bucketCount() {
+		return BUCKETS;
+	}
+
+	/**
+	 * @return Number of recorded durations.
+	 */
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * @return The longest recorded duration.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * @return p50, p99 and max in microseconds.
+	 */
+	@Override
+	public String toString() {
+		return String.format("p50=%.1fus p99=%.1fus max=%.1fus (n=%d)",
+				percentile(50) / 1e3, percentile(99) / 1e3, max / 1e3, totalCount);
+	}
+}
@@ -0,0 +1,201 @@
+package bricker.rendering;
+
+import bricker.collisions.BrickGrid;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Draws the whole brick wall as a single cached image.
+ * The wall is composited offscreen the first time it is rendered, and every later frame
+ * only copies that image to the screen, whatever the number of bricks. When a brick is
+ * removed, its cell is marked dirty, and only the dirty cells are redrawn before the next copy.
+ * <p>The image covers at most {@link #CACHED_VIEWS} views of the wall along each axis, around
+ * the part in view, so a wall larger than the window costs no more than one that fits it.
+ * When the view leaves the cached area, the area is moved around the view and redrawn.
+ * The image is only allocated once the wall is first rendered, so a headless game
+ * never pays for it. The wall is never rotated, flipped or scaled.</p>
+ */
+public class BrickWallRenderable implements Renderable {
+	private static final int INITIAL_DIRTY_CAPACITY = 16;
+	/** Size of the cached area along each axis, in views. */
+	private static final int CACHED_VIEWS = 2;
+
+	private final BrickGrid brickGrid;
+	private final Renderable brickImage;
+	private final Vector2 origin;
+	private final int width;
+	private final int height;
+	private final int viewWidth;
+	private final int viewHeight;
+	private final int cacheWidth;
+	private final int cacheHeight;
+	private int cacheLeft = 0;
+	private int cacheTop = 0;
+	private BufferedImage image;
+	private Graphics2D canvas;
+	private int[] dirtyCells = new int[INITIAL_DIRTY_CAPACITY];
+	private int dirtyCount = 0;
+	private boolean allDirty = false;
+
+	/**
+	 * Constructs the wall renderable.
+	 *
+	 * @param brickGrid      Grid holding the wall's bricks.
+	 * @param brickImage     Visual representation of a single brick.
+	 * @param origin         Top-left corner of the wall, in the playing field.
+	 * @param dimensions     Size of the wall.
+	 * @param viewDimensions Size of the view the wall is drawn into.
+	 */
+	public BrickWallRenderable(BrickGrid brickGrid, Renderable brickImage, Vector2 origin,
+							   Vector2 dimensions, Vector2 viewDimensions) {
+		this.brickGrid = brickGrid;
+		this.brickImage = brickImage;
+		this.origin = origin;
+		this.width = Math.max(1, (int) Math.ceil(dimensions.x()));
+		this.height = Math.max(1, (int) Math.ceil(dimensions.y()));
+		this.viewWidth = (int) Math.ceil(viewDimensions.x());
+		this.viewHeight = (int) Math.ceil(viewDimensions.y());
+		this.cacheWidth = Math.min(width, CACHED_VIEWS * viewWidth);
+		this.cacheHeight = Math.min(height, CACHED_VIEWS * viewHeight);
+	}
+
+	/**
+	 * Marks a cell to be redrawn before the wall is next rendered.
+	 *
+	 * @param cell Index of the cell in the brick grid.
+	 */
+	public void invalidateCell(int cell) {
+		if (image == null) return;  // the first render draws the whole wall anyway
+		if (dirtyCount == dirtyCells.length) {
+			dirtyCells = Arrays.copyOf(dirtyCells, 2 * dirtyCells.length);
+		}
+		dirtyCells[dirtyCount++] = cell;
+	}
+
+	/**
+	 * Marks the whole wall to be redrawn before it is next rendered,
+	 * as when the wall is replaced at once.
+	 */
+	public void invalidateAll() {
+		if (image == null) return;
+		allDirty = true;
+		dirtyCount = 0;
+	}
+
+	/**
+	 * Copies the cached wall to the screen, first redrawing the cells that changed,
+	 * or the whole cached area if the view left it.
+	 *
+	 * @param g                       The screen's graphics.
+	 * @param topLeftCorner           Top-left corner of the wall on screen.
+	 * @param dimensions              Ignored; the wall is never scaled.
+	 * @param degreesCounterClockwise Ignored; the wall is never rotated.
+	 * @param isFlippedHorizontally   Ignored; the wall is never flipped.
+	 * @param isFlippedVertically     Ignored; the wall is never flipped.
+	 * @param opaqueness              Opaqueness of the wall, between 0 and 1.
+	 */
+	@Override
+	public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+					   double degreesCounterClockwise, boolean isFlippedHorizontally,
+					   boolean isFlippedVertically, double opaqueness) {
+		// The part of the wall in view, relative to the wall's top-left corner
+		int viewLeft = Math.max(0, (int) Math.floor(-topLeftCorner.x()));
+		int viewTop = Math.max(0, (int) Math.floor(-topLeftCorner.y()));
+		int viewRight = Math.min(width, (int) Math.ceil(viewWidth - topLeftCorner.x()));
+		int viewBottom = Math.min(height, (int) Math.ceil(viewHeight - topLeftCorner.y()));
+		if (viewLeft >= viewRight || viewTop >= viewBottom) return;  // the wall is out of view
+
+		boolean inCache = viewLeft >= cacheLeft && viewRight <= cacheLeft + cacheWidth
+				&& viewTop >= cacheTop && viewBottom <= cacheTop + cacheHeight;
+		if (!inCache) {
+			cacheLeft = Math.max(0, Math.min((viewLeft + viewRight - cacheWidth) / 2, width - cacheWidth));
+			cacheTop = Math.max(0, Math.min((viewTop + viewBottom - cacheHeight) / 2, height - cacheHeight));
+		}
+		if (image == null) {
+			image = new BufferedImage(cacheWidth, cacheHeight, BufferedImage.TYPE_INT_ARGB);
+			canvas = image.createGraphics();
+			drawWall();
+		} else if (allDirty || !inCache) {
+			canvas.setComposite(AlphaComposite.Clear);
+			canvas.fillRect(0, 0, cacheWidth, cacheHeight);
+			canvas.setComposite(AlphaComposite.SrcOver);
+			drawWall();
+		} else if (dirtyCount > 0) {
+			redrawDirtyCells();
+		}
+		Composite previous = g.getComposite();
+		if (opaqueness < 1) {
+			g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) opaqueness));
+		}
+		g.drawImage(image, Math.round(topLeftCorner.x()) + cacheLeft,
+				Math.round(topLeftCorner.y()) + cacheTop, null);
+		g.setComposite(previous);
+	}
+
+	/**
+	 * Draws every brick of the cached area into the cached image.
+	 */
+	private void drawWall() {
+		int cols = brickGrid.getCols();
+		int rows = brickGrid.getRows();
+		Vector2 brickSize = brickGrid.getBrickSize();
+		for (int row = 0; row < rows; row++) {
+			float top = brickGrid.cellTopLeft(row, 0).y() - origin.y();
+			if (top + brickSize.y() <= cacheTop) continue;
+			if (top >= cacheTop + cacheHeight) break;
+			for (int col = 0; col < cols; col++) {
+				float left = brickGrid.cellTopLeft(row, col).x() - origin.x();
+				if (left + brickSize.x() <= cacheLeft) continue;
+				if (left >= cacheLeft + cacheWidth) break;
+				drawCell(row * cols + col);
+			}
+		}
+		dirtyCount = 0;
+		allDirty = false;
+	}
+
+	/**
+	 * Clears the dirty cells, and redraws the bricks still in them.
+	 */
+	private void redrawDirtyCells() {
+		Vector2 brickSize = brickGrid.getBrickSize();
+		for (int i = 0; i < dirtyCount; i++) {
+			int cell = dirtyCells[i];
+			Vector2 topLeft = cachedTopLeft(cell);
+			int left = (int) Math.floor(topLeft.x());
+			int top = (int) Math.floor(topLeft.y());
+			canvas.setComposite(AlphaComposite.Clear);
+			canvas.fillRect(left, top, (int) Math.ceil(topLeft.x() + brickSize.x()) - left,
+					(int) Math.ceil(topLeft.y() + brickSize.y()) - top);
+			canvas.setComposite(AlphaComposite.SrcOver);
+			drawCell(cell);
+		}
+		dirtyCount = 0;
+	}
+
+	/**
+	 * Draws the brick of a cell into the cached image, if the cell holds one.
+	 *
+	 * @param cell Index of the cell in the brick grid.
+	 */
+	private void drawCell(int cell) {
+		if (!brickGrid.hasBrick(cell)) return;
+		brickImage.render(canvas, cachedTopLeft(cell), brickGrid.getBrickSize(), 0, false, false, 1);
+	}
+
+	/**
+	 * @param cell Index of the cell in the brick grid.
+	 * @return The top-left corner of the cell's brick in the cached image.
+	 */
+	private Vector2 cachedTopLeft(int cell) {
+		int cols = brickGrid.getCols();
+		Vector2 topLeft = brickGrid.cellTopLeft(cell / cols, cell % cols);
+		return new Vector2(topLeft.x() - origin.x() - cacheLeft, topLeft.y() - origin.y() - cacheTop);
+	}
+}